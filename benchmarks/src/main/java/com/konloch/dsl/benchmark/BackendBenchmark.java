@@ -0,0 +1,56 @@
+package com.konloch.dsl.benchmark;
+
+import com.konloch.dsl.DSL;
+import com.konloch.dsl.runtime.DSLBackend;
+import com.konloch.dsl.runtime.DSLProgram;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the INTERPRETER and METHOD_HANDLE backends per subscript command.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BackendBenchmark
+{
+	@Param({"INTERPRETER", "METHOD_HANDLE"})
+	public DSLBackend backend;
+
+	@Param({"16", "1000"})
+	public int commands;
+
+	private DSL dsl;
+	private DSLProgram program;
+
+	@Setup
+	public void setup(Blackhole blackhole)
+	{
+		dsl = DSLCorpusGenerator.newDSL();
+		dsl.setBackend(backend);
+		DSLCorpusGenerator.registerHandlers(dsl, 16, blackhole);
+		dsl.parse(new ArrayList<>(DSLCorpusGenerator.subscript("bench", commands, 16, 42)));
+		program = dsl.compile();
+	}
+
+	@Benchmark
+	public void run()
+	{
+		dsl.run("bench");
+	}
+
+	@Benchmark
+	public void runProgram()
+	{
+		program.run("bench");
+	}
+}
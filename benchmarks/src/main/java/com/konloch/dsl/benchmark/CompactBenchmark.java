@@ -0,0 +1,59 @@
+package com.konloch.dsl.benchmark;
+
+import com.konloch.dsl.DSL;
+import com.konloch.dsl.runtime.DSLSubscriptStorage;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares loading and running subscripts stored as objects against the compact storages.
+ *
+ * See FootprintComparison for the memory each storage keeps.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompactBenchmark
+{
+	@Param({"OBJECTS", "COMPACT", "COMPACT_OFF_HEAP"})
+	public DSLSubscriptStorage storage;
+
+	@Param({"1000"})
+	public int commands;
+
+	private DSL dsl;
+	private List<String> script;
+
+	@Setup
+	public void setup(Blackhole blackhole)
+	{
+		dsl = DSLCorpusGenerator.newDSL();
+		dsl.setSubscriptStorage(storage);
+		DSLCorpusGenerator.registerHandlers(dsl, 16, blackhole);
+		script = DSLCorpusGenerator.subscript("bench", commands, 16, 42);
+		dsl.parse(new ArrayList<>(script));
+	}
+
+	@Benchmark
+	public DSL parse()
+	{
+		dsl.removeSub("bench");
+		return dsl.parse(new ArrayList<>(script));
+	}
+
+	@Benchmark
+	public void run()
+	{
+		dsl.run("bench");
+	}
+}
@@ -0,0 +1,159 @@
+package com.konloch.dsl.benchmark;
+
+import com.konloch.dsl.DSL;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates DSL scripts of a configurable size for the benchmarks.
+ *
+ * Handler names are `var0`, `var1`, ... for variables and `func0`, `func1`, ... for functions.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLCorpusGenerator
+{
+	/**
+	 * Creates a DSL using the same delimiters as the example DSL
+	 *
+	 * @return a new DSL
+	 */
+	public static DSL newDSL()
+	{
+		return new DSL('=', '%',
+				'(', ')',
+				'{', '}',
+				'#');
+	}
+
+	/**
+	 * Registers a number of variable and function handlers that hand their input to a Blackhole
+	 *
+	 * @param dsl any DSL
+	 * @param handlers the total amount of handlers, half of them are variables and half are functions
+	 * @param blackhole the Blackhole consuming the handler input
+	 */
+	public static void registerHandlers(DSL dsl, int handlers, Blackhole blackhole)
+	{
+		for (int i = 0; i < handlers; i++)
+		{
+			if ((i & 1) == 0)
+				dsl.addVar("var" + (i / 2), blackhole::consume);
+			else
+				dsl.addFunc("func" + (i / 2), blackhole::consume);
+		}
+	}
+
+	/**
+	 * Generates top-level lines only, a mix of comments, variables and function calls
+	 *
+	 * @param lines the amount of lines
+	 * @param handlers the amount of handlers the lines are spread over
+	 * @param seed the random seed
+	 * @return the generated lines
+	 */
+	public static List<String> topLevel(int lines, int handlers, long seed)
+	{
+		Random random = new Random(seed);
+		ArrayList<String> corpus = new ArrayList<>(lines);
+
+		for (int i = 0; i < lines; i++)
+			corpus.add(line(random, i, handlers));
+
+		return corpus;
+	}
+
+	/**
+	 * Generates a full script, top-level lines followed by subscripts
+	 *
+	 * @param lines the approximate amount of lines
+	 * @param handlers the amount of handlers the lines are spread over
+	 * @param subscripts the amount of subscripts, they share half of the lines
+	 * @param seed the random seed
+	 * @return the generated lines
+	 */
+	public static List<String> script(int lines, int handlers, int subscripts, long seed)
+	{
+		Random random = new Random(seed);
+		ArrayList<String> corpus = new ArrayList<>(lines + subscripts * 2);
+		int topLevel = subscripts == 0 ? lines : lines / 2;
+
+		for (int i = 0; i < topLevel; i++)
+			corpus.add(line(random, i, handlers));
+
+		for (int s = 0; s < subscripts; s++)
+		{
+			corpus.add("subscript" + s + " {");
+
+			for (int i = 0; i < (lines - topLevel) / subscripts; i++)
+				corpus.add("  " + line(random, i, handlers));
+
+			corpus.add("}");
+		}
+
+		return corpus;
+	}
+
+	/**
+	 * Generates a single subscript made only of handler calls
+	 *
+	 * @param name the subscript name
+	 * @param commands the amount of commands in the subscript
+	 * @param handlers the amount of handlers the commands are spread over
+	 * @param seed the random seed
+	 * @return the generated lines
+	 */
+	public static List<String> subscript(String name, int commands, int handlers, long seed)
+	{
+		Random random = new Random(seed);
+		ArrayList<String> corpus = new ArrayList<>(commands + 2);
+
+		corpus.add(name + " {");
+		for (int i = 0; i < commands; i++)
+			corpus.add("  " + command(random, i, handlers));
+		corpus.add("}");
+
+		return corpus;
+	}
+
+	/**
+	 * Generates a chain of variables where every variable references the previous one.
+	 * The last variable in the chain is named `var0`.
+	 *
+	 * @param depth the amount of references between `var0` and the first variable
+	 * @return the generated lines
+	 */
+	public static List<String> variableChain(int depth)
+	{
+		ArrayList<String> corpus = new ArrayList<>(depth + 1);
+
+		corpus.add("chain" + depth + "=root value");
+		for (int i = depth - 1; i >= 1; i--)
+			corpus.add("chain" + i + "=%chain" + (i + 1) + "% level " + i);
+		corpus.add("var0=%chain1% top");
+
+		return corpus;
+	}
+
+	private static String line(Random random, int index, int handlers)
+	{
+		if (random.nextInt(10) == 0)
+			return "# generated comment " + index;
+
+		return command(random, index, handlers);
+	}
+
+	private static String command(Random random, int index, int handlers)
+	{
+		int handler = random.nextInt(Math.max(1, handlers));
+
+		if ((handler & 1) == 0)
+			return "var" + (handler / 2) + " = value " + index;
+
+		return "func" + (handler / 2) + "(first " + index + ", second, " + random.nextInt(1000) + ")";
+	}
+}
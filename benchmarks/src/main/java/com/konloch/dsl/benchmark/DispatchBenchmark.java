@@ -0,0 +1,73 @@
+package com.konloch.dsl.benchmark;
+
+import com.konloch.dsl.DSL;
+import com.konloch.dsl.runtime.DSLProgram;
+import com.konloch.dsl.runtime.DSLRuntime;
+import com.konloch.dsl.runtime.DSLRuntimeCommand;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of DSL.run per subscript command with many handlers registered.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DispatchBenchmark
+{
+	private static final int COMMANDS = 1_000;
+
+	@Param({"16", "1024", "16384"})
+	public int handlers;
+
+	private DSL dsl;
+	private DSLProgram program;
+	private DSLRuntimeCommand[] commands;
+
+	@Setup
+	public void setup(Blackhole blackhole)
+	{
+		dsl = DSLCorpusGenerator.newDSL();
+		DSLCorpusGenerator.registerHandlers(dsl, handlers, blackhole);
+		dsl.parse(new ArrayList<>(DSLCorpusGenerator.subscript("bench", COMMANDS, handlers, 42)));
+		program = dsl.compile();
+		commands = dsl.getSubscripts().get("bench").toArray(new DSLRuntimeCommand[0]);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(COMMANDS)
+	public void run()
+	{
+		dsl.run("bench");
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(COMMANDS)
+	public void runProgram()
+	{
+		program.run("bench");
+	}
+
+	/**
+	 * Executes each command through the runtime, which looks up the handler by symbol every time
+	 */
+	@Benchmark
+	@OperationsPerInvocation(COMMANDS)
+	public void execute()
+	{
+		DSLRuntime runtime = dsl.getRuntime();
+
+		for (DSLRuntimeCommand command : commands)
+			if (command != null)
+				runtime.execute(command);
+	}
+}
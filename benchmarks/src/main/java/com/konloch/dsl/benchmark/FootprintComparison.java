@@ -0,0 +1,93 @@
+package com.konloch.dsl.benchmark;
+
+import com.konloch.dsl.DSL;
+import com.konloch.dsl.runtime.DSLStringPool;
+import com.konloch.dsl.runtime.DSLSubscriptStorage;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+
+/**
+ * Prints the memory held by parsed subscripts for every DSLSubscriptStorage.
+ *
+ * The same corpus is parsed into a fresh DSL per storage and the heap is measured after a full GC, before and after
+ * parsing. Off-heap storage is reported separately as the direct buffer memory it reserves. Object storage is also
+ * measured with a DSLStringPool attached, along with the statistics the pool reports.
+ *
+ * Run it with `java -cp benchmarks/target/benchmarks.jar com.konloch.dsl.benchmark.FootprintComparison [subscripts] [commands]`
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class FootprintComparison
+{
+	public static void main(String[] args)
+	{
+		int subscripts = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+		int commands = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+
+		ArrayList<String> script = new ArrayList<>();
+		for (int i = 0; i < subscripts; i++)
+			script.addAll(DSLCorpusGenerator.subscript("subscript" + i, commands, 64, i));
+
+		System.out.println(subscripts + " subscripts of " + commands + " commands");
+		System.out.printf("%-18s %14s %14s%n", "storage", "heap bytes", "direct bytes");
+
+		for (DSLSubscriptStorage storage : DSLSubscriptStorage.values())
+			measure(script, subscripts, storage.name(), storage, null);
+
+		DSLStringPool pool = new DSLStringPool();
+		measure(script, subscripts, "OBJECTS + pool", DSLSubscriptStorage.OBJECTS, pool);
+		System.out.println(pool);
+	}
+
+	private static void measure(ArrayList<String> script, int subscripts, String label, DSLSubscriptStorage storage, DSLStringPool pool)
+	{
+		DSL dsl = DSLCorpusGenerator.newDSL();
+		dsl.setSubscriptStorage(storage);
+		dsl.setStringPool(pool);
+
+		long heapBefore = usedHeap();
+		long directBefore = usedDirect();
+
+		dsl.parse(new ArrayList<>(script));
+
+		long heap = usedHeap() - heapBefore;
+		long direct = usedDirect() - directBefore;
+
+		System.out.printf("%-18s %14d %14d%n", label, heap, direct);
+
+		//keep the DSL reachable until it has been measured
+		if (dsl.getSubscripts().size() != subscripts)
+			throw new RuntimeException("Expected " + subscripts + " subscripts but parsed " + dsl.getSubscripts().size());
+	}
+
+	private static long usedHeap()
+	{
+		for (int i = 0; i < 3; i++)
+			System.gc();
+
+		//direct buffers are released by their cleaners shortly after they are collected
+		try
+		{
+			Thread.sleep(200);
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+
+		Runtime runtime = Runtime.getRuntime();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	private static long usedDirect()
+	{
+		for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class))
+			if (pool.getName().equals("direct"))
+				return pool.getMemoryUsed();
+
+		return 0;
+	}
+}
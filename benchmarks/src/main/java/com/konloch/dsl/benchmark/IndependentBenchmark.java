@@ -0,0 +1,75 @@
+package com.konloch.dsl.benchmark;
+
+import com.konloch.dsl.DSL;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a top-level script of calls to independent handlers, run on the parsing thread or fanned out to a thread pool.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IndependentBenchmark
+{
+	private static final int LINES = 10_000;
+
+	@Param({"0", "1", "4"})
+	public int threads;
+
+	@Param({"1024"})
+	public int handlerTokens;
+
+	private DSL dsl;
+	private ExecutorService executor;
+	private String script;
+
+	@Setup
+	public void setup()
+	{
+		dsl = DSLCorpusGenerator.newDSL();
+
+		for (int i = 0; i < 64; i++)
+		{
+			if ((i & 1) == 0)
+				dsl.addVar("var" + (i / 2), value -> Blackhole.consumeCPU(handlerTokens));
+			else
+				dsl.addFunc("func" + (i / 2), parameters -> Blackhole.consumeCPU(handlerTokens));
+
+			dsl.markIndependent((i & 1) == 0 ? "var" + (i / 2) : "func" + (i / 2));
+		}
+
+		if (threads > 0)
+		{
+			executor = Executors.newFixedThreadPool(threads);
+			dsl.setExecutor(executor);
+		}
+
+		script = String.join("\n", DSLCorpusGenerator.topLevel(LINES, 64, 42));
+	}
+
+	@TearDown
+	public void tearDown()
+	{
+		if (executor != null)
+			executor.shutdown();
+	}
+
+	@Benchmark
+	public DSL parse() throws IOException
+	{
+		return dsl.parse(new StringReader(script));
+	}
+}
@@ -0,0 +1,65 @@
+package com.konloch.dsl.benchmark;
+
+import com.konloch.dsl.DSL;
+import com.konloch.dsl.commands.DSLCommandType;
+import com.konloch.dsl.runtime.DSLRuntime;
+import com.konloch.dsl.runtime.DSLRuntimeCommand;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures getVariableValue as the `%var%` nesting gets deeper.
+ *
+ * `cached` reads a value that has already been resolved, `invalidated` reassigns the root of the chain first so the
+ * whole chain has to be resolved again.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InterpolationBenchmark
+{
+	@Param({"1", "4", "16", "64"})
+	public int depth;
+
+	private DSLRuntime runtime;
+	private String rootName;
+	private DSLRuntimeCommand top;
+	private DSLRuntimeCommand rootA;
+	private DSLRuntimeCommand rootB;
+	private boolean flip;
+
+	@Setup
+	public void setup()
+	{
+		DSL dsl = DSLCorpusGenerator.newDSL();
+		dsl.parse(new ArrayList<>(DSLCorpusGenerator.variableChain(depth)));
+
+		runtime = dsl.getRuntime();
+		top = runtime.getCommands().get("var0");
+		rootName = "chain" + depth;
+		rootA = new DSLRuntimeCommand(DSLCommandType.VARIABLE, rootName, new String[]{"root value a"});
+		rootB = new DSLRuntimeCommand(DSLCommandType.VARIABLE, rootName, new String[]{"root value b"});
+	}
+
+	@Benchmark
+	public String cached()
+	{
+		return top.getVariableValue(runtime);
+	}
+
+	@Benchmark
+	public String invalidated()
+	{
+		flip = !flip;
+		runtime.getCommands().put(rootName, flip ? rootA : rootB);
+		return top.getVariableValue(runtime);
+	}
+}
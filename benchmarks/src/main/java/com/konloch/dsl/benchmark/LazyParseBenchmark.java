@@ -0,0 +1,78 @@
+package com.konloch.dsl.benchmark;
+
+import com.konloch.dsl.DSL;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures loading a definition file made mostly of subscripts.
+ *
+ * `parse` builds every subscript body, `parseLazy` only records where each body is in the file.
+ * `parseLazyAndRunOne` adds the cost of materializing and running a single subscript.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LazyParseBenchmark
+{
+	private static final int LINES = 100_000;
+
+	@Param({"100", "5000"})
+	public int subscripts;
+
+	private DSL dsl;
+	private Path file;
+
+	@Setup
+	public void setup(Blackhole blackhole) throws IOException
+	{
+		dsl = DSLCorpusGenerator.newDSL();
+		DSLCorpusGenerator.registerHandlers(dsl, 64, blackhole);
+
+		List<String> script = DSLCorpusGenerator.script(LINES, 64, subscripts, 42);
+		file = Files.createTempFile("dsl-lazy", ".dsl");
+		Files.write(file, script, StandardCharsets.UTF_8);
+	}
+
+	@TearDown
+	public void tearDown() throws IOException
+	{
+		Files.deleteIfExists(file);
+	}
+
+	@Benchmark
+	public DSL parse() throws IOException
+	{
+		dsl.getSubscripts().clear();
+		return dsl.parse(file);
+	}
+
+	@Benchmark
+	public DSL parseLazy() throws IOException
+	{
+		dsl.getSubscripts().clear();
+		return dsl.parseLazy(file);
+	}
+
+	@Benchmark
+	public DSL parseLazyAndRunOne() throws IOException
+	{
+		dsl.getSubscripts().clear();
+		dsl.parseLazy(file);
+		dsl.run("subscript0");
+		return dsl;
+	}
+}
@@ -0,0 +1,84 @@
+package com.konloch.dsl.benchmark;
+
+import com.konloch.dsl.DSL;
+import com.konloch.dsl.runtime.DSLParseListener;
+import com.konloch.dsl.runtime.DSLParser;
+import com.konloch.dsl.runtime.DSLRuntimeCommand;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the parse throughput per line.
+ *
+ * `lex` only classifies lines and builds commands, `parseLine` goes through DSLRuntime.parseLine and executes
+ * the top-level commands against Blackhole handlers.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseBenchmark
+{
+	private static final int LINES = 10_000;
+
+	@Param({"16", "1024"})
+	public int handlers;
+
+	private DSL dsl;
+	private DSLParser parser;
+	private List<String> script;
+	private List<String> topLevel;
+
+	@Setup
+	public void setup(Blackhole blackhole)
+	{
+		dsl = DSLCorpusGenerator.newDSL();
+		DSLCorpusGenerator.registerHandlers(dsl, handlers, blackhole);
+
+		parser = new DSLParser(dsl, new DSLParseListener()
+		{
+			@Override
+			public void onCommand(DSLRuntimeCommand command)
+			{
+				blackhole.consume(command);
+			}
+
+			@Override
+			public void onSubscriptCommand(String subscript, DSLRuntimeCommand command)
+			{
+				blackhole.consume(command);
+			}
+		});
+
+		script = DSLCorpusGenerator.script(LINES, handlers, 100, 42);
+		topLevel = DSLCorpusGenerator.topLevel(LINES, handlers, 42);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LINES)
+	public void lex()
+	{
+		for (String line : script)
+			parser.parseLine(line);
+
+		parser.stopParse();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LINES)
+	public void parseLine()
+	{
+		for (String line : topLevel)
+			dsl.getRuntime().parseLine(line);
+
+		dsl.getRuntime().stopParse();
+	}
+}
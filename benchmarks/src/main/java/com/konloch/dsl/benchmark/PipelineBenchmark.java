@@ -0,0 +1,63 @@
+package com.konloch.dsl.benchmark;
+
+import com.konloch.dsl.DSL;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares DSL.parse with DSL.parsePipelined on a top-level script whose handlers do some work of their own.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PipelineBenchmark
+{
+	private static final int LINES = 10_000;
+
+	@Param({"0", "256"})
+	public int handlerTokens;
+
+	@Param({"1024"})
+	public int capacity;
+
+	private DSL dsl;
+	private String script;
+
+	@Setup
+	public void setup(Blackhole blackhole)
+	{
+		dsl = DSLCorpusGenerator.newDSL();
+
+		for (int i = 0; i < 64; i++)
+		{
+			if ((i & 1) == 0)
+				dsl.addVar("var" + (i / 2), value -> Blackhole.consumeCPU(handlerTokens));
+			else
+				dsl.addFunc("func" + (i / 2), parameters -> Blackhole.consumeCPU(handlerTokens));
+		}
+
+		script = String.join("\n", DSLCorpusGenerator.topLevel(LINES, 64, 42));
+	}
+
+	@Benchmark
+	public DSL parse() throws IOException
+	{
+		return dsl.parse(new StringReader(script));
+	}
+
+	@Benchmark
+	public DSL parsePipelined() throws IOException
+	{
+		return dsl.parsePipelined(new StringReader(script), capacity);
+	}
+}
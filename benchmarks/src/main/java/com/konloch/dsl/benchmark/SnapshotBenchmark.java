@@ -0,0 +1,97 @@
+package com.konloch.dsl.benchmark;
+
+import com.konloch.dsl.DSL;
+import com.konloch.dsl.runtime.DSLContext;
+import com.konloch.dsl.runtime.DSLRuntime;
+import com.konloch.dsl.runtime.DSLRuntimeCommand;
+import com.konloch.dsl.runtime.DSLRuntimeSnapshot;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures resetting the runtime variables to a baseline after a request that changes a few of them.
+ *
+ * `copyRestore` copies the whole command map back, `snapshotRestore` undoes the changes through a snapshot and
+ * `contextFork` gives every request its own fork of a baseline DSLContext.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotBenchmark
+{
+	private static final int CHANGED = 4;
+
+	@Param({"100", "10000"})
+	public int variables;
+
+	private DSLRuntime copied;
+	private DSLRuntime runtime;
+	private Map<String, DSLRuntimeCommand> baseline;
+	private DSLRuntimeSnapshot snapshot;
+	private DSLContext context;
+	private String[] requestLines;
+
+	@Setup
+	public void setup()
+	{
+		//every tenth variable is referenced by the nine after it
+		ArrayList<String> script = new ArrayList<>();
+		for (int i = 0; i < variables; i++)
+			script.add(i % 10 == 0 ? "var" + i + " = value " + i : "var" + i + " = value " + i + " %var" + (i - i % 10) + "%");
+
+		//the map that is copied back has no snapshot, so its changes are not recorded
+		DSL copy = DSLCorpusGenerator.newDSL().parse(new ArrayList<>(script));
+		copied = copy.getRuntime();
+		baseline = new LinkedHashMap<>(copied.getCommands());
+
+		DSL dsl = DSLCorpusGenerator.newDSL().parse(new ArrayList<>(script));
+		runtime = dsl.getRuntime();
+		snapshot = runtime.snapshot();
+		context = dsl.compile().newContext();
+
+		requestLines = new String[CHANGED];
+		for (int i = 0; i < CHANGED; i++)
+			requestLines[i] = "var" + (i * variables / CHANGED) + " = request " + i;
+	}
+
+	@Benchmark
+	public void copyRestore()
+	{
+		for (String line : requestLines)
+			copied.parseLine(line);
+
+		copied.getCommands().clear();
+		copied.getCommands().putAll(baseline);
+	}
+
+	@Benchmark
+	public void snapshotRestore()
+	{
+		for (String line : requestLines)
+			runtime.parseLine(line);
+
+		runtime.restore(snapshot);
+	}
+
+	@Benchmark
+	public void contextFork(Blackhole blackhole)
+	{
+		DSLContext request = context.fork();
+
+		for (int i = 0; i < CHANGED; i++)
+			request.setVar("var" + (i * variables / CHANGED), "request " + i);
+
+		blackhole.consume(request);
+	}
+}
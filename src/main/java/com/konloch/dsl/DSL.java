@@ -1,18 +1,56 @@
 package com.konloch.dsl;
 
-import com.konloch.disklib.DiskReader;
+import com.konloch.dsl.commands.ArgumentRunnable;
+import com.konloch.dsl.commands.BatchFunctionRunnable;
 import com.konloch.dsl.commands.DSLCommandType;
 import com.konloch.dsl.commands.DSLDefinedCommand;
+import com.konloch.dsl.commands.DSLParameterType;
 import com.konloch.dsl.commands.FunctionRunnable;
+import com.konloch.dsl.commands.TypedRunnable;
 import com.konloch.dsl.commands.VariableRunnable;
+import com.konloch.dsl.metrics.DSLFlightRecorder;
+import com.konloch.dsl.metrics.DSLMetrics;
+import com.konloch.dsl.runtime.DSLBackend;
+import com.konloch.dsl.runtime.DSLCompiledSubscript;
+import com.konloch.dsl.runtime.DSLLazyParser;
+import com.konloch.dsl.runtime.DSLLazySubscript;
+import com.konloch.dsl.runtime.DSLOptimizationReport;
+import com.konloch.dsl.runtime.DSLOptimizer;
+import com.konloch.dsl.runtime.DSLParsedScript;
+import com.konloch.dsl.runtime.DSLPipelinedParser;
+import com.konloch.dsl.runtime.DSLScriptCache;
+import com.konloch.dsl.runtime.DSLProgram;
 import com.konloch.dsl.runtime.DSLRuntimeCommand;
 import com.konloch.dsl.runtime.DSLRuntime;
+import com.konloch.dsl.runtime.DSLScheduler;
+import com.konloch.dsl.runtime.DSLStringPool;
+import com.konloch.dsl.runtime.DSLSubscriptStorage;
+import com.konloch.dsl.runtime.DSLSymbolTable;
+import com.konloch.dsl.runtime.DSLWatcher;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
 
 /**
  * Represents the data portion of the DSL.
@@ -34,7 +72,18 @@ public class DSL
 	private final boolean strictMode;
 	private final HashMap<String, DSLDefinedCommand> commands = new HashMap<>();
 	private final HashMap<String, List<DSLRuntimeCommand>> subscripts = new HashMap<>();
-	private final DSLRuntime runtime = new DSLRuntime(this);
+	private final HashMap<String, DSLCompiledSubscript> compiledSubscripts = new HashMap<>();
+	private final HashSet<String> idempotent = new HashSet<>();
+	private final HashSet<String> independent = new HashSet<>();
+	private final DSLSymbolTable symbols = new DSLSymbolTable();
+	private DSLDefinedCommand[] handlers = new DSLDefinedCommand[16];
+	private int argumentFunctions;
+	private final DSLRuntime runtime;
+	private DSLMetrics metrics;
+	private DSLBackend backend = DSLBackend.INTERPRETER;
+	private DSLSubscriptStorage subscriptStorage = DSLSubscriptStorage.OBJECTS;
+	private DSLStringPool stringPool;
+	private Executor executor;
 	
 	
 	/**
@@ -84,6 +133,7 @@ public class DSL
 		this.subscriptDelimiterEnd = String.valueOf(subscriptDelimiterEnd);
 		this.commentDelimiter = String.valueOf(commentDelimiter);
 		this.strictMode = strictMode;
+		this.runtime = new DSLRuntime(this);
 	}
 	
 	/**
@@ -99,9 +149,14 @@ public class DSL
 		
 		//clear the user defined data
 		commands.clear();
+		idempotent.clear();
+		independent.clear();
+		Arrays.fill(handlers, null);
+		argumentFunctions = 0;
 		
 		//clear the subscripts
 		subscripts.clear();
+		compiledSubscripts.clear();
 		return this;
 	}
 	
@@ -114,7 +169,268 @@ public class DSL
 	 */
 	public DSL parse(File file) throws IOException
 	{
-		parse(DiskReader.read(file));
+		return parse(file.toPath());
+	}
+	
+	/**
+	 * Parse any UTF-8 encoded Path and execute / load the script.
+	 *
+	 * The file is streamed line by line, so memory use does not depend on the file size.
+	 *
+	 * @param path any Path
+	 * @return this instance for method chaining
+	 * @throws IOException if an I/O error occurs reading from the stream
+	 */
+	public DSL parse(Path path) throws IOException
+	{
+		try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8))
+		{
+			return parse(reader, path.toString());
+		}
+	}
+	
+	/**
+	 * Parse any UTF-8 encoded Path and execute / load the script, without building the commands of the subscripts yet.
+	 *
+	 * Only the name and the location of each subscript body are recorded. A body is read and its commands are built
+	 * the first time the subscript is run or its command list is accessed, then they are cached. The file must not
+	 * change until every subscript that will be used has been read. Compiling a DSLProgram reads every subscript.
+	 *
+	 * @param path any Path
+	 * @return this instance for method chaining
+	 * @throws IOException if an I/O error occurs reading from the stream
+	 */
+	public DSL parseLazy(Path path) throws IOException
+	{
+		new DSLLazyParser(this).parse(path);
+		return this;
+	}
+	
+	/**
+	 * Parse any UTF-8 encoded Path and execute / load the script, using a binary cache file to skip lexing unchanged scripts.
+	 *
+	 * The cache is used only if the source and the DSL configuration both hash the same as when the cache was written,
+	 * otherwise the source is parsed again and the cache file is replaced atomically. The script is loaded the same
+	 * way as a single file passed to parseAll.
+	 *
+	 * @param path any Path
+	 * @param cache the Path of the cache file
+	 * @return this instance for method chaining
+	 * @throws IOException if an I/O error occurs reading the source or writing the cache
+	 */
+	public DSL parse(Path path, Path cache) throws IOException
+	{
+		return load(Collections.singletonList(DSLScriptCache.read(this, path, cache)));
+	}
+	
+	/**
+	 * Parse any InputStream and execute / load the script. The stream is not closed.
+	 *
+	 * @param inputStream any InputStream
+	 * @param charset the Charset the stream is encoded with
+	 * @return this instance for method chaining
+	 * @throws IOException if an I/O error occurs reading from the stream
+	 */
+	public DSL parse(InputStream inputStream, Charset charset) throws IOException
+	{
+		return parse(new InputStreamReader(inputStream, charset));
+	}
+	
+	/**
+	 * Parse any Reader and execute / load the script. The reader is not closed.
+	 *
+	 * Lines are handed to the runtime as soon as they are read, so top-level commands execute while the rest of the
+	 * script is still being read.
+	 *
+	 * @param reader any Reader
+	 * @return this instance for method chaining
+	 * @throws IOException if an I/O error occurs reading from the stream
+	 */
+	public DSL parse(Reader reader) throws IOException
+	{
+		return parse(reader, "Reader");
+	}
+	
+	private DSL parse(Reader reader, String source) throws IOException
+	{
+		BufferedReader bufferedReader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+		Object event = DSLFlightRecorder.beginParse();
+		long lines = 0;
+		
+		try
+		{
+			String line;
+			while ((line = bufferedReader.readLine()) != null)
+			{
+				runtime.parseLine(line);
+				lines++;
+			}
+		}
+		finally
+		{
+			runtime.stopParse();
+			
+			if(event != null)
+				DSLFlightRecorder.endParse(event, source, lines, false);
+		}
+		
+		return this;
+	}
+	
+	/**
+	 * Parse any UTF-8 encoded Path and execute / load the script, reading and lexing on a separate thread.
+	 *
+	 * See parsePipelined(Reader, int).
+	 *
+	 * @param path any Path
+	 * @param capacity the amount of commands that can be read ahead of the one being executed
+	 * @return this instance for method chaining
+	 * @throws IOException if an I/O error occurs reading from the stream
+	 */
+	public DSL parsePipelined(Path path, int capacity) throws IOException
+	{
+		try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8))
+		{
+			new DSLPipelinedParser(this, capacity).parse(reader, path.toString());
+			return this;
+		}
+	}
+	
+	/**
+	 * Parse any Reader and execute / load the script, reading and lexing on a separate thread. The reader is not closed.
+	 *
+	 * The commands are handed to the calling thread through a bounded ring buffer and executed in their original
+	 * order, so slow I/O and slow handlers overlap instead of waiting on each other. Once the buffer is full, reading
+	 * waits for the handlers to catch up. Handlers should not add or remove handlers or declare subscripts while the
+	 * script is being parsed.
+	 *
+	 * @param reader any Reader
+	 * @param capacity the amount of commands that can be read ahead of the one being executed
+	 * @return this instance for method chaining
+	 * @throws IOException if an I/O error occurs reading from the stream
+	 */
+	public DSL parsePipelined(Reader reader, int capacity) throws IOException
+	{
+		new DSLPipelinedParser(this, capacity).parse(reader);
+		return this;
+	}
+	
+	/**
+	 * Parse a collection of UTF-8 encoded Paths using the common fork-join pool, then execute / load them in the collection order.
+	 *
+	 * @param paths the Paths to parse, in the order they should be loaded
+	 * @return this instance for method chaining
+	 * @throws IOException if an I/O error occurs reading from any of the streams
+	 */
+	public DSL parseAll(Collection<Path> paths) throws IOException
+	{
+		return parseAll(paths, ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * Parse a collection of UTF-8 encoded Paths in parallel, then execute / load them in the collection order.
+	 *
+	 * The files are read and lexed on the supplied pool without executing anything. Once every file has been read
+	 * the results are merged on the calling thread, see load(List) for the merge order.
+	 *
+	 * @param paths the Paths to parse, in the order they should be loaded
+	 * @param pool the ForkJoinPool to read the files on
+	 * @return this instance for method chaining
+	 * @throws IOException if an I/O error occurs reading from any of the streams
+	 */
+	public DSL parseAll(Collection<Path> paths, ForkJoinPool pool) throws IOException
+	{
+		List<ForkJoinTask<DSLParsedScript>> tasks = new ArrayList<>(paths.size());
+		for(Path path : paths)
+			tasks.add(pool.submit(() -> DSLParsedScript.read(this, path)));
+		
+		List<DSLParsedScript> scripts = new ArrayList<>(tasks.size());
+		for(ForkJoinTask<DSLParsedScript> task : tasks)
+		{
+			try
+			{
+				scripts.add(task.get());
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted while parsing", e);
+			}
+			catch (ExecutionException e)
+			{
+				if(e.getCause() instanceof IOException)
+					throw (IOException) e.getCause();
+				
+				if(e.getCause() instanceof RuntimeException)
+					throw (RuntimeException) e.getCause();
+				
+				throw new IOException(e.getCause());
+			}
+		}
+		
+		return load(scripts);
+	}
+	
+	/**
+	 * Load a collection of UTF-8 encoded Paths, then reload their subscripts whenever the files change.
+	 *
+	 * The files are loaded the same way as load(List). Reloaded subscripts are published through DSLWatcher.getProgram(),
+	 * scripts should be run through it while the files are being watched.
+	 *
+	 * @param paths the Paths to load and watch, in the order they should be loaded
+	 * @param errorHandler the Exception Consumer that receives every exception thrown while reloading
+	 * @return the started DSLWatcher, close it to stop watching
+	 * @throws IOException if an I/O error occurs reading any of the files or registering the watch service
+	 */
+	public DSLWatcher watch(Collection<Path> paths, Consumer<Exception> errorHandler) throws IOException
+	{
+		return new DSLWatcher(this, paths, errorHandler).start();
+	}
+	
+	/**
+	 * Merge parsed scripts into this DSL, then execute their top-level commands.
+	 *
+	 * Nothing is changed if a subscript is defined by more than one script, or was already defined before. In that
+	 * case a Runtime Exception listing every conflict is thrown. Otherwise every subscript is registered first, then
+	 * the top-level commands of each script are executed in script order and then line order.
+	 *
+	 * @param scripts the DSLParsedScripts in the order they should be loaded
+	 * @return this instance for method chaining
+	 */
+	public DSL load(List<DSLParsedScript> scripts)
+	{
+		//look for conflicts before anything is changed
+		HashMap<String, String> definedBy = new HashMap<>();
+		StringBuilder conflicts = new StringBuilder();
+		for(DSLParsedScript script : scripts)
+		{
+			for(String name : script.getSubscripts().keySet())
+			{
+				String previous = definedBy.put(name, script.getSource());
+				
+				if(previous != null)
+					conflicts.append(System.lineSeparator()).append("Subscript ").append(name).append(" is defined in both ").append(previous).append(" and ").append(script.getSource());
+				else if(subscripts.containsKey(name) && !subscripts.get(name).isEmpty())
+					conflicts.append(System.lineSeparator()).append("Subscript ").append(name).append(" from ").append(script.getSource()).append(" is already defined");
+			}
+		}
+		
+		if(conflicts.length() > 0)
+			throw new RuntimeException("Unable to merge scripts:" + conflicts);
+		
+		//register the subscripts
+		for(DSLParsedScript script : scripts)
+			for(Map.Entry<String, List<DSLRuntimeCommand>> subscript : script.getSubscripts().entrySet())
+				for(DSLRuntimeCommand command : subscript.getValue())
+					runtime.onSubscriptCommand(subscript.getKey(), command);
+		
+		//execute the top-level commands
+		for(DSLParsedScript script : scripts)
+			for(DSLRuntimeCommand command : script.getCommands())
+				runtime.onCommand(command);
+		
+		runtime.awaitPending();
+		
 		return this;
 	}
 	
@@ -126,10 +442,21 @@ public class DSL
 	 */
 	public DSL parse(ArrayList<String> fileContents)
 	{
-		for(String line : fileContents)
-			runtime.parseLine(line);
+		Object event = DSLFlightRecorder.beginParse();
+		
+		try
+		{
+			for(String line : fileContents)
+				runtime.parseLine(line);
+		}
+		finally
+		{
+			runtime.stopParse();
+			
+			if(event != null)
+				DSLFlightRecorder.endParse(event, "ArrayList", fileContents.size(), false);
+		}
 		
-		runtime.stopParse();
 		return this;
 	}
 	
@@ -142,8 +469,24 @@ public class DSL
 	 */
 	public DSL addVar(String name, VariableRunnable variableRunnable)
 	{
-		commands.put(name, new DSLDefinedCommand(name, variableRunnable));
-		return this;
+		return define(new DSLDefinedCommand(name, variableRunnable));
+	}
+	
+	/**
+	 * Add a new variable handler with a declared value type.
+	 *
+	 * Literal values are converted while the script is parsed, so a value that doesn't match the type throws a Runtime Exception
+	 * during parsing. Literal values parsed before the handler was added are converted when their subscript is compiled.
+	 * Values that reference other variables are converted every time they are set.
+	 *
+	 * @param name any String as the variable name
+	 * @param type the DSLParameterType of the value
+	 * @param typedRunnable any TypedRunnable to be called with the converted value when the variable set value gets called
+	 * @return this instance for method chaining
+	 */
+	public DSL addTypedVar(String name, DSLParameterType type, TypedRunnable typedRunnable)
+	{
+		return define(new DSLDefinedCommand(name, DSLCommandType.VARIABLE, typedRunnable, type));
 	}
 	
 	/**
@@ -156,7 +499,7 @@ public class DSL
 	{
 		DSLDefinedCommand command = commands.get(name);
 		if(command != null && command.getType() == DSLCommandType.VARIABLE)
-			commands.remove(name);
+			undefine(name);
 		
 		return this;
 	}
@@ -170,8 +513,53 @@ public class DSL
 	 */
 	public DSL addFunc(String name, FunctionRunnable functionRunnable)
 	{
-		commands.put(name, new DSLDefinedCommand(name, functionRunnable));
-		return this;
+		return define(new DSLDefinedCommand(name, functionRunnable));
+	}
+	
+	/**
+	 * Add a new function handler that reads its parameters through a reusable DSLArguments view.
+	 *
+	 * Top-level calls to these functions are executed straight from the line being parsed, without creating a
+	 * DSLRuntimeCommand or any parameter Strings, so they are not stored in the runtime command map.
+	 *
+	 * @param name any String as the function name
+	 * @param argumentRunnable any ArgumentRunnable to be called when the function gets called
+	 * @return this instance for method chaining
+	 */
+	public DSL addArgumentFunc(String name, ArgumentRunnable argumentRunnable)
+	{
+		return define(new DSLDefinedCommand(name, argumentRunnable));
+	}
+	
+	/**
+	 * Add a new function handler that receives consecutive calls as one batch.
+	 *
+	 * When a subscript is compiled, every run of consecutive calls to the function is merged into a single call to
+	 * the BatchFunctionRunnable, in the order they were written. Calls outside of a subscript are passed as a batch of one.
+	 *
+	 * @param name any String as the function name
+	 * @param batchFunctionRunnable any BatchFunctionRunnable to be called with the batched calls
+	 * @return this instance for method chaining
+	 */
+	public DSL addBatchFunc(String name, BatchFunctionRunnable batchFunctionRunnable)
+	{
+		return define(new DSLDefinedCommand(name, batchFunctionRunnable));
+	}
+	
+	/**
+	 * Add a new function handler with a declared parameter signature.
+	 *
+	 * The parameters are converted while the script is parsed, so a call that doesn't match the signature throws a
+	 * Runtime Exception during parsing. Calls parsed before the handler was added are converted when their subscript is compiled.
+	 *
+	 * @param name any String as the function name
+	 * @param typedRunnable any TypedRunnable to be called with the converted parameters when the function gets called
+	 * @param signature the DSLParameterTypes of the parameters
+	 * @return this instance for method chaining
+	 */
+	public DSL addTypedFunc(String name, TypedRunnable typedRunnable, DSLParameterType... signature)
+	{
+		return define(new DSLDefinedCommand(name, DSLCommandType.FUNCTION, typedRunnable, signature));
 	}
 	
 	/**
@@ -184,11 +572,128 @@ public class DSL
 	{
 		DSLDefinedCommand command = commands.get(name);
 		if(command != null && command.getType() == DSLCommandType.FUNCTION)
-			commands.remove(name);
+			undefine(name);
 		
 		return this;
 	}
 	
+	/**
+	 * Mark a variable or function as idempotent, calling it several times in a row with the same value or parameters
+	 * has the same effect as calling it once. The mark is kept if the handler is replaced.
+	 *
+	 * @param name any String as the variable or function name
+	 * @return this instance for method chaining
+	 */
+	public DSL markIdempotent(String name)
+	{
+		idempotent.add(name);
+		return this;
+	}
+	
+	/**
+	 * Returns true if a variable or function has been marked as idempotent
+	 *
+	 * @param name any String as the variable or function name
+	 * @return true if consecutive identical calls can be merged into one
+	 */
+	public boolean isIdempotent(String name)
+	{
+		return idempotent.contains(name);
+	}
+	
+	/**
+	 * Mark a variable or function as independent, its top-level calls don't depend on the order they run in and can
+	 * run at the same time as each other and as the calls of any other independent handler.
+	 *
+	 * Once an Executor has been set with setExecutor, top-level calls to independent handlers are handed to it instead
+	 * of being run on the parsing thread. Their values and parameters are resolved before they are handed off. Any
+	 * other command waits for every independent call before it to finish, so it still sees them all as completed.
+	 *
+	 * @param name any String as the variable or function name
+	 * @return this instance for method chaining
+	 */
+	public DSL markIndependent(String name)
+	{
+		independent.add(name);
+		return this;
+	}
+	
+	/**
+	 * Returns true if a variable or function has been marked as independent
+	 *
+	 * @param name any String as the variable or function name
+	 * @return true if its top-level calls can run in any order
+	 */
+	public boolean isIndependent(String name)
+	{
+		return independent.contains(name);
+	}
+	
+	/**
+	 * Set the Executor top-level calls to independent handlers are run on, or null to run every command on the parsing thread.
+	 *
+	 * Parsing waits for every call it handed off before it returns, a handler exception is thrown from there or from
+	 * the next command that isn't independent.
+	 *
+	 * @param executor any Executor, or null
+	 * @return this instance for method chaining
+	 */
+	public DSL setExecutor(Executor executor)
+	{
+		this.executor = executor;
+		return this;
+	}
+	
+	/**
+	 * Returns the Executor top-level calls to independent handlers are run on
+	 *
+	 * @return the Executor, or null if every command runs on the parsing thread
+	 */
+	public Executor getExecutor()
+	{
+		return executor;
+	}
+	
+	/**
+	 * Stores a handler in the command map and the handler array
+	 */
+	private DSL define(DSLDefinedCommand command)
+	{
+		commands.put(command.getName(), command);
+		bind(symbols.intern(command.getName()), command);
+		compiledSubscripts.clear();
+		return this;
+	}
+	
+	/**
+	 * Removes a handler from the command map and the handler array
+	 */
+	private void undefine(String name)
+	{
+		commands.remove(name);
+		bind(symbols.intern(name), null);
+		compiledSubscripts.clear();
+	}
+	
+	/**
+	 * Stores a handler in the handler array under the symbol of its name
+	 */
+	private void bind(int symbol, DSLDefinedCommand command)
+	{
+		if(symbol >= handlers.length)
+			handlers = Arrays.copyOf(handlers, Math.max(handlers.length * 2, symbol + 1));
+		
+		DSLDefinedCommand previous = handlers[symbol];
+		
+		if(previous != null && previous.getArgumentRunnable() != null)
+			argumentFunctions--;
+		
+		if(command != null && command.getArgumentRunnable() != null)
+			argumentFunctions++;
+		
+		handlers[symbol] = command;
+	}
+	
 	/**
 	 * Define a subscript.
 	 *
@@ -197,7 +702,8 @@ public class DSL
 	 */
 	public DSL addSub(String name)
 	{
-		subscripts.put(name, new ArrayList<>());
+		subscripts.put(name, subscriptStorage.newList(symbols));
+		compiledSubscripts.remove(name);
 		return this;
 	}
 	
@@ -210,6 +716,7 @@ public class DSL
 	public DSL removeSub(String name)
 	{
 		subscripts.remove(name);
+		compiledSubscripts.remove(name);
 		return this;
 	}
 	
@@ -220,14 +727,104 @@ public class DSL
 	 * @return this instance for method chaining
 	 */
 	public DSL run(String name)
+	{
+		DSLCompiledSubscript compiled = compile(name);
+		Object event = DSLFlightRecorder.beginSubscript();
+		
+		try
+		{
+			if(metrics == null)
+				compiled.run(runtime);
+			else
+				compiled.run(runtime, metrics);
+		}
+		finally
+		{
+			if(event != null)
+				DSLFlightRecorder.endSubscript(event, name, compiled.size());
+		}
+		
+		return this;
+	}
+	
+	/**
+	 * Returns the compiled execution plan for a subscript, compiling it if needed. Throws a Runtime Exception if the Subscript doesn't exist.
+	 *
+	 * The plan is rebuilt automatically after the handlers are changed through addVar, addFunc, removeVar or removeFunc,
+	 * or after the subscript has been redefined or extended.
+	 *
+	 * @param name any String as the subscript name
+	 * @return the DSLCompiledSubscript for the subscript
+	 */
+	public DSLCompiledSubscript compile(String name)
 	{
 		List<DSLRuntimeCommand> functionContents = subscripts.get(name);
 		
 		if(functionContents == null)
 			throw new RuntimeException("Subscript " + name + " not found");
 		
-		for (DSLRuntimeCommand command : functionContents)
-			runtime.execute(command);
+		DSLCompiledSubscript compiled = compiledSubscripts.get(name);
+		
+		if(compiled == null || !compiled.isCompiledFrom(functionContents))
+		{
+			compiled = new DSLCompiledSubscript(this, name, functionContents);
+			compiledSubscripts.put(name, compiled);
+		}
+		
+		return compiled;
+	}
+	
+	/**
+	 * Rewrites every subscript so it does less work when it is run, see DSLOptimizer for what is changed.
+	 *
+	 * This should be called once the scripts have been parsed and the handlers have been added. References to runtime
+	 * variables are folded into their current values, so those variables should not be reassigned afterwards.
+	 * Lazily loaded subscripts that haven't been read yet are skipped.
+	 *
+	 * @return the DSLOptimizationReport listing how many commands each subscript lost
+	 */
+	public DSLOptimizationReport optimize()
+	{
+		return new DSLOptimizer(this).optimize();
+	}
+	
+	/**
+	 * Compiles the handlers, subscripts and runtime variables into an immutable DSLProgram.
+	 *
+	 * The DSLProgram can be shared between threads, each thread runs subscripts against its own DSLContext.
+	 * Lazily loaded subscripts that haven't been read yet are only read once the program runs them.
+	 *
+	 * @return a new DSLProgram
+	 */
+	public DSLProgram compile()
+	{
+		return new DSLProgram(this);
+	}
+	
+	/**
+	 * Compiles this DSL into a DSLProgram and creates a DSLScheduler to run several of its subscripts concurrently.
+	 *
+	 * @return a new DSLScheduler
+	 */
+	public DSLScheduler schedule()
+	{
+		return compile().schedule();
+	}
+	
+	/**
+	 * Drops every compiled subscript and rebuilds the handler array, this needs to be called if the command map has been modified directly.
+	 *
+	 * @return this instance for method chaining
+	 */
+	public DSL invalidate()
+	{
+		compiledSubscripts.clear();
+		
+		//rebuild the handler array from the command map
+		Arrays.fill(handlers, null);
+		argumentFunctions = 0;
+		for(Map.Entry<String, DSLDefinedCommand> command : commands.entrySet())
+			bind(symbols.intern(command.getKey()), command.getValue());
 		
 		return this;
 	}
@@ -313,7 +910,7 @@ public class DSL
 	}
 	
 	/**
-	 * Returns the command map
+	 * Returns the command map. If it is modified directly call invalidate() so the compiled subscripts are rebuilt.
 	 *
 	 * @return the command map as a HashMap
 	 */
@@ -322,6 +919,39 @@ public class DSL
 		return commands;
 	}
 	
+	/**
+	 * Returns the handler defined for a symbol
+	 *
+	 * @param symbol any symbol from the DSLSymbolTable of this DSL
+	 * @return the DSLDefinedCommand, or null if no handler has been defined for the symbol
+	 */
+	public DSLDefinedCommand getHandler(int symbol)
+	{
+		return symbol >= 0 && symbol < handlers.length ? handlers[symbol] : null;
+	}
+	
+	/**
+	 * Returns true if any function has been defined with an ArgumentRunnable
+	 *
+	 * @return true if there are argument functions
+	 */
+	public boolean hasArgumentFunctions()
+	{
+		return argumentFunctions > 0;
+	}
+	
+	/**
+	 * Returns the symbol table every command, variable and handler name is interned into.
+	 *
+	 * Handlers and runtime variables are stored in flat arrays indexed by symbol, the String maps are kept as views for compatibility.
+	 *
+	 * @return the DSLSymbolTable for this DSL
+	 */
+	public DSLSymbolTable getSymbols()
+	{
+		return symbols;
+	}
+	
 	/**
 	 * The subscript map
 	 * @return the subscript map as a HashMap
@@ -331,6 +961,127 @@ public class DSL
 		return subscripts;
 	}
 	
+	/**
+	 * Attach DSLMetrics to record command, subscript and parse metrics, or null to stop recording.
+	 *
+	 * DSLPrograms record to the DSLMetrics that were attached when they were compiled.
+	 *
+	 * @param metrics any DSLMetrics, or null
+	 * @return this instance for method chaining
+	 */
+	public DSL setMetrics(DSLMetrics metrics)
+	{
+		this.metrics = metrics;
+		return this;
+	}
+	
+	/**
+	 * Set how compiled subscripts are executed, every subscript is compiled again the next time it runs.
+	 *
+	 * INTERPRETER loops over the compiled commands. METHOD_HANDLE composes each subscript into a single MethodHandle
+	 * with constant parameters bound in, so the JIT can inline the handlers along the subscript. It takes longer to
+	 * compile and to warm up, so it suits subscripts that are run many times.
+	 *
+	 * @param backend any DSLBackend
+	 * @return this instance for method chaining
+	 */
+	public DSL setBackend(DSLBackend backend)
+	{
+		this.backend = backend;
+		compiledSubscripts.clear();
+		return this;
+	}
+	
+	/**
+	 * Returns how compiled subscripts are executed
+	 *
+	 * @return the DSLBackend
+	 */
+	public DSLBackend getBackend()
+	{
+		return backend;
+	}
+	
+	/**
+	 * Set how the commands of subscripts are stored, the subscripts already defined are converted right away.
+	 *
+	 * OBJECTS keeps a DSLRuntimeCommand for every line. COMPACT keeps every subscript in a DSLCompactSubscript, a few
+	 * flat arrays with the text of all parameters in one char array, which is far smaller for large scripts and
+	 * leaves the GC almost nothing to trace. COMPACT_OFF_HEAP also moves the text into a direct buffer outside of the heap.
+	 * Compact subscripts build the parameter Strings each time a command runs, so they trade a little speed for memory.
+	 *
+	 * Subscripts that are loaded lazily are left as they are.
+	 *
+	 * @param subscriptStorage any DSLSubscriptStorage
+	 * @return this instance for method chaining
+	 */
+	public DSL setSubscriptStorage(DSLSubscriptStorage subscriptStorage)
+	{
+		this.subscriptStorage = subscriptStorage;
+		
+		for(Map.Entry<String, List<DSLRuntimeCommand>> subscript : subscripts.entrySet())
+		{
+			if(subscript.getValue() instanceof DSLLazySubscript)
+				continue;
+			
+			List<DSLRuntimeCommand> stored = subscriptStorage.copy(symbols, subscript.getValue());
+			
+			if(stored != subscript.getValue())
+			{
+				subscript.setValue(stored);
+				compiledSubscripts.remove(subscript.getKey());
+			}
+		}
+		
+		return this;
+	}
+	
+	/**
+	 * Returns how the commands of subscripts are stored
+	 *
+	 * @return the DSLSubscriptStorage
+	 */
+	public DSLSubscriptStorage getSubscriptStorage()
+	{
+		return subscriptStorage;
+	}
+	
+	/**
+	 * Attach a DSLStringPool, the names and parameters of subscript commands parsed from then on are taken from it.
+	 *
+	 * Repeated names and literals then share a single String, the pool reports how often that happened and an
+	 * estimate of the heap it saved. Top-level commands are executed once and dropped, so they are not pooled.
+	 * Compact subscripts copy their text into their own arrays and gain nothing from a pool.
+	 *
+	 * @param stringPool any DSLStringPool, or null
+	 * @return this instance for method chaining
+	 */
+	public DSL setStringPool(DSLStringPool stringPool)
+	{
+		this.stringPool = stringPool;
+		return this;
+	}
+	
+	/**
+	 * Returns the attached DSLStringPool
+	 *
+	 * @return the DSLStringPool, or null if parsed Strings are not pooled
+	 */
+	public DSLStringPool getStringPool()
+	{
+		return stringPool;
+	}
+	
+	/**
+	 * Returns the attached DSLMetrics
+	 *
+	 * @return the DSLMetrics, or null if metrics are not being recorded
+	 */
+	public DSLMetrics getMetrics()
+	{
+		return metrics;
+	}
+	
 	/**
 	 * The DLSRuntime associated with this DSL.
 	 *
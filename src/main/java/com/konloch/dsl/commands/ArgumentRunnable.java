@@ -0,0 +1,17 @@
+package com.konloch.dsl.commands;
+
+/**
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public interface ArgumentRunnable
+{
+	/**
+	 * A functional interface for functions that read their parameters through a reusable view.
+	 *
+	 * The view, and every CharSequence it returns, is only valid until this method returns.
+	 *
+	 * @param arguments the parameters supplied for the function
+	 */
+	void run(DSLArguments arguments);
+}
@@ -0,0 +1,17 @@
+package com.konloch.dsl.commands;
+
+/**
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public interface BatchFunctionRunnable
+{
+	/**
+	 * A functional interface for functions that receive consecutive calls in a subscript as one batch.
+	 *
+	 * The batch and its parameter arrays are reused every time the subscript runs, so they must not be modified.
+	 *
+	 * @param calls the parameters supplied for each call, in the order the calls were written
+	 */
+	void run(String[][] calls);
+}
@@ -0,0 +1,148 @@
+package com.konloch.dsl.commands;
+
+/**
+ * A read only view of the parameters supplied to a function.
+ *
+ * The parse helpers read the parameter in place, so no intermediate Strings are created for int, long and boolean
+ * parameters.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public abstract class DSLArguments
+{
+	/**
+	 * Returns the amount of parameters
+	 *
+	 * @return the parameter count
+	 */
+	public abstract int size();
+	
+	/**
+	 * Returns a parameter without copying it
+	 *
+	 * @param index the parameter index
+	 * @return the parameter as a CharSequence
+	 */
+	public abstract CharSequence get(int index);
+	
+	/**
+	 * Returns a parameter as a String, this creates a new String if the parameter is a slice of the original line
+	 *
+	 * @param index the parameter index
+	 * @return the parameter as a String
+	 */
+	public String getString(int index)
+	{
+		return get(index).toString();
+	}
+	
+	/**
+	 * Parses a parameter as a decimal int
+	 *
+	 * @param index the parameter index
+	 * @return the parameter as an int
+	 * @throws NumberFormatException if the parameter is not a valid int
+	 */
+	public int getInt(int index)
+	{
+		long value = getLong(index);
+		
+		if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE)
+			throw new NumberFormatException("Value out of range for int: " + get(index));
+		
+		return (int) value;
+	}
+	
+	/**
+	 * Parses a parameter as a decimal long
+	 *
+	 * @param index the parameter index
+	 * @return the parameter as a long
+	 * @throws NumberFormatException if the parameter is not a valid long
+	 */
+	public long getLong(int index)
+	{
+		return parseLong(get(index));
+	}
+	
+	/**
+	 * Parses a parameter as a double
+	 *
+	 * @param index the parameter index
+	 * @return the parameter as a double
+	 * @throws NumberFormatException if the parameter is not a valid double
+	 */
+	public double getDouble(int index)
+	{
+		return Double.parseDouble(getString(index));
+	}
+	
+	/**
+	 * Parses a parameter as a boolean, the same way Boolean.parseBoolean does
+	 *
+	 * @param index the parameter index
+	 * @return true if the parameter is `true`, ignoring case
+	 */
+	public boolean getBoolean(int index)
+	{
+		CharSequence value = get(index);
+		
+		if (value.length() != 4)
+			return false;
+		
+		return Character.toLowerCase(value.charAt(0)) == 't'
+				&& Character.toLowerCase(value.charAt(1)) == 'r'
+				&& Character.toLowerCase(value.charAt(2)) == 'u'
+				&& Character.toLowerCase(value.charAt(3)) == 'e';
+	}
+	
+	/**
+	 * Parses any CharSequence as a decimal long without creating a String
+	 *
+	 * @param value any CharSequence
+	 * @return the parsed long
+	 * @throws NumberFormatException if the value is not a valid long
+	 */
+	public static long parseLong(CharSequence value)
+	{
+		int length = value.length();
+		
+		if (length == 0)
+			throw new NumberFormatException("For input string: \"\"");
+		
+		int i = 0;
+		boolean negative = false;
+		char first = value.charAt(0);
+		
+		if (first == '-' || first == '+')
+		{
+			negative = first == '-';
+			i++;
+			
+			if (length == 1)
+				throw new NumberFormatException("For input string: \"" + value + "\"");
+		}
+		
+		//accumulate negatively so Long.MIN_VALUE can be represented
+		long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+		long result = 0;
+		
+		for (; i < length; i++)
+		{
+			int digit = value.charAt(i) - '0';
+			
+			if (digit < 0 || digit > 9 || result < limit / 10)
+				throw new NumberFormatException("For input string: \"" + value + "\"");
+			
+			result *= 10;
+			
+			if (result < limit + digit)
+				throw new NumberFormatException("For input string: \"" + value + "\"");
+			
+			result -= digit;
+		}
+		
+		return negative ? result : -result;
+	}
+}
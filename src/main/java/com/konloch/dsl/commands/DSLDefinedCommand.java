@@ -10,6 +10,10 @@ public class DSLDefinedCommand
 	private final String name;
 	private VariableRunnable variableRunnable;
 	private FunctionRunnable functionRunnable;
+	private ArgumentRunnable argumentRunnable;
+	private BatchFunctionRunnable batchFunctionRunnable;
+	private TypedRunnable typedRunnable;
+	private DSLParameterType[] signature;
 	
 	/**
 	 * Creates a new DSLDefinedCommand and defines it as a variable.
@@ -37,6 +41,51 @@ public class DSLDefinedCommand
 		this.functionRunnable = functionRunnable;
 	}
 	
+	/**
+	 * Constructs a new DSLDefinedCommand and defines it as a function that reads its parameters through DSLArguments.
+	 *
+	 * @param name any String as the function name
+	 * @param argumentRunnable any ArgumentRunnable
+	 */
+	public DSLDefinedCommand(String name, ArgumentRunnable argumentRunnable)
+	{
+		type = DSLCommandType.FUNCTION;
+		this.name = name;
+		this.argumentRunnable = argumentRunnable;
+	}
+	
+	/**
+	 * Constructs a new DSLDefinedCommand and defines it as a function that receives consecutive calls as one batch.
+	 *
+	 * @param name any String as the function name
+	 * @param batchFunctionRunnable any BatchFunctionRunnable
+	 */
+	public DSLDefinedCommand(String name, BatchFunctionRunnable batchFunctionRunnable)
+	{
+		type = DSLCommandType.FUNCTION;
+		this.name = name;
+		this.batchFunctionRunnable = batchFunctionRunnable;
+	}
+	
+	/**
+	 * Constructs a new DSLDefinedCommand with a declared parameter signature.
+	 *
+	 * @param name any String as the variable or function name
+	 * @param type the DSLCommandType type
+	 * @param typedRunnable any TypedRunnable
+	 * @param signature the DSLParameterTypes of the parameters, a variable has exactly one
+	 */
+	public DSLDefinedCommand(String name, DSLCommandType type, TypedRunnable typedRunnable, DSLParameterType... signature)
+	{
+		if(type == DSLCommandType.VARIABLE && signature.length != 1)
+			throw new RuntimeException("Variable " + name + " must declare exactly one parameter type");
+		
+		this.type = type;
+		this.name = name;
+		this.typedRunnable = typedRunnable;
+		this.signature = signature.clone();
+	}
+	
 	/**
 	 * Returns the type
 	 *
@@ -76,4 +125,44 @@ public class DSLDefinedCommand
 	{
 		return functionRunnable;
 	}
+	
+	/**
+	 * Returns the ArgumentRunnable if it's defined, or it will return null
+	 *
+	 * @return returns the ArgumentRunnable if it's defined, or it will return null
+	 */
+	public ArgumentRunnable getArgumentRunnable()
+	{
+		return argumentRunnable;
+	}
+	
+	/**
+	 * Returns the BatchFunctionRunnable if it's defined, or it will return null
+	 *
+	 * @return returns the BatchFunctionRunnable if it's defined, or it will return null
+	 */
+	public BatchFunctionRunnable getBatchFunctionRunnable()
+	{
+		return batchFunctionRunnable;
+	}
+	
+	/**
+	 * Returns the TypedRunnable if it's defined, or it will return null
+	 *
+	 * @return returns the TypedRunnable if it's defined, or it will return null
+	 */
+	public TypedRunnable getTypedRunnable()
+	{
+		return typedRunnable;
+	}
+	
+	/**
+	 * Returns the declared parameter signature if it's defined, or it will return null
+	 *
+	 * @return returns the DSLParameterType Array if it's defined, or it will return null
+	 */
+	public DSLParameterType[] getSignature()
+	{
+		return signature;
+	}
 }
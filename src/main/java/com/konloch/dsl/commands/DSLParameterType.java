@@ -0,0 +1,10 @@
+package com.konloch.dsl.commands;
+
+/**
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public enum DSLParameterType
+{
+	INT, LONG, DOUBLE, BOOLEAN, STRING,
+}
@@ -0,0 +1,149 @@
+package com.konloch.dsl.commands;
+
+/**
+ * Parameters that have been converted to a declared signature.
+ *
+ * INT, LONG and BOOLEAN parameters are stored in a long array and DOUBLE parameters in a double array, so reading
+ * them with the getter for their declared type does not parse or box anything. The other getters fall back to parsing
+ * the original String.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLTypedArguments extends DSLArguments
+{
+	private static final String[] EMPTY = new String[0];
+	
+	private final DSLParameterType[] signature;
+	private final String[] values;
+	private final long[] longs;
+	private final double[] doubles;
+	
+	private DSLTypedArguments(DSLParameterType[] signature, String[] values, long[] longs, double[] doubles)
+	{
+		this.signature = signature;
+		this.values = values;
+		this.longs = longs;
+		this.doubles = doubles;
+	}
+	
+	/**
+	 * Converts any String Array to a declared signature. Throws a Runtime Exception if the parameters do not match.
+	 *
+	 * @param name any String as the variable or function name, used in the error message
+	 * @param signature the declared DSLParameterTypes
+	 * @param parameters any String Array as the parameters, null is treated as no parameters
+	 * @return the converted DSLTypedArguments
+	 */
+	public static DSLTypedArguments parse(String name, DSLParameterType[] signature, String[] parameters)
+	{
+		if (parameters == null)
+			parameters = EMPTY;
+		
+		if (parameters.length != signature.length)
+			throw new RuntimeException(name + " expects " + signature.length + " parameters but was given " + parameters.length);
+		
+		long[] longs = new long[parameters.length];
+		double[] doubles = new double[parameters.length];
+		
+		for (int i = 0; i < parameters.length; i++)
+		{
+			String value = parameters[i];
+			
+			try
+			{
+				switch (signature[i])
+				{
+					case INT:
+						longs[i] = Integer.parseInt(value);
+						break;
+						
+					case LONG:
+						longs[i] = parseLong(value);
+						break;
+						
+					case DOUBLE:
+						doubles[i] = Double.parseDouble(value);
+						break;
+						
+					case BOOLEAN:
+						if (value.equalsIgnoreCase("true"))
+							longs[i] = 1;
+						else if (!value.equalsIgnoreCase("false"))
+							throw new NumberFormatException(value);
+						break;
+				}
+			}
+			catch (NumberFormatException e)
+			{
+				throw new RuntimeException(name + " parameter " + (i + 1) + " expects " + signature[i] + " but was `" + value + "`");
+			}
+		}
+		
+		return new DSLTypedArguments(signature, parameters, longs, doubles);
+	}
+	
+	@Override
+	public int size()
+	{
+		return values.length;
+	}
+	
+	@Override
+	public CharSequence get(int index)
+	{
+		return values[index];
+	}
+	
+	@Override
+	public String getString(int index)
+	{
+		return values[index];
+	}
+	
+	@Override
+	public int getInt(int index)
+	{
+		if (signature[index] == DSLParameterType.INT)
+			return (int) longs[index];
+		
+		return super.getInt(index);
+	}
+	
+	@Override
+	public long getLong(int index)
+	{
+		if (signature[index] == DSLParameterType.INT || signature[index] == DSLParameterType.LONG)
+			return longs[index];
+		
+		return super.getLong(index);
+	}
+	
+	@Override
+	public double getDouble(int index)
+	{
+		if (signature[index] == DSLParameterType.DOUBLE)
+			return doubles[index];
+		
+		return super.getDouble(index);
+	}
+	
+	@Override
+	public boolean getBoolean(int index)
+	{
+		if (signature[index] == DSLParameterType.BOOLEAN)
+			return longs[index] != 0;
+		
+		return super.getBoolean(index);
+	}
+	
+	/**
+	 * Returns the signature the parameters were converted to
+	 *
+	 * @return the DSLParameterType Array
+	 */
+	public DSLParameterType[] getSignature()
+	{
+		return signature;
+	}
+}
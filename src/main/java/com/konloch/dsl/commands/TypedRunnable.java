@@ -0,0 +1,17 @@
+package com.konloch.dsl.commands;
+
+/**
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public interface TypedRunnable
+{
+	/**
+	 * A functional interface for variables and functions with a declared parameter signature.
+	 *
+	 * Every parameter has already been converted to its declared type, the getters for those types do not parse or box.
+	 *
+	 * @param arguments the converted parameters
+	 */
+	void run(DSLTypedArguments arguments);
+}
@@ -0,0 +1,142 @@
+package com.konloch.dsl.metrics;
+
+/**
+ * Emits Java Flight Recorder events for parsing, subscript runs, command dispatches and variable resolutions.
+ *
+ * This is the Java 8 version, JFR events need Java 11, so every method does nothing. The jar is a multi-release
+ * jar, on Java 11 or higher the version in META-INF/versions/11 is loaded instead and records real events.
+ *
+ * Each event type is enabled and given a threshold separately through the JFR settings, using the event names below.
+ * An event is started with one of the begin methods and handed back to the matching end method once the work is done.
+ * The begin methods return null when the event type is not enabled, so nothing is allocated or timed.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLFlightRecorder
+{
+	/**
+	 * A script read through DSL.parse, parseLazy, parsePipelined, parseAll or a script cache, enabled by default without a threshold
+	 */
+	public static final String PARSE_EVENT = "com.konloch.dsl.Parse";
+
+	/**
+	 * A subscript run through DSL.run or DSLContext.run, enabled by default with a threshold of 1 ms
+	 */
+	public static final String SUBSCRIPT_EVENT = "com.konloch.dsl.Subscript";
+
+	/**
+	 * A command dispatched at the top level, from a subscript or on the executor of the DSL, disabled by default
+	 */
+	public static final String COMMAND_EVENT = "com.konloch.dsl.Command";
+
+	/**
+	 * A variable value resolved through getVariableValue, disabled by default
+	 */
+	public static final String VARIABLE_EVENT = "com.konloch.dsl.Variable";
+
+	/**
+	 * Returns true if events are recorded when JFR is recording
+	 *
+	 * @return false, this Java version does not support JFR events
+	 */
+	public static boolean isAvailable()
+	{
+		return false;
+	}
+
+	/**
+	 * Returns true if command events are being recorded, so a run can skip timing every command otherwise
+	 *
+	 * @return false, this Java version does not support JFR events
+	 */
+	public static boolean isCommandEnabled()
+	{
+		return false;
+	}
+
+	/**
+	 * Starts timing a parse
+	 *
+	 * @return the event to end, or null if the event type is not enabled
+	 */
+	public static Object beginParse()
+	{
+		return null;
+	}
+
+	/**
+	 * Ends a parse and commits it if it passes the threshold
+	 *
+	 * @param event the event returned by beginParse
+	 * @param source any String describing where the script was read from
+	 * @param lines the amount of lines that were read, none if the script was loaded from a cache
+	 * @param cached true if the script was loaded from a cache instead of its source
+	 */
+	public static void endParse(Object event, String source, long lines, boolean cached)
+	{
+	}
+
+	/**
+	 * Starts timing a subscript run
+	 *
+	 * @return the event to end, or null if the event type is not enabled
+	 */
+	public static Object beginSubscript()
+	{
+		return null;
+	}
+
+	/**
+	 * Ends a subscript run and commits it if it passes the threshold
+	 *
+	 * @param event the event returned by beginSubscript
+	 * @param name any String as the subscript name
+	 * @param commands the amount of commands in the subscript
+	 */
+	public static void endSubscript(Object event, String name, int commands)
+	{
+	}
+
+	/**
+	 * Starts timing a command dispatch
+	 *
+	 * @return the event to end, or null if the event type is not enabled
+	 */
+	public static Object beginCommand()
+	{
+		return null;
+	}
+
+	/**
+	 * Ends a command dispatch and commits it if it passes the threshold
+	 *
+	 * @param event the event returned by beginCommand
+	 * @param name any String as the command name
+	 * @param parameters the amount of parameters the command was called with
+	 */
+	public static void endCommand(Object event, String name, int parameters)
+	{
+	}
+
+	/**
+	 * Starts timing a variable resolution
+	 *
+	 * @return the event to end, or null if the event type is not enabled
+	 */
+	public static Object beginVariable()
+	{
+		return null;
+	}
+
+	/**
+	 * Ends a variable resolution and commits it if it passes the threshold
+	 *
+	 * @param event the event returned by beginVariable
+	 * @param name any String as the variable name
+	 * @param length the length of the resolved value
+	 */
+	public static void endVariable(Object event, String name, int length)
+	{
+	}
+}
@@ -0,0 +1,112 @@
+package com.konloch.dsl.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * DSLMetrics records per command and per subscript timings along with parse counters.
+ *
+ * Metrics are only recorded once they have been attached with DSL.setMetrics, all methods are thread safe and
+ * snapshot can be called at any time while the runtime is in use.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLMetrics
+{
+	private final ConcurrentHashMap<String, DSLTimer> commands = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String, DSLTimer> subscripts = new ConcurrentHashMap<>();
+	private final LongAdder linesProcessed = new LongAdder();
+	private final LongAdder commentsSkipped = new LongAdder();
+	private final LongAdder unknownCommands = new LongAdder();
+	
+	/**
+	 * Records a command dispatch
+	 *
+	 * @param name the command name
+	 * @param nanos the duration in nanoseconds
+	 */
+	public void recordCommand(String name, long nanos)
+	{
+		timer(commands, name).record(nanos);
+	}
+	
+	/**
+	 * Records a subscript run
+	 *
+	 * @param name the subscript name
+	 * @param nanos the duration in nanoseconds
+	 */
+	public void recordSubscript(String name, long nanos)
+	{
+		timer(subscripts, name).record(nanos);
+	}
+	
+	/**
+	 * Counts a line handed to the parser
+	 */
+	public void lineProcessed()
+	{
+		linesProcessed.increment();
+	}
+	
+	/**
+	 * Counts a comment line skipped by the parser
+	 */
+	public void commentSkipped()
+	{
+		commentsSkipped.increment();
+	}
+	
+	/**
+	 * Counts a line that is not a valid command or has no handler defined
+	 */
+	public void unknownCommand()
+	{
+		unknownCommands.increment();
+	}
+	
+	/**
+	 * Returns a point in time copy of every metric
+	 *
+	 * @return the DSLMetricsSnapshot
+	 */
+	public DSLMetricsSnapshot snapshot()
+	{
+		return new DSLMetricsSnapshot(snapshot(commands), snapshot(subscripts),
+				linesProcessed.sum(), commentsSkipped.sum(), unknownCommands.sum());
+	}
+	
+	/**
+	 * Clears every metric
+	 */
+	public void reset()
+	{
+		commands.clear();
+		subscripts.clear();
+		linesProcessed.reset();
+		commentsSkipped.reset();
+		unknownCommands.reset();
+	}
+	
+	private static DSLTimer timer(ConcurrentHashMap<String, DSLTimer> timers, String name)
+	{
+		DSLTimer timer = timers.get(name);
+		
+		if (timer == null)
+			timer = timers.computeIfAbsent(name, DSLTimer::new);
+		
+		return timer;
+	}
+	
+	private static Map<String, DSLTimerSnapshot> snapshot(ConcurrentHashMap<String, DSLTimer> timers)
+	{
+		TreeMap<String, DSLTimerSnapshot> snapshot = new TreeMap<>();
+		for (DSLTimer timer : timers.values())
+			snapshot.put(timer.getName(), timer.snapshot());
+		
+		return snapshot;
+	}
+}
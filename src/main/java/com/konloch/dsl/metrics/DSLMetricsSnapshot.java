@@ -0,0 +1,105 @@
+package com.konloch.dsl.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * A point in time copy of DSLMetrics.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLMetricsSnapshot
+{
+	private final Map<String, DSLTimerSnapshot> commands;
+	private final Map<String, DSLTimerSnapshot> subscripts;
+	private final long linesProcessed;
+	private final long commentsSkipped;
+	private final long unknownCommands;
+	
+	/**
+	 * Constructs a new DSLMetricsSnapshot
+	 *
+	 * @param commands the command timers by name
+	 * @param subscripts the subscript timers by name
+	 * @param linesProcessed the amount of lines handed to the parser
+	 * @param commentsSkipped the amount of comment lines skipped
+	 * @param unknownCommands the amount of lines that were not valid commands or had no handler
+	 */
+	public DSLMetricsSnapshot(Map<String, DSLTimerSnapshot> commands, Map<String, DSLTimerSnapshot> subscripts,
+	                          long linesProcessed, long commentsSkipped, long unknownCommands)
+	{
+		this.commands = Collections.unmodifiableMap(commands);
+		this.subscripts = Collections.unmodifiableMap(subscripts);
+		this.linesProcessed = linesProcessed;
+		this.commentsSkipped = commentsSkipped;
+		this.unknownCommands = unknownCommands;
+	}
+	
+	/**
+	 * Returns the command timers
+	 *
+	 * @return the command timers sorted by name
+	 */
+	public Map<String, DSLTimerSnapshot> getCommands()
+	{
+		return commands;
+	}
+	
+	/**
+	 * Returns the subscript timers
+	 *
+	 * @return the subscript timers sorted by name
+	 */
+	public Map<String, DSLTimerSnapshot> getSubscripts()
+	{
+		return subscripts;
+	}
+	
+	/**
+	 * Returns the amount of lines handed to the parser
+	 *
+	 * @return the lines processed
+	 */
+	public long getLinesProcessed()
+	{
+		return linesProcessed;
+	}
+	
+	/**
+	 * Returns the amount of comment lines skipped by the parser
+	 *
+	 * @return the comments skipped
+	 */
+	public long getCommentsSkipped()
+	{
+		return commentsSkipped;
+	}
+	
+	/**
+	 * Returns the amount of lines that were not valid commands or had no handler defined
+	 *
+	 * @return the unknown commands
+	 */
+	public long getUnknownCommands()
+	{
+		return unknownCommands;
+	}
+	
+	@Override
+	public String toString()
+	{
+		StringBuilder builder = new StringBuilder();
+		builder.append("Lines processed: ").append(linesProcessed)
+				.append(", comments skipped: ").append(commentsSkipped)
+				.append(", unknown commands: ").append(unknownCommands);
+		
+		for (DSLTimerSnapshot subscript : subscripts.values())
+			builder.append(System.lineSeparator()).append("Subscript ").append(subscript);
+		
+		for (DSLTimerSnapshot command : commands.values())
+			builder.append(System.lineSeparator()).append("Command ").append(command);
+		
+		return builder.toString();
+	}
+}
@@ -0,0 +1,93 @@
+package com.konloch.dsl.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A DSLTimer records the invocation count, cumulative time and a latency histogram for one command or subscript.
+ *
+ * The histogram uses power of two buckets, bucket `i` counts durations from `2^(i-1)` up to `2^i` nanoseconds.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLTimer
+{
+	/**
+	 * The amount of histogram buckets, enough to hold any positive long
+	 */
+	public static final int BUCKETS = 65;
+	
+	private final String name;
+	private final LongAdder count = new LongAdder();
+	private final LongAdder totalNanos = new LongAdder();
+	private final AtomicLong maxNanos = new AtomicLong();
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+	
+	/**
+	 * Constructs a new DSLTimer
+	 *
+	 * @param name any String as the command or subscript name
+	 */
+	public DSLTimer(String name)
+	{
+		this.name = name;
+	}
+	
+	/**
+	 * Records a single invocation
+	 *
+	 * @param nanos the duration of the invocation in nanoseconds
+	 */
+	public void record(long nanos)
+	{
+		if (nanos < 0)
+			nanos = 0;
+		
+		count.increment();
+		totalNanos.add(nanos);
+		buckets.incrementAndGet(bucket(nanos));
+		
+		long max;
+		while (nanos > (max = maxNanos.get()) && !maxNanos.compareAndSet(max, nanos))
+		{
+			//retry until the max is updated or another thread recorded a longer invocation
+		}
+	}
+	
+	/**
+	 * Returns a point in time copy of this timer
+	 *
+	 * @return the DSLTimerSnapshot
+	 */
+	public DSLTimerSnapshot snapshot()
+	{
+		long[] counts = new long[BUCKETS];
+		for (int i = 0; i < BUCKETS; i++)
+			counts[i] = buckets.get(i);
+		
+		return new DSLTimerSnapshot(name, count.sum(), totalNanos.sum(), maxNanos.get(), counts);
+	}
+	
+	/**
+	 * Returns the command or subscript name
+	 *
+	 * @return the name as a String
+	 */
+	public String getName()
+	{
+		return name;
+	}
+	
+	/**
+	 * Returns the histogram bucket for a duration
+	 *
+	 * @param nanos any duration in nanoseconds
+	 * @return the bucket index
+	 */
+	public static int bucket(long nanos)
+	{
+		return 64 - Long.numberOfLeadingZeros(nanos);
+	}
+}
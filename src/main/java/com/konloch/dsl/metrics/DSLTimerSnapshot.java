@@ -0,0 +1,129 @@
+package com.konloch.dsl.metrics;
+
+/**
+ * A point in time copy of a DSLTimer.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLTimerSnapshot
+{
+	private final String name;
+	private final long count;
+	private final long totalNanos;
+	private final long maxNanos;
+	private final long[] buckets;
+	
+	/**
+	 * Constructs a new DSLTimerSnapshot
+	 *
+	 * @param name the command or subscript name
+	 * @param count the invocation count
+	 * @param totalNanos the cumulative time in nanoseconds
+	 * @param maxNanos the longest invocation in nanoseconds
+	 * @param buckets the histogram bucket counts
+	 */
+	public DSLTimerSnapshot(String name, long count, long totalNanos, long maxNanos, long[] buckets)
+	{
+		this.name = name;
+		this.count = count;
+		this.totalNanos = totalNanos;
+		this.maxNanos = maxNanos;
+		this.buckets = buckets;
+	}
+	
+	/**
+	 * Returns an upper bound for the latency at any percentile, based on the histogram buckets
+	 *
+	 * @param percentile any percentile between 0 and 100
+	 * @return the upper bound in nanoseconds
+	 */
+	public long getPercentileNanos(double percentile)
+	{
+		long total = 0;
+		for (long bucket : buckets)
+			total += bucket;
+		
+		if (total == 0)
+			return 0;
+		
+		long target = (long) Math.ceil(total * percentile / 100D);
+		long seen = 0;
+		for (int i = 0; i < buckets.length; i++)
+		{
+			seen += buckets[i];
+			
+			if (seen >= target && seen > 0)
+				return i == 0 ? 0 : Math.min(maxNanos, i >= 63 ? Long.MAX_VALUE : (1L << i) - 1);
+		}
+		
+		return maxNanos;
+	}
+	
+	/**
+	 * Returns the mean invocation time
+	 *
+	 * @return the mean time in nanoseconds
+	 */
+	public double getMeanNanos()
+	{
+		return count == 0 ? 0 : (double) totalNanos / count;
+	}
+	
+	/**
+	 * Returns the command or subscript name
+	 *
+	 * @return the name as a String
+	 */
+	public String getName()
+	{
+		return name;
+	}
+	
+	/**
+	 * Returns the invocation count
+	 *
+	 * @return the invocation count
+	 */
+	public long getCount()
+	{
+		return count;
+	}
+	
+	/**
+	 * Returns the cumulative time
+	 *
+	 * @return the cumulative time in nanoseconds
+	 */
+	public long getTotalNanos()
+	{
+		return totalNanos;
+	}
+	
+	/**
+	 * Returns the longest invocation
+	 *
+	 * @return the longest invocation in nanoseconds
+	 */
+	public long getMaxNanos()
+	{
+		return maxNanos;
+	}
+	
+	/**
+	 * Returns the histogram bucket counts, bucket `i` counts durations from `2^(i-1)` up to `2^i` nanoseconds
+	 *
+	 * @return a copy of the bucket counts
+	 */
+	public long[] getBuckets()
+	{
+		return buckets.clone();
+	}
+	
+	@Override
+	public String toString()
+	{
+		return name + ": count=" + count + ", total=" + totalNanos + "ns, mean=" + (long) getMeanNanos()
+				+ "ns, p50=" + getPercentileNanos(50) + "ns, p99=" + getPercentileNanos(99) + "ns, max=" + maxNanos + "ns";
+	}
+}
@@ -0,0 +1,44 @@
+package com.konloch.dsl.runtime;
+
+import com.konloch.dsl.commands.DSLArguments;
+
+/**
+ * DSLArguments backed by the parameters of a stored DSLRuntimeCommand.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLArrayArguments extends DSLArguments
+{
+	private static final String[] EMPTY = new String[0];
+	
+	private final String[] parameters;
+	
+	/**
+	 * Constructs a new DSLArrayArguments
+	 *
+	 * @param parameters any String Array as the parameters, or null for no parameters
+	 */
+	public DSLArrayArguments(String[] parameters)
+	{
+		this.parameters = parameters == null ? EMPTY : parameters;
+	}
+	
+	@Override
+	public int size()
+	{
+		return parameters.length;
+	}
+	
+	@Override
+	public CharSequence get(int index)
+	{
+		return parameters[index];
+	}
+	
+	@Override
+	public String getString(int index)
+	{
+		return parameters[index];
+	}
+}
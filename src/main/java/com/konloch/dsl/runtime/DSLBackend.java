@@ -0,0 +1,12 @@
+package com.konloch.dsl.runtime;
+
+/**
+ * How compiled subscripts are executed, see DSL.setBackend
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public enum DSLBackend
+{
+	INTERPRETER, METHOD_HANDLE,
+}
@@ -0,0 +1,593 @@
+package com.konloch.dsl.runtime;
+
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * The runtime command map, any change invalidates the affected cached variable values. This includes changes made through
+ * the compute, merge and replace methods, through removal from the key, value and entry views and through Entry.setValue.
+ *
+ * Every command is also stored in a flat array indexed by the symbol of its name, so it can be read without hashing the name.
+ *
+ * Once a snapshot has been taken every change is recorded in an undo journal along with the command it replaced.
+ * Taking a snapshot only remembers the length of the journal, restoring it undoes the changes made since in reverse,
+ * so both cost nothing for variables that were not changed.
+ *
+ * The map is serialized as a plain LinkedHashMap of its commands, the slots, journal and resolver are not kept.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLCommandMap extends LinkedHashMap<String, DSLRuntimeCommand>
+{
+	private static final long serialVersionUID = 1L;
+
+	private final transient DSLSymbolTable symbols;
+	private final transient DSLVariableResolver resolver;
+	private transient DSLRuntimeCommand[] slots = new DSLRuntimeCommand[16];
+	//null until the first snapshot is taken
+	private transient ArrayList<Change> journal;
+	private transient int generation;
+
+	/**
+	 * Constructs a new DSLCommandMap with its own DSLSymbolTable
+	 *
+	 * @param variableDelimiter the variable delimiter
+	 */
+	public DSLCommandMap(char variableDelimiter)
+	{
+		this(variableDelimiter, new DSLSymbolTable());
+	}
+
+	/**
+	 * Constructs a new DSLCommandMap
+	 *
+	 * @param variableDelimiter the variable delimiter
+	 * @param symbols the DSLSymbolTable the names are interned into
+	 */
+	public DSLCommandMap(char variableDelimiter, DSLSymbolTable symbols)
+	{
+		this.symbols = symbols;
+		this.resolver = new DSLVariableResolver(variableDelimiter, this);
+	}
+
+	@Override
+	public DSLRuntimeCommand put(String key, DSLRuntimeCommand value)
+	{
+		DSLRuntimeCommand previous = super.put(key, value);
+		onPut(key, previous, value);
+		return previous;
+	}
+
+	@Override
+	public void putAll(Map<? extends String, ? extends DSLRuntimeCommand> m)
+	{
+		for (Map.Entry<? extends String, ? extends DSLRuntimeCommand> entry : m.entrySet())
+			put(entry.getKey(), entry.getValue());
+	}
+
+	@Override
+	public DSLRuntimeCommand remove(Object key)
+	{
+		DSLRuntimeCommand previous = super.remove(key);
+
+		if (previous != null)
+			onRemove((String) key, previous);
+
+		return previous;
+	}
+
+	@Override
+	public boolean remove(Object key, Object value)
+	{
+		DSLRuntimeCommand current = get(key);
+
+		if (current == null || !current.equals(value))
+			return false;
+
+		remove(key);
+		return true;
+	}
+
+	@Override
+	public DSLRuntimeCommand putIfAbsent(String key, DSLRuntimeCommand value)
+	{
+		DSLRuntimeCommand current = get(key);
+		return current == null ? put(key, value) : current;
+	}
+
+	@Override
+	public DSLRuntimeCommand replace(String key, DSLRuntimeCommand value)
+	{
+		return get(key) == null ? null : put(key, value);
+	}
+
+	@Override
+	public boolean replace(String key, DSLRuntimeCommand oldValue, DSLRuntimeCommand newValue)
+	{
+		DSLRuntimeCommand current = get(key);
+
+		if (current == null || !current.equals(oldValue))
+			return false;
+
+		put(key, newValue);
+		return true;
+	}
+
+	@Override
+	public void replaceAll(BiFunction<? super String, ? super DSLRuntimeCommand, ? extends DSLRuntimeCommand> function)
+	{
+		for (Map.Entry<String, DSLRuntimeCommand> entry : entrySet())
+			entry.setValue(function.apply(entry.getKey(), entry.getValue()));
+	}
+
+	@Override
+	public DSLRuntimeCommand computeIfAbsent(String key, Function<? super String, ? extends DSLRuntimeCommand> mappingFunction)
+	{
+		DSLRuntimeCommand current = get(key);
+
+		if (current != null)
+			return current;
+
+		DSLRuntimeCommand value = mappingFunction.apply(key);
+
+		if (value != null)
+			put(key, value);
+
+		return value;
+	}
+
+	@Override
+	public DSLRuntimeCommand computeIfPresent(String key, BiFunction<? super String, ? super DSLRuntimeCommand, ? extends DSLRuntimeCommand> remappingFunction)
+	{
+		DSLRuntimeCommand current = get(key);
+
+		if (current == null)
+			return null;
+
+		return update(key, remappingFunction.apply(key, current));
+	}
+
+	@Override
+	public DSLRuntimeCommand compute(String key, BiFunction<? super String, ? super DSLRuntimeCommand, ? extends DSLRuntimeCommand> remappingFunction)
+	{
+		return update(key, remappingFunction.apply(key, get(key)));
+	}
+
+	@Override
+	public DSLRuntimeCommand merge(String key, DSLRuntimeCommand value, BiFunction<? super DSLRuntimeCommand, ? super DSLRuntimeCommand, ? extends DSLRuntimeCommand> remappingFunction)
+	{
+		Objects.requireNonNull(value);
+		DSLRuntimeCommand current = get(key);
+		return update(key, current == null ? value : remappingFunction.apply(current, value));
+	}
+
+	@Override
+	public Set<Map.Entry<String, DSLRuntimeCommand>> entrySet()
+	{
+		return new AbstractSet<Map.Entry<String, DSLRuntimeCommand>>()
+		{
+			@Override
+			public Iterator<Map.Entry<String, DSLRuntimeCommand>> iterator()
+			{
+				return new EntryIterator();
+			}
+
+			@Override
+			public int size()
+			{
+				return DSLCommandMap.this.size();
+			}
+
+			@Override
+			public void clear()
+			{
+				DSLCommandMap.this.clear();
+			}
+		};
+	}
+
+	@Override
+	public Set<String> keySet()
+	{
+		return new AbstractSet<String>()
+		{
+			@Override
+			public Iterator<String> iterator()
+			{
+				EntryIterator entries = new EntryIterator();
+				return new Iterator<String>()
+				{
+					@Override
+					public boolean hasNext()
+					{
+						return entries.hasNext();
+					}
+
+					@Override
+					public String next()
+					{
+						return entries.next().getKey();
+					}
+
+					@Override
+					public void remove()
+					{
+						entries.remove();
+					}
+				};
+			}
+
+			@Override
+			public int size()
+			{
+				return DSLCommandMap.this.size();
+			}
+
+			@Override
+			public boolean contains(Object o)
+			{
+				return containsKey(o);
+			}
+
+			@Override
+			public boolean remove(Object o)
+			{
+				return DSLCommandMap.this.remove(o) != null;
+			}
+
+			@Override
+			public void clear()
+			{
+				DSLCommandMap.this.clear();
+			}
+		};
+	}
+
+	@Override
+	public Collection<DSLRuntimeCommand> values()
+	{
+		return new AbstractCollection<DSLRuntimeCommand>()
+		{
+			@Override
+			public Iterator<DSLRuntimeCommand> iterator()
+			{
+				EntryIterator entries = new EntryIterator();
+				return new Iterator<DSLRuntimeCommand>()
+				{
+					@Override
+					public boolean hasNext()
+					{
+						return entries.hasNext();
+					}
+
+					@Override
+					public DSLRuntimeCommand next()
+					{
+						return entries.next().getValue();
+					}
+
+					@Override
+					public void remove()
+					{
+						entries.remove();
+					}
+				};
+			}
+
+			@Override
+			public int size()
+			{
+				return DSLCommandMap.this.size();
+			}
+
+			@Override
+			public boolean contains(Object o)
+			{
+				return containsValue(o);
+			}
+
+			@Override
+			public void clear()
+			{
+				DSLCommandMap.this.clear();
+			}
+		};
+	}
+
+	@Override
+	public void clear()
+	{
+		if (journal != null)
+		{
+			//recorded last to first, so undoing them puts the commands back in their original order
+			ArrayList<Map.Entry<String, DSLRuntimeCommand>> entries = new ArrayList<>(entrySet());
+
+			for (int i = entries.size() - 1; i >= 0; i--)
+				journal.add(new Change(entries.get(i).getKey(), entries.get(i).getValue()));
+		}
+
+		super.clear();
+		Arrays.fill(slots, null);
+		resolver.clear();
+	}
+
+	/**
+	 * Marks the current commands so they can be restored later, this does not copy anything
+	 *
+	 * @return the DSLRuntimeSnapshot
+	 */
+	public DSLRuntimeSnapshot snapshot()
+	{
+		if (journal == null)
+			journal = new ArrayList<>();
+
+		int position = journal.size();
+		return new DSLRuntimeSnapshot(this, generation, position, position == 0 ? null : journal.get(position - 1));
+	}
+
+	/**
+	 * Undoes every change made since a snapshot was taken. The snapshot stays valid and can be restored again,
+	 * snapshots taken after it can not.
+	 *
+	 * Commands that were removed and are put back are added at the end of the iteration order.
+	 *
+	 * @param snapshot any DSLRuntimeSnapshot taken from this map
+	 */
+	public void restore(DSLRuntimeSnapshot snapshot)
+	{
+		if (!isValid(snapshot))
+			throw new RuntimeException("Snapshot is no longer valid, it was rolled back or cleared");
+
+		ArrayList<Change> journal = this.journal;
+
+		//undoing a change must not record a new one
+		this.journal = null;
+
+		try
+		{
+			while (journal.size() > snapshot.position)
+			{
+				Change change = journal.remove(journal.size() - 1);
+
+				if (change.previous == null)
+					remove(change.key);
+				else
+					put(change.key, change.previous);
+			}
+		}
+		finally
+		{
+			this.journal = journal;
+		}
+	}
+
+	/**
+	 * Returns true if a snapshot can still be restored
+	 *
+	 * @param snapshot any DSLRuntimeSnapshot
+	 * @return true if the snapshot was taken from this map and its changes have not been rolled back or cleared
+	 */
+	public boolean isValid(DSLRuntimeSnapshot snapshot)
+	{
+		if (snapshot.commands != this || snapshot.generation != generation || journal == null || snapshot.position > journal.size())
+			return false;
+
+		return snapshot.position == 0 || journal.get(snapshot.position - 1) == snapshot.last;
+	}
+
+	/**
+	 * Stops recording changes and invalidates every snapshot taken so far
+	 */
+	public void clearSnapshots()
+	{
+		journal = null;
+		generation++;
+	}
+
+	/**
+	 * Returns the amount of changes recorded since the first snapshot that has not been cleared
+	 *
+	 * @return the length of the undo journal
+	 */
+	public int getJournalSize()
+	{
+		return journal == null ? 0 : journal.size();
+	}
+
+	/**
+	 * Returns the command stored under a symbol
+	 *
+	 * @param symbol any symbol from the DSLSymbolTable of this map
+	 * @return the DSLRuntimeCommand, or null if there is none
+	 */
+	public DSLRuntimeCommand get(int symbol)
+	{
+		return symbol >= 0 && symbol < slots.length ? slots[symbol] : null;
+	}
+
+	/**
+	 * Returns the DSLSymbolTable the names of this map are interned into
+	 *
+	 * @return the DSLSymbolTable instance
+	 */
+	public DSLSymbolTable getSymbols()
+	{
+		return symbols;
+	}
+
+	/**
+	 * Returns the DSLVariableResolver caching the variable values of this map
+	 *
+	 * @return the DSLVariableResolver instance
+	 */
+	public DSLVariableResolver getResolver()
+	{
+		return resolver;
+	}
+
+	/**
+	 * Stores the result of a compute or merge, a null result removes the command
+	 */
+	private DSLRuntimeCommand update(String key, DSLRuntimeCommand value)
+	{
+		if (value == null)
+			remove(key);
+		else
+			put(key, value);
+
+		return value;
+	}
+
+	/**
+	 * Records and invalidates a command that was stored under a name
+	 */
+	private void onPut(String key, DSLRuntimeCommand previous, DSLRuntimeCommand value)
+	{
+		int symbol = symbols.intern(key);
+
+		if (journal != null && previous != value)
+			journal.add(new Change(key, previous));
+
+		if (symbol >= slots.length)
+			slots = Arrays.copyOf(slots, Math.max(slots.length * 2, symbol + 1));
+
+		slots[symbol] = value;
+
+		if (previous != value)
+			resolver.invalidate(symbol);
+	}
+
+	/**
+	 * Serializes a LinkedHashMap copy instead of this map, the transient state can't be rebuilt without the DSLSymbolTable
+	 */
+	private Object writeReplace()
+	{
+		return new LinkedHashMap<>(this);
+	}
+
+	/**
+	 * Records and invalidates a command that was removed
+	 */
+	private void onRemove(String key, DSLRuntimeCommand previous)
+	{
+		if (journal != null)
+			journal.add(new Change(key, previous));
+
+		int symbol = symbols.get(key);
+		slots[symbol] = null;
+		resolver.invalidate(symbol);
+	}
+
+	/**
+	 * Iterates over the entries of the map, removing an entry or setting its value goes through the map
+	 */
+	private final class EntryIterator implements Iterator<Map.Entry<String, DSLRuntimeCommand>>
+	{
+		private final Iterator<Map.Entry<String, DSLRuntimeCommand>> iterator = DSLCommandMap.super.entrySet().iterator();
+		private Map.Entry<String, DSLRuntimeCommand> last;
+
+		@Override
+		public boolean hasNext()
+		{
+			return iterator.hasNext();
+		}
+
+		@Override
+		public Map.Entry<String, DSLRuntimeCommand> next()
+		{
+			last = iterator.next();
+			return new CommandEntry(last);
+		}
+
+		@Override
+		public void remove()
+		{
+			if (last == null)
+				throw new IllegalStateException();
+
+			String key = last.getKey();
+			DSLRuntimeCommand previous = last.getValue();
+			iterator.remove();
+			last = null;
+
+			if (previous != null)
+				onRemove(key, previous);
+		}
+	}
+
+	/**
+	 * An entry of the map, setting its value goes through the map
+	 */
+	private final class CommandEntry implements Map.Entry<String, DSLRuntimeCommand>
+	{
+		private final Map.Entry<String, DSLRuntimeCommand> entry;
+
+		private CommandEntry(Map.Entry<String, DSLRuntimeCommand> entry)
+		{
+			this.entry = entry;
+		}
+
+		@Override
+		public String getKey()
+		{
+			return entry.getKey();
+		}
+
+		@Override
+		public DSLRuntimeCommand getValue()
+		{
+			return entry.getValue();
+		}
+
+		@Override
+		public DSLRuntimeCommand setValue(DSLRuntimeCommand value)
+		{
+			//replacing the value of an existing name does not change the structure of the map, so iteration can go on
+			return put(entry.getKey(), value);
+		}
+
+		@Override
+		public boolean equals(Object o)
+		{
+			return entry.equals(o);
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return entry.hashCode();
+		}
+
+		@Override
+		public String toString()
+		{
+			return entry.toString();
+		}
+	}
+
+	/**
+	 * A change to the map, the command that was stored under the name before it
+	 */
+	private static final class Change
+	{
+		private final String key;
+		private final DSLRuntimeCommand previous;
+
+		private Change(String key, DSLRuntimeCommand previous)
+		{
+			this.key = key;
+			this.previous = previous;
+		}
+	}
+}
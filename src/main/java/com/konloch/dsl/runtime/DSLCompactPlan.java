@@ -0,0 +1,215 @@
+package com.konloch.dsl.runtime;
+
+import com.konloch.dsl.DSL;
+import com.konloch.dsl.commands.DSLCommandType;
+import com.konloch.dsl.commands.DSLDefinedCommand;
+import com.konloch.dsl.commands.DSLTypedArguments;
+import com.konloch.dsl.metrics.DSLFlightRecorder;
+import com.konloch.dsl.metrics.DSLMetrics;
+
+import java.util.ArrayList;
+
+/**
+ * The execution plan for a DSLCompactSubscript.
+ *
+ * Instead of one DSLCompiledCommand per line the plan is an index into a small table of the distinct handlers the
+ * subscript calls, one int per command. Running it walks the arrays of the subscript directly and only builds the
+ * parameter Strings of the command being executed, so the plan stays as small as the subscript it runs.
+ *
+ * Consecutive calls to a function defined with a BatchFunctionRunnable are merged into one call, the same as DSLCompiledSubscript.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLCompactPlan
+{
+	private final DSLCompactSubscript subscript;
+	private final DSLSymbolTable symbols;
+	private final char variableDelimiter;
+	private final int size;
+	private final DSLDefinedCommand[] handlers;
+	//the index into handlers for every command, -1 for lines without a handler
+	private final int[] handlerIndex;
+	//typed parameters and literal typed variable values converted when the plan was built, null unless the subscript has any
+	private final DSLTypedArguments[] typedArguments;
+
+	/**
+	 * Binds a compact subscript to the handlers currently defined in the DSL
+	 *
+	 * @param dsl any DSL
+	 * @param subscript the DSLCompactSubscript to bind
+	 */
+	public DSLCompactPlan(DSL dsl, DSLCompactSubscript subscript)
+	{
+		this.subscript = subscript;
+		this.symbols = dsl.getSymbols();
+		this.variableDelimiter = dsl.getVariableDelimiter();
+		this.size = subscript.size();
+		this.handlerIndex = new int[size];
+
+		ArrayList<DSLDefinedCommand> handlers = new ArrayList<>();
+		DSLTypedArguments[] typedArguments = null;
+
+		for (int i = 0; i < size; i++)
+		{
+			int symbol = subscript.getSymbol(i);
+			DSLDefinedCommand definedCommand = symbol == -1 ? null : dsl.getHandler(symbol);
+
+			if (definedCommand == null)
+			{
+				handlerIndex[i] = -1;
+				continue;
+			}
+
+			int index = handlers.indexOf(definedCommand);
+
+			if (index == -1)
+			{
+				index = handlers.size();
+				handlers.add(definedCommand);
+			}
+
+			handlerIndex[i] = index;
+
+			if (definedCommand.getTypedRunnable() != null)
+			{
+				DSLTypedArguments arguments = DSLCompiledTypedCommand.convert(definedCommand, subscript.getParameters(i), variableDelimiter);
+
+				if (arguments == null)
+					continue;
+
+				if (typedArguments == null)
+					typedArguments = new DSLTypedArguments[size];
+
+				typedArguments[i] = arguments;
+			}
+		}
+
+		this.handlers = handlers.toArray(new DSLDefinedCommand[0]);
+		this.typedArguments = typedArguments;
+	}
+
+	/**
+	 * Executes every command in the plan
+	 *
+	 * @param scope the DSLVariableScope to execute against
+	 * @param metrics the DSLMetrics to record the time spent in each command to, or null
+	 */
+	public void run(DSLVariableScope scope, DSLMetrics metrics)
+	{
+		boolean recording = DSLFlightRecorder.isCommandEnabled();
+
+		for (int i = 0; i < size; i++)
+		{
+			int index = handlerIndex[i];
+
+			if (index == -1)
+				continue;
+
+			Object event = recording ? DSLFlightRecorder.beginCommand() : null;
+			int symbol = subscript.getSymbol(i);
+			int first = i;
+
+			try
+			{
+				long start = metrics == null ? 0 : System.nanoTime();
+				i = execute(i, handlers[index], scope);
+
+				if (metrics != null)
+					metrics.recordCommand(symbols.getName(symbol), System.nanoTime() - start);
+			}
+			finally
+			{
+				if (event != null)
+					DSLFlightRecorder.endCommand(event, symbols.getName(symbol), subscript.getParameterCount(first));
+			}
+		}
+	}
+
+	/**
+	 * Executes one command, or one batch starting at it
+	 *
+	 * @return the index of the last command that was executed
+	 */
+	private int execute(int i, DSLDefinedCommand definedCommand, DSLVariableScope scope)
+	{
+		if (definedCommand.getTypedRunnable() != null)
+		{
+			DSLTypedArguments arguments = typedArguments == null ? null : typedArguments[i];
+
+			if (arguments == null)
+				arguments = DSLCompiledTypedCommand.getArguments(definedCommand, subscript.get(i), scope);
+
+			definedCommand.getTypedRunnable().run(arguments);
+			return i;
+		}
+
+		if (definedCommand.getType() == DSLCommandType.VARIABLE)
+		{
+			definedCommand.getVariableRunnable().run(getVariableValue(i, scope));
+			return i;
+		}
+
+		if (definedCommand.getArgumentRunnable() != null)
+		{
+			definedCommand.getArgumentRunnable().run(new DSLArrayArguments(subscript.getParameters(i)));
+			return i;
+		}
+
+		if (definedCommand.getBatchFunctionRunnable() != null)
+			return executeBatch(i, scope);
+
+		definedCommand.getFunctionRunnable().run(subscript.getParameters(i));
+		return i;
+	}
+
+	private int executeBatch(int first, DSLVariableScope scope)
+	{
+		int index = handlerIndex[first];
+		int last = first;
+		int count = 1;
+
+		//lines without a handler do not end a batch
+		for (int i = first + 1; i < size; i++)
+		{
+			if (handlerIndex[i] == -1)
+				continue;
+
+			if (handlerIndex[i] != index)
+				break;
+
+			last = i;
+			count++;
+		}
+
+		String[][] calls = new String[count][];
+
+		for (int i = first, call = 0; i <= last; i++)
+			if (handlerIndex[i] == index)
+				calls[call++] = subscript.getParameters(i);
+
+		handlers[index].getBatchFunctionRunnable().run(calls);
+		return last;
+	}
+
+	private String getVariableValue(int i, DSLVariableScope scope)
+	{
+		String value = subscript.getValue(i);
+
+		//a value without references resolves to itself, only references need the scope
+		if (value.indexOf(variableDelimiter) == -1)
+			return value;
+
+		return scope.getVariableValue(subscript.get(i));
+	}
+
+	/**
+	 * Returns the amount of commands in the plan, including lines without a handler
+	 *
+	 * @return the amount of commands
+	 */
+	public int size()
+	{
+		return size;
+	}
+}
@@ -0,0 +1,318 @@
+package com.konloch.dsl.runtime;
+
+import com.konloch.dsl.commands.DSLCommandType;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A subscript stored as a handful of flat arrays instead of one DSLRuntimeCommand per line.
+ *
+ * Every command is an opcode and the symbol of its name in int arrays. The text of every parameter is appended to
+ * one shared char array, or to a direct buffer outside of the heap, and addressed by its end offset. A subscript
+ * of any length is only a few objects for the GC to trace, no matter how many commands it holds.
+ *
+ * The list can only be appended to. Reading a command builds a new DSLRuntimeCommand for it, compiled subscripts
+ * run straight from the arrays instead.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLCompactSubscript extends DSLSubscriptList
+{
+	private static final int INVALID = 0;
+	private static final int VARIABLE = 1;
+	private static final int FUNCTION = 2;
+	//set on the opcode when the command has no parameter array at all
+	private static final int NO_PARAMETERS = 4;
+
+	private final DSLSymbolTable symbols;
+	private final boolean offHeap;
+	private int size;
+	private int[] opcodes = new int[16];
+	private int[] names = new int[16];
+	//the index of the first parameter of every command, the entry after the last command is the parameter count
+	private int[] firstParameter = new int[17];
+	private int[] parameterEnd = new int[16];
+	private char[] chars;
+	private CharBuffer buffer;
+	private int textLength;
+
+	/**
+	 * Constructs a new empty DSLCompactSubscript
+	 *
+	 * @param symbols the DSLSymbolTable the command names are interned into
+	 * @param offHeap true to keep the text in a direct buffer outside of the heap
+	 */
+	public DSLCompactSubscript(DSLSymbolTable symbols, boolean offHeap)
+	{
+		this.symbols = symbols;
+		this.offHeap = offHeap;
+
+		if (offHeap)
+			buffer = ByteBuffer.allocateDirect(256 * 2).asCharBuffer();
+		else
+			chars = new char[256];
+	}
+
+	/**
+	 * Copies a list of commands into a new DSLCompactSubscript sized to fit them exactly
+	 *
+	 * @param symbols the DSLSymbolTable the command names are interned into
+	 * @param commands the DSLRuntimeCommands to copy
+	 * @param offHeap true to keep the text in a direct buffer outside of the heap
+	 * @return the new DSLCompactSubscript
+	 */
+	public static DSLCompactSubscript of(DSLSymbolTable symbols, List<DSLRuntimeCommand> commands, boolean offHeap)
+	{
+		DSLCompactSubscript subscript = new DSLCompactSubscript(symbols, offHeap);
+
+		for (DSLRuntimeCommand command : commands)
+			subscript.add(command);
+
+		subscript.trimToSize();
+		return subscript;
+	}
+
+	@Override
+	public void add(int index, DSLRuntimeCommand command)
+	{
+		if (index != size)
+			throw new UnsupportedOperationException("Commands can only be appended to a compact subscript");
+
+		if (size == opcodes.length)
+		{
+			int capacity = size * 2;
+			opcodes = Arrays.copyOf(opcodes, capacity);
+			names = Arrays.copyOf(names, capacity);
+			firstParameter = Arrays.copyOf(firstParameter, capacity + 1);
+		}
+
+		int parameterCount = firstParameter[size];
+
+		if (command == null)
+		{
+			opcodes[size] = INVALID;
+			names[size] = -1;
+		}
+		else
+		{
+			String[] parameters = command.getParameters();
+			int opcode = command.getType() == DSLCommandType.VARIABLE ? VARIABLE : FUNCTION;
+
+			if (parameters == null)
+			{
+				opcode |= NO_PARAMETERS;
+			}
+			else
+			{
+				for (String parameter : parameters)
+				{
+					append(parameter);
+
+					if (parameterCount == parameterEnd.length)
+						parameterEnd = Arrays.copyOf(parameterEnd, parameterCount * 2);
+
+					parameterEnd[parameterCount++] = textLength;
+				}
+			}
+
+			opcodes[size] = opcode;
+			names[size] = command.getSymbol(symbols);
+		}
+
+		firstParameter[size + 1] = parameterCount;
+		size++;
+		modCount++;
+	}
+
+	@Override
+	public DSLRuntimeCommand get(int index)
+	{
+		checkIndex(index);
+
+		DSLCommandType type = getType(index);
+
+		if (type == null)
+			return null;
+
+		return new DSLRuntimeCommand(type, symbols.getName(names[index]), getParameters(index), symbols);
+	}
+
+	@Override
+	public int size()
+	{
+		return size;
+	}
+
+	/**
+	 * Returns the type of a command
+	 *
+	 * @param index the index of the command
+	 * @return the DSLCommandType, or null if the line is not a valid command
+	 */
+	public DSLCommandType getType(int index)
+	{
+		int opcode = opcodes[index] & ~NO_PARAMETERS;
+
+		if (opcode == VARIABLE)
+			return DSLCommandType.VARIABLE;
+
+		if (opcode == FUNCTION)
+			return DSLCommandType.FUNCTION;
+
+		return null;
+	}
+
+	/**
+	 * Returns the symbol of the name of a command
+	 *
+	 * @param index the index of the command
+	 * @return the symbol, or -1 if the line is not a valid command
+	 */
+	public int getSymbol(int index)
+	{
+		return names[index];
+	}
+
+	/**
+	 * Returns the parameters of a command, a new array of new Strings is built on every call
+	 *
+	 * @param index the index of the command
+	 * @return the String Array parameters, or null if the command has none
+	 */
+	public String[] getParameters(int index)
+	{
+		if ((opcodes[index] & NO_PARAMETERS) != 0)
+			return null;
+
+		int first = firstParameter[index];
+		String[] parameters = new String[firstParameter[index + 1] - first];
+
+		for (int i = 0; i < parameters.length; i++)
+			parameters[i] = getParameter(first + i);
+
+		return parameters;
+	}
+
+	/**
+	 * Returns the amount of parameters of a command
+	 *
+	 * @param index the index of the command
+	 * @return the amount of parameters, 0 if the command has none
+	 */
+	public int getParameterCount(int index)
+	{
+		return firstParameter[index + 1] - firstParameter[index];
+	}
+
+	/**
+	 * Returns the first parameter of a command, the value of a variable
+	 *
+	 * @param index the index of the command
+	 * @return the first parameter, or an empty String if the command has none
+	 */
+	public String getValue(int index)
+	{
+		int first = firstParameter[index];
+
+		if (first == firstParameter[index + 1])
+			return "";
+
+		return getParameter(first);
+	}
+
+	/**
+	 * Returns true if the text is kept in a direct buffer outside of the heap
+	 *
+	 * @return true if the text is off-heap
+	 */
+	public boolean isOffHeap()
+	{
+		return offHeap;
+	}
+
+	/**
+	 * Returns the approximate amount of bytes held by the arrays and the text, not counting the symbol table
+	 *
+	 * @return the footprint in bytes
+	 */
+	public long getFootprint()
+	{
+		long ints = opcodes.length + names.length + firstParameter.length + parameterEnd.length;
+		long text = offHeap ? buffer.capacity() : chars.length;
+		return ints * 4 + text * 2;
+	}
+
+	/**
+	 * Shrinks the arrays and the text to the commands they hold
+	 */
+	public void trimToSize()
+	{
+		int capacity = Math.max(1, size);
+		opcodes = Arrays.copyOf(opcodes, capacity);
+		names = Arrays.copyOf(names, capacity);
+		firstParameter = Arrays.copyOf(firstParameter, capacity + 1);
+		parameterEnd = Arrays.copyOf(parameterEnd, Math.max(1, firstParameter[size]));
+		resize(Math.max(1, textLength));
+	}
+
+	private String getParameter(int parameter)
+	{
+		int start = parameter == 0 ? 0 : parameterEnd[parameter - 1];
+		int end = parameterEnd[parameter];
+
+		if (!offHeap)
+			return new String(chars, start, end - start);
+
+		char[] text = new char[end - start];
+		for (int i = 0; i < text.length; i++)
+			text[i] = buffer.get(start + i);
+
+		return new String(text);
+	}
+
+	private void append(String text)
+	{
+		int length = textLength + text.length();
+		int capacity = offHeap ? buffer.capacity() : chars.length;
+
+		if (length > capacity)
+			resize(Math.max(capacity * 2, length));
+
+		if (offHeap)
+		{
+			for (int i = 0; i < text.length(); i++)
+				buffer.put(textLength + i, text.charAt(i));
+		}
+		else
+		{
+			text.getChars(0, text.length(), chars, textLength);
+		}
+
+		textLength = length;
+	}
+
+	private void resize(int capacity)
+	{
+		if (!offHeap)
+		{
+			chars = Arrays.copyOf(chars, capacity);
+			return;
+		}
+
+		CharBuffer resized = ByteBuffer.allocateDirect(capacity * 2).asCharBuffer();
+		for (int i = 0; i < textLength; i++)
+			resized.put(i, buffer.get(i));
+
+		buffer = resized;
+	}
+
+	private void checkIndex(int index)
+	{
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+	}
+}
@@ -0,0 +1,35 @@
+package com.konloch.dsl.runtime;
+
+import com.konloch.dsl.commands.ArgumentRunnable;
+import com.konloch.dsl.commands.DSLArguments;
+
+/**
+ * A function call that has been bound to its ArgumentRunnable, the DSLArguments view is created once.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLCompiledArgumentFunction extends DSLCompiledCommand
+{
+	private final ArgumentRunnable argumentRunnable;
+	private final DSLArguments arguments;
+
+	/**
+	 * Constructs a new DSLCompiledArgumentFunction
+	 *
+	 * @param command the DSLRuntimeCommand this was compiled from
+	 * @param argumentRunnable the ArgumentRunnable to call
+	 */
+	public DSLCompiledArgumentFunction(DSLRuntimeCommand command, ArgumentRunnable argumentRunnable)
+	{
+		super(command);
+		this.argumentRunnable = argumentRunnable;
+		this.arguments = new DSLArrayArguments(command.getParameters());
+	}
+
+	@Override
+	public void execute(DSLVariableScope scope)
+	{
+		argumentRunnable.run(arguments);
+	}
+}
@@ -0,0 +1,51 @@
+package com.konloch.dsl.runtime;
+
+import com.konloch.dsl.commands.BatchFunctionRunnable;
+
+import java.util.List;
+
+/**
+ * Consecutive calls to the same function that have been bound to its BatchFunctionRunnable as a single batch.
+ *
+ * DSLMetrics record each batch as a single call.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLCompiledBatch extends DSLCompiledCommand
+{
+	private final BatchFunctionRunnable batchFunctionRunnable;
+	private final String[][] calls;
+
+	/**
+	 * Constructs a new DSLCompiledBatch
+	 *
+	 * @param commands the consecutive DSLRuntimeCommands this was compiled from, this may not be empty
+	 * @param batchFunctionRunnable the BatchFunctionRunnable to call
+	 */
+	public DSLCompiledBatch(List<DSLRuntimeCommand> commands, BatchFunctionRunnable batchFunctionRunnable)
+	{
+		super(commands.get(0));
+		this.batchFunctionRunnable = batchFunctionRunnable;
+		this.calls = new String[commands.size()][];
+
+		for (int i = 0; i < calls.length; i++)
+			calls[i] = commands.get(i).getParameters();
+	}
+
+	@Override
+	public void execute(DSLVariableScope scope)
+	{
+		batchFunctionRunnable.run(calls);
+	}
+
+	/**
+	 * Returns the parameters of each call in the batch
+	 *
+	 * @return the parameters as a String Array for each call
+	 */
+	public String[][] getCalls()
+	{
+		return calls;
+	}
+}
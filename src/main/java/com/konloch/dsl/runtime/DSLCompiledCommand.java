@@ -0,0 +1,79 @@
+package com.konloch.dsl.runtime;
+
+import com.konloch.dsl.commands.DSLDefinedCommand;
+
+import java.util.Collections;
+
+/**
+ * A DSLCompiledCommand is a DSLRuntimeCommand that has already been bound to its handler.
+ *
+ * The handler lookup and the variable / function decision are both made once when the command is compiled.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public abstract class DSLCompiledCommand
+{
+	protected final DSLRuntimeCommand command;
+
+	/**
+	 * Constructs a new DSLCompiledCommand
+	 *
+	 * @param command the DSLRuntimeCommand this was compiled from
+	 */
+	protected DSLCompiledCommand(DSLRuntimeCommand command)
+	{
+		this.command = command;
+	}
+
+	/**
+	 * Executes the bound handler
+	 *
+	 * @param scope the DSLVariableScope to execute against
+	 */
+	public abstract void execute(DSLVariableScope scope);
+
+	/**
+	 * Returns the DSLRuntimeCommand this was compiled from
+	 *
+	 * @return the source DSLRuntimeCommand
+	 */
+	public DSLRuntimeCommand getCommand()
+	{
+		return command;
+	}
+
+	/**
+	 * Binds a DSLRuntimeCommand to its DSLDefinedCommand handler.
+	 *
+	 * @param definedCommand the DSLDefinedCommand handling the runtime command, or null if it has not been defined
+	 * @param command any DSLRuntimeCommand
+	 * @param variableDelimiter the variable delimiter
+	 * @return the DSLCompiledCommand, or null if there is nothing to execute
+	 */
+	public static DSLCompiledCommand compile(DSLDefinedCommand definedCommand, DSLRuntimeCommand command, char variableDelimiter)
+	{
+		if(definedCommand == null || command == null)
+			return null;
+
+		if(definedCommand.getTypedRunnable() != null)
+			return new DSLCompiledTypedCommand(definedCommand, command, variableDelimiter);
+
+		switch(definedCommand.getType())
+		{
+			case VARIABLE:
+				return new DSLCompiledVariable(command, definedCommand.getVariableRunnable());
+
+			case FUNCTION:
+				if(definedCommand.getArgumentRunnable() != null)
+					return new DSLCompiledArgumentFunction(command, definedCommand.getArgumentRunnable());
+
+				if(definedCommand.getBatchFunctionRunnable() != null)
+					return new DSLCompiledBatch(Collections.singletonList(command), definedCommand.getBatchFunctionRunnable());
+
+				return new DSLCompiledFunction(command, definedCommand.getFunctionRunnable());
+		}
+
+		return null;
+	}
+}
@@ -0,0 +1,54 @@
+package com.konloch.dsl.runtime;
+
+import com.konloch.dsl.commands.FunctionRunnable;
+
+/**
+ * A function call that has been bound to its FunctionRunnable.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLCompiledFunction extends DSLCompiledCommand
+{
+	private final FunctionRunnable functionRunnable;
+	private final String[] parameters;
+
+	/**
+	 * Constructs a new DSLCompiledFunction
+	 *
+	 * @param command the DSLRuntimeCommand this was compiled from
+	 * @param functionRunnable the FunctionRunnable to call
+	 */
+	public DSLCompiledFunction(DSLRuntimeCommand command, FunctionRunnable functionRunnable)
+	{
+		super(command);
+		this.functionRunnable = functionRunnable;
+		this.parameters = command.getParameters();
+	}
+
+	@Override
+	public void execute(DSLVariableScope scope)
+	{
+		functionRunnable.run(parameters);
+	}
+
+	/**
+	 * Returns the bound FunctionRunnable
+	 *
+	 * @return the FunctionRunnable instance
+	 */
+	public FunctionRunnable getFunctionRunnable()
+	{
+		return functionRunnable;
+	}
+
+	/**
+	 * Returns the parameters passed on every call
+	 *
+	 * @return the String Array parameters
+	 */
+	public String[] getParameters()
+	{
+		return parameters;
+	}
+}
@@ -0,0 +1,253 @@
+package com.konloch.dsl.runtime;
+
+import com.konloch.dsl.DSL;
+import com.konloch.dsl.commands.DSLDefinedCommand;
+import com.konloch.dsl.metrics.DSLFlightRecorder;
+import com.konloch.dsl.metrics.DSLMetrics;
+
+import java.lang.invoke.MethodHandle;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DSLCompiledSubscript is the execution plan for a subscript.
+ *
+ * Every DSLRuntimeCommand is bound to its handler once, commands without a handler are dropped from the plan.
+ * Consecutive calls to a function defined with a BatchFunctionRunnable are merged into a single DSLCompiledBatch.
+ *
+ * With the METHOD_HANDLE backend the plan is also composed into a single MethodHandle, which is what run invokes.
+ * Runs that record metrics or command events time every command, so they always go through the plan one command at a time.
+ *
+ * A DSLCompactSubscript is not expanded into compiled commands, it is bound to a DSLCompactPlan that runs from its arrays.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLCompiledSubscript
+{
+	private final String name;
+	private final List<DSLRuntimeCommand> source;
+	private final int sourceSize;
+	private final int sourceModifications;
+	private final DSLCompiledCommand[] commands;
+	private final MethodHandle handle;
+	private final DSLCompactPlan compact;
+
+	/**
+	 * Compiles a subscript against the handlers currently defined in the DSL
+	 *
+	 * @param dsl any DSL
+	 * @param name any String as the subscript name
+	 * @param source the DSLRuntimeCommand list for the subscript
+	 */
+	public DSLCompiledSubscript(DSL dsl, String name, List<DSLRuntimeCommand> source)
+	{
+		this.name = name;
+		this.source = source;
+		this.sourceSize = source.size();
+		this.sourceModifications = source instanceof DSLSubscriptList ? ((DSLSubscriptList) source).getModificationCount() : 0;
+
+		if (source instanceof DSLCompactSubscript)
+		{
+			this.commands = new DSLCompiledCommand[0];
+			this.handle = null;
+			this.compact = new DSLCompactPlan(dsl, (DSLCompactSubscript) source);
+			return;
+		}
+
+		ArrayList<DSLCompiledCommand> compiled = new ArrayList<>(sourceSize);
+		ArrayList<DSLRuntimeCommand> batch = new ArrayList<>();
+		DSLDefinedCommand batchCommand = null;
+		
+		for(DSLRuntimeCommand runtimeCommand : source)
+		{
+			if(runtimeCommand == null)
+				continue;
+
+			DSLDefinedCommand definedCommand = dsl.getHandler(runtimeCommand.getSymbol(dsl.getSymbols()));
+
+			if(definedCommand == null)
+				continue;
+
+			//any other command ends the current batch
+			if(definedCommand != batchCommand && !batch.isEmpty())
+			{
+				compiled.add(new DSLCompiledBatch(batch, batchCommand.getBatchFunctionRunnable()));
+				batch.clear();
+			}
+
+			if(definedCommand.getBatchFunctionRunnable() != null)
+			{
+				batchCommand = definedCommand;
+				batch.add(runtimeCommand);
+				continue;
+			}
+
+			batchCommand = null;
+			compiled.add(DSLCompiledCommand.compile(definedCommand, runtimeCommand, dsl.getVariableDelimiter()));
+		}
+
+		if(!batch.isEmpty())
+			compiled.add(new DSLCompiledBatch(batch, batchCommand.getBatchFunctionRunnable()));
+
+		this.commands = compiled.toArray(new DSLCompiledCommand[0]);
+		this.handle = dsl.getBackend() == DSLBackend.METHOD_HANDLE ? DSLMethodHandleCompiler.compile(commands, dsl.getVariableDelimiter()) : null;
+		this.compact = null;
+	}
+
+	/**
+	 * Executes every command in the plan
+	 *
+	 * @param scope the DSLVariableScope to execute against
+	 */
+	public void run(DSLVariableScope scope)
+	{
+		if (DSLFlightRecorder.isCommandEnabled())
+		{
+			runTimed(scope, null);
+			return;
+		}
+		
+		if (compact != null)
+		{
+			compact.run(scope, null);
+			return;
+		}
+		
+		if (handle != null)
+		{
+			invoke(scope);
+			return;
+		}
+		
+		for (DSLCompiledCommand command : commands)
+			command.execute(scope);
+	}
+
+	/**
+	 * Executes every command in the plan, recording the time spent in each command and in the whole subscript
+	 *
+	 * @param scope the DSLVariableScope to execute against
+	 * @param metrics the DSLMetrics to record to
+	 */
+	public void run(DSLVariableScope scope, DSLMetrics metrics)
+	{
+		long start = System.nanoTime();
+		runTimed(scope, metrics);
+		metrics.recordSubscript(name, System.nanoTime() - start);
+	}
+	
+	/**
+	 * Executes every command in the plan one at a time, recording each to the metrics if there are any and as a command event
+	 */
+	private void runTimed(DSLVariableScope scope, DSLMetrics metrics)
+	{
+		if (compact != null)
+		{
+			compact.run(scope, metrics);
+			return;
+		}
+		
+		for (DSLCompiledCommand command : commands)
+		{
+			Object event = DSLFlightRecorder.beginCommand();
+			
+			try
+			{
+				long commandStart = metrics == null ? 0 : System.nanoTime();
+				command.execute(scope);
+				
+				if (metrics != null)
+					metrics.recordCommand(command.getCommand().getName(), System.nanoTime() - commandStart);
+			}
+			finally
+			{
+				if (event != null)
+				{
+					String[] parameters = command.getCommand().getParameters();
+					DSLFlightRecorder.endCommand(event, command.getCommand().getName(), parameters == null ? 0 : parameters.length);
+				}
+			}
+		}
+	}
+
+	private void invoke(DSLVariableScope scope)
+	{
+		try
+		{
+			handle.invokeExact(scope);
+		}
+		catch (RuntimeException | Error e)
+		{
+			throw e;
+		}
+		catch (Throwable t)
+		{
+			throw new RuntimeException("Subscript " + name + " failed", t);
+		}
+	}
+
+	/**
+	 * Returns true if this plan was compiled from the supplied subscript list and the list has not changed since.
+	 *
+	 * Lists that are not a DSLSubscriptList don't count their changes, for those only the size is compared.
+	 *
+	 * @param source the DSLRuntimeCommand list for the subscript
+	 * @return true if the plan is still valid for the list
+	 */
+	public boolean isCompiledFrom(List<DSLRuntimeCommand> source)
+	{
+		return this.source == source && sourceSize == source.size()
+				&& (!(source instanceof DSLSubscriptList) || sourceModifications == ((DSLSubscriptList) source).getModificationCount());
+	}
+
+	/**
+	 * Returns the amount of commands in the subscript this plan was compiled from
+	 *
+	 * @return the amount of commands, including lines that are not valid commands
+	 */
+	public int size()
+	{
+		return sourceSize;
+	}
+
+	/**
+	 * Returns the subscript name
+	 *
+	 * @return the subscript name as a String
+	 */
+	public String getName()
+	{
+		return name;
+	}
+
+	/**
+	 * Returns the bound commands
+	 *
+	 * @return the DSLCompiledCommand Array, empty if the subscript is compact
+	 */
+	public DSLCompiledCommand[] getCommands()
+	{
+		return commands;
+	}
+
+	/**
+	 * Returns the plan composed into a single MethodHandle of type (DSLVariableScope)void
+	 *
+	 * @return the MethodHandle, or null if the subscript was compiled for the INTERPRETER backend
+	 */
+	public MethodHandle getMethodHandle()
+	{
+		return handle;
+	}
+
+	/**
+	 * Returns the plan a compact subscript runs from
+	 *
+	 * @return the DSLCompactPlan, or null if the subscript is not a DSLCompactSubscript
+	 */
+	public DSLCompactPlan getCompactPlan()
+	{
+		return compact;
+	}
+}
@@ -0,0 +1,98 @@
+package com.konloch.dsl.runtime;
+
+import com.konloch.dsl.commands.DSLCommandType;
+import com.konloch.dsl.commands.DSLDefinedCommand;
+import com.konloch.dsl.commands.DSLParameterType;
+import com.konloch.dsl.commands.DSLTypedArguments;
+import com.konloch.dsl.commands.TypedRunnable;
+
+/**
+ * A variable or function with a declared signature that has been bound to its TypedRunnable.
+ *
+ * The parameters are converted once when the command is compiled, literal variable values included. Variable values
+ * that reference other variables can only be converted once they are resolved, so those are converted every time they run.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLCompiledTypedCommand extends DSLCompiledCommand
+{
+	private final String name;
+	private final TypedRunnable typedRunnable;
+	private final DSLParameterType[] signature;
+	private final DSLTypedArguments arguments;
+
+	/**
+	 * Constructs a new DSLCompiledTypedCommand. Throws a Runtime Exception if the parameters do not match the signature.
+	 *
+	 * @param definedCommand the DSLDefinedCommand handling the runtime command
+	 * @param command the DSLRuntimeCommand this was compiled from
+	 * @param variableDelimiter the variable delimiter, values containing it are converted when they run
+	 */
+	public DSLCompiledTypedCommand(DSLDefinedCommand definedCommand, DSLRuntimeCommand command, char variableDelimiter)
+	{
+		super(command);
+		this.name = definedCommand.getName();
+		this.typedRunnable = definedCommand.getTypedRunnable();
+		this.signature = definedCommand.getSignature();
+
+		DSLTypedArguments arguments = command.getTypedArguments();
+
+		if (arguments == null || arguments.getSignature() != signature)
+			arguments = convert(definedCommand, command.getParameters(), variableDelimiter);
+
+		this.arguments = arguments;
+	}
+
+	@Override
+	public void execute(DSLVariableScope scope)
+	{
+		DSLTypedArguments arguments = this.arguments;
+
+		if (arguments == null)
+			arguments = DSLTypedArguments.parse(name, signature, new String[]{scope.getVariableValue(command)});
+
+		typedRunnable.run(arguments);
+	}
+
+	/**
+	 * Converts the parameters of a command the same way the parser does. Throws a Runtime Exception if they do not
+	 * match the signature.
+	 *
+	 * @param definedCommand the DSLDefinedCommand handling the command
+	 * @param parameters the String Array parameters of the command
+	 * @param variableDelimiter the variable delimiter
+	 * @return the DSLTypedArguments, or null for a variable value that can only be converted once it is resolved
+	 */
+	public static DSLTypedArguments convert(DSLDefinedCommand definedCommand, String[] parameters, char variableDelimiter)
+	{
+		if (definedCommand.getType() == DSLCommandType.FUNCTION)
+			return DSLTypedArguments.parse(definedCommand.getName(), definedCommand.getSignature(), parameters);
+
+		if (parameters == null || parameters.length == 0 || parameters[0].indexOf(variableDelimiter) != -1)
+			return null;
+
+		return DSLTypedArguments.parse(definedCommand.getName(), definedCommand.getSignature(), new String[]{parameters[0]});
+	}
+
+	/**
+	 * Returns the converted parameters of a runtime command, converting them if the parser could not.
+	 *
+	 * @param definedCommand the DSLDefinedCommand handling the runtime command
+	 * @param command any DSLRuntimeCommand
+	 * @param scope the DSLVariableScope variable values are resolved from
+	 * @return the DSLTypedArguments
+	 */
+	public static DSLTypedArguments getArguments(DSLDefinedCommand definedCommand, DSLRuntimeCommand command, DSLVariableScope scope)
+	{
+		DSLTypedArguments arguments = command.getTypedArguments();
+
+		if (arguments != null && arguments.getSignature() == definedCommand.getSignature())
+			return arguments;
+
+		if (definedCommand.getType() == DSLCommandType.VARIABLE)
+			return DSLTypedArguments.parse(definedCommand.getName(), definedCommand.getSignature(), new String[]{scope.getVariableValue(command)});
+
+		return DSLTypedArguments.parse(definedCommand.getName(), definedCommand.getSignature(), command.getParameters());
+	}
+}
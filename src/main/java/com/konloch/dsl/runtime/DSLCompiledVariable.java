@@ -0,0 +1,42 @@
+package com.konloch.dsl.runtime;
+
+import com.konloch.dsl.commands.VariableRunnable;
+
+/**
+ * A variable set value that has been bound to its VariableRunnable.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLCompiledVariable extends DSLCompiledCommand
+{
+	private final VariableRunnable variableRunnable;
+
+	/**
+	 * Constructs a new DSLCompiledVariable
+	 *
+	 * @param command the DSLRuntimeCommand this was compiled from
+	 * @param variableRunnable the VariableRunnable to call
+	 */
+	public DSLCompiledVariable(DSLRuntimeCommand command, VariableRunnable variableRunnable)
+	{
+		super(command);
+		this.variableRunnable = variableRunnable;
+	}
+
+	@Override
+	public void execute(DSLVariableScope scope)
+	{
+		variableRunnable.run(scope.getVariableValue(command));
+	}
+
+	/**
+	 * Returns the bound VariableRunnable
+	 *
+	 * @return the VariableRunnable instance
+	 */
+	public VariableRunnable getVariableRunnable()
+	{
+		return variableRunnable;
+	}
+}
@@ -0,0 +1,464 @@
+package com.konloch.dsl.runtime;
+
+import com.konloch.dsl.commands.DSLCommandType;
+import com.konloch.dsl.metrics.DSLFlightRecorder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A DSLContext is the variable state a DSLProgram executes against.
+ *
+ * The context is a copy-on-write layer over the variables of the program. Variables it has not set are read from the
+ * program along with their already resolved values, so an unused context costs only a few fields no matter how large
+ * the program is. Only the variables the context sets or removes are stored, together with the values that depend on them.
+ *
+ * Variables the program doesn't know are kept in a map of their own, so names that only live as long as a context,
+ * like session keys, are not added to the symbol table every program of the DSL shares.
+ *
+ * A context is lightweight and is not thread safe, each thread should use its own.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLContext implements DSLVariableScope
+{
+	//marks a variable of the program that this context has removed
+	private static final DSLRuntimeCommand REMOVED = new DSLRuntimeCommand(DSLCommandType.VARIABLE, "", null);
+
+	private final DSLProgram program;
+	private final DSLSymbolTable symbols;
+	private final char variableDelimiter;
+
+	//the variables this context has set or removed
+	private DSLPersistentSlots<DSLRuntimeCommand> overrides = DSLPersistentSlots.empty();
+	//the variables of the program whose value depends on an override
+	private DSLPersistentSlots<Boolean> dirty = DSLPersistentSlots.empty();
+	//the variables this context has set that the program doesn't know, copied before they change if a snapshot shares them
+	private HashMap<String, DSLRuntimeCommand> locals;
+	private boolean localsShared;
+	//the keys local variables are resolved under, -2 and below so they never collide with a symbol
+	private HashMap<String, Integer> localKeys;
+	private ArrayList<String> localNames;
+	//resolved values of overrides, dirty variables and local variables
+	private HashMap<Integer, String> resolved;
+	private final ArrayList<Integer> resolving = new ArrayList<>(0);
+
+	/**
+	 * Construct a new instance of the DSLContext
+	 *
+	 * @param program any DSLProgram
+	 */
+	public DSLContext(DSLProgram program)
+	{
+		this.program = program;
+		this.symbols = program.getSymbols();
+		this.variableDelimiter = program.getVariableDelimiter();
+	}
+
+	/**
+	 * Runs a subscript associated with a String name. Throws a Runtime Exception if the Subscript doesn't exist.
+	 *
+	 * @param name any String as the subscript name
+	 * @return this instance for method chaining
+	 */
+	public DSLContext run(String name)
+	{
+		DSLCompiledSubscript subscript = program.getSubscript(name);
+		Object event = DSLFlightRecorder.beginSubscript();
+
+		try
+		{
+			if (program.getMetrics() == null)
+				subscript.run(this);
+			else
+				subscript.run(this, program.getMetrics());
+		}
+		finally
+		{
+			if (event != null)
+				DSLFlightRecorder.endSubscript(event, name, subscript.size());
+		}
+
+		return this;
+	}
+
+	/**
+	 * Sets a variable for this context only.
+	 *
+	 * @param name any String as the variable name
+	 * @param value any String as the variable value
+	 * @return this instance for method chaining
+	 */
+	public DSLContext setVar(String name, String value)
+	{
+		int symbol = symbols.get(name);
+
+		if (isKnown(symbol))
+			override(symbol, new DSLRuntimeCommand(DSLCommandType.VARIABLE, name, new String[]{value}, symbols));
+		else
+			setLocal(name, new DSLRuntimeCommand(DSLCommandType.VARIABLE, name, new String[]{value}));
+
+		return this;
+	}
+
+	/**
+	 * Removes a variable from this context only.
+	 *
+	 * @param name any String as the variable name
+	 * @return this instance for method chaining
+	 */
+	public DSLContext removeVar(String name)
+	{
+		int symbol = symbols.get(name);
+
+		if (isKnown(symbol))
+			override(symbol, REMOVED);
+		else if (locals != null && locals.containsKey(name))
+			setLocal(name, null);
+
+		return this;
+	}
+
+	/**
+	 * Returns the current variable state of this context, nothing is copied
+	 *
+	 * @return the DSLContextSnapshot
+	 */
+	public DSLContextSnapshot snapshot()
+	{
+		if (locals != null)
+			localsShared = true;
+
+		return new DSLContextSnapshot(program, overrides, dirty, locals);
+	}
+
+	/**
+	 * Replaces the variable state of this context with a snapshot. Throws a Runtime Exception if the snapshot is of
+	 * a context for another program.
+	 *
+	 * Any snapshot of a context for the same program can be restored, including one taken from a parent or a fork.
+	 *
+	 * @param snapshot any DSLContextSnapshot
+	 * @return this instance for method chaining
+	 */
+	public DSLContext restore(DSLContextSnapshot snapshot)
+	{
+		if (snapshot.program != program)
+			throw new RuntimeException("Snapshot was taken from a context for another program");
+
+		overrides = snapshot.overrides;
+		dirty = snapshot.dirty;
+		locals = snapshot.locals;
+		localsShared = true;
+		resolved = null;
+		return this;
+	}
+
+	/**
+	 * Creates a child context that starts with the variable state of this one. The two share every unchanged
+	 * variable, changes made to either afterwards are not seen by the other.
+	 *
+	 * @return the new DSLContext
+	 */
+	public DSLContext fork()
+	{
+		return new DSLContext(program).restore(snapshot());
+	}
+
+	/**
+	 * Returns the runtime command stored under a name in this context
+	 *
+	 * @param name any String as the variable name
+	 * @return the DSLRuntimeCommand, or null if there is none
+	 */
+	public DSLRuntimeCommand getVar(String name)
+	{
+		int symbol = symbols.get(name);
+		return isKnown(symbol) ? get(symbol) : getLocal(name);
+	}
+
+	@Override
+	public String getVariableValue(DSLRuntimeCommand runtimeCommand)
+	{
+		Object event = DSLFlightRecorder.beginVariable();
+		int symbol = runtimeCommand.findSymbol(symbols);
+		String value = null;
+
+		try
+		{
+			if (isKnown(symbol))
+				value = get(symbol) == runtimeCommand ? resolve(symbol, runtimeCommand) : expand(runtimeCommand);
+			else
+				value = getLocal(runtimeCommand.getName()) == runtimeCommand ? resolve(localKey(runtimeCommand.getName()), runtimeCommand) : expand(runtimeCommand);
+		}
+		finally
+		{
+			//a value that failed to resolve is reported as empty
+			if (event != null)
+				DSLFlightRecorder.endVariable(event, runtimeCommand.getName(), value == null ? 0 : value.length());
+		}
+
+		return value;
+	}
+
+	/**
+	 * Returns a copy of the runtime commands of this context, the variables of the program with the changes made by this context
+	 *
+	 * @return the commands in the form of an unmodifiable Map
+	 */
+	public Map<String, DSLRuntimeCommand> getCommands()
+	{
+		LinkedHashMap<String, DSLRuntimeCommand> commands = new LinkedHashMap<>(program.getVariables());
+
+		overrides.forEach((command, symbol) ->
+		{
+			if (command == REMOVED)
+				commands.remove(symbols.getName(symbol));
+			else
+				commands.put(symbols.getName(symbol), command);
+		});
+
+		if (locals != null)
+			commands.putAll(locals);
+
+		return Collections.unmodifiableMap(commands);
+	}
+
+	/**
+	 * Returns the amount of variables this context has set or removed, this is all the variable state it stores
+	 *
+	 * @return the amount of overridden variables
+	 */
+	public int getOverrideCount()
+	{
+		return overrides.size() + (locals == null ? 0 : locals.size());
+	}
+
+	/**
+	 * Returns the DSLProgram this context executes
+	 *
+	 * @return the DSLProgram instance
+	 */
+	public DSLProgram getProgram()
+	{
+		return program;
+	}
+
+	private DSLRuntimeCommand get(int symbol)
+	{
+		DSLRuntimeCommand override = overrides.get(symbol);
+
+		if (override != null)
+			return override == REMOVED ? null : override;
+
+		return program.getVariable(symbol);
+	}
+
+	/**
+	 * Returns true if the program has a variable under a symbol or a variable that references it
+	 */
+	private boolean isKnown(int symbol)
+	{
+		return program.getVariable(symbol) != null || program.getDependents(symbol) != null;
+	}
+
+	private DSLRuntimeCommand getLocal(String name)
+	{
+		return locals == null ? null : locals.get(name);
+	}
+
+	/**
+	 * Sets or, with a null command, removes a variable the program doesn't know
+	 */
+	private void setLocal(String name, DSLRuntimeCommand command)
+	{
+		if (locals == null)
+			locals = new HashMap<>();
+		else if (localsShared)
+			locals = new HashMap<>(locals);
+
+		localsShared = false;
+
+		if (command == null)
+			locals.remove(name);
+		else
+			locals.put(name, command);
+
+		//other local variables may reference it
+		resolved = null;
+	}
+
+	private int localKey(String name)
+	{
+		if (localKeys == null)
+		{
+			localKeys = new HashMap<>();
+			localNames = new ArrayList<>();
+		}
+
+		Integer key = localKeys.get(name);
+
+		if (key != null)
+			return key;
+
+		localNames.add(name);
+		localKeys.put(name, -1 - localNames.size());
+		return -1 - localNames.size();
+	}
+
+	private void override(int symbol, DSLRuntimeCommand command)
+	{
+		overrides = overrides.with(symbol, command);
+		markDirty(symbol);
+
+		//only values that depend on overrides are stored, so they are few enough to drop together
+		resolved = null;
+	}
+
+	private void markDirty(int symbol)
+	{
+		if (program.getDependents(symbol) == null)
+			return;
+
+		HashSet<Integer> marked = new HashSet<>();
+		collectDirty(symbol, marked);
+
+		//all of them are set together, so every node of the trie is copied once
+		int[] symbols = new int[marked.size()];
+		int count = 0;
+		for (int dependent : marked)
+			symbols[count++] = dependent;
+
+		Arrays.sort(symbols);
+		dirty = dirty.withAll(symbols, count, Boolean.TRUE);
+	}
+
+	private void collectDirty(int symbol, HashSet<Integer> marked)
+	{
+		int[] dependents = program.getDependents(symbol);
+
+		if (dependents == null)
+			return;
+
+		for (int dependent : dependents)
+			if (dirty.get(dependent) == null && marked.add(dependent))
+				collectDirty(dependent, marked);
+	}
+
+	private String resolve(int symbol, DSLRuntimeCommand command)
+	{
+		boolean shared = symbol >= 0 && overrides.get(symbol) == null && dirty.get(symbol) == null;
+
+		if (shared)
+		{
+			String value = program.getValue(symbol);
+
+			//values that failed to resolve when the program was compiled are resolved here so they fail the same way
+			if (value != null)
+				return value;
+		}
+		else if (resolved != null)
+		{
+			String value = resolved.get(symbol);
+
+			if (value != null)
+				return value;
+		}
+
+		if (resolving.contains(symbol))
+			throw new RuntimeException("Variable reference cycle detected: " + describeCycle(symbol));
+
+		resolving.add(symbol);
+
+		String value;
+		try
+		{
+			value = expand(command);
+		}
+		finally
+		{
+			resolving.remove(resolving.size() - 1);
+		}
+
+		if (!shared)
+		{
+			if (resolved == null)
+				resolved = new HashMap<>();
+
+			resolved.put(symbol, value);
+		}
+
+		return value;
+	}
+
+	private String expand(DSLRuntimeCommand command)
+	{
+		String[] parameters = command.getParameters();
+		String template = parameters == null || parameters.length == 0 ? "" : parameters[0];
+		int start = template.indexOf(variableDelimiter);
+
+		if (start == -1)
+			return template;
+
+		StringBuilder builder = new StringBuilder(template.length() + 16);
+		int last = 0;
+
+		while (start != -1)
+		{
+			int end = template.indexOf(variableDelimiter, start + 1);
+
+			if (end == -1)
+				break;
+
+			int key = symbols.get(template, start + 1, end);
+			DSLRuntimeCommand reference;
+
+			if (isKnown(key))
+			{
+				reference = get(key);
+			}
+			else
+			{
+				String name = template.substring(start + 1, end);
+				reference = getLocal(name);
+
+				if (reference != null)
+					key = localKey(name);
+			}
+
+			builder.append(template, last, start);
+
+			if (reference == null)
+				builder.append(template, start, end + 1);
+			else
+				builder.append(resolve(key, reference));
+
+			last = end + 1;
+			start = template.indexOf(variableDelimiter, last);
+		}
+
+		builder.append(template, last, template.length());
+		return builder.toString();
+	}
+
+	private String describeCycle(int symbol)
+	{
+		StringBuilder cycle = new StringBuilder();
+
+		for (int resolvingSymbol : resolving)
+			cycle.append(getName(resolvingSymbol)).append(" -> ");
+
+		return cycle.append(getName(symbol)).toString();
+	}
+
+	private String getName(int symbol)
+	{
+		return symbol >= 0 ? symbols.getName(symbol) : localNames.get(-2 - symbol);
+	}
+}
@@ -0,0 +1,37 @@
+package com.konloch.dsl.runtime;
+
+import java.util.HashMap;
+
+/**
+ * The variable state of a DSLContext at one point, see DSLContext.snapshot
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public final class DSLContextSnapshot
+{
+	final DSLProgram program;
+	final DSLPersistentSlots<DSLRuntimeCommand> overrides;
+	final DSLPersistentSlots<Boolean> dirty;
+	//shared with the context until either changes, the context copies it before its next change
+	final HashMap<String, DSLRuntimeCommand> locals;
+
+	DSLContextSnapshot(DSLProgram program, DSLPersistentSlots<DSLRuntimeCommand> overrides, DSLPersistentSlots<Boolean> dirty,
+	                   HashMap<String, DSLRuntimeCommand> locals)
+	{
+		this.program = program;
+		this.overrides = overrides;
+		this.dirty = dirty;
+		this.locals = locals;
+	}
+
+	/**
+	 * Returns the amount of variables the context had set or removed
+	 *
+	 * @return the amount of overridden variables
+	 */
+	public int getOverrideCount()
+	{
+		return overrides.size() + (locals == null ? 0 : locals.size());
+	}
+}
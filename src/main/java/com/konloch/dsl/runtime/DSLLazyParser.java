@@ -0,0 +1,243 @@
+package com.konloch.dsl.runtime;
+
+import com.konloch.dsl.DSL;
+import com.konloch.dsl.metrics.DSLFlightRecorder;
+import com.konloch.dsl.metrics.DSLMetrics;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The DSLLazyParser loads a UTF-8 encoded file into a DSL without building the commands of its subscript bodies.
+ *
+ * Top-level lines are parsed and executed the same way as DSL.parse. For each subscript only its name and the byte
+ * span of its body are recorded as a DSLLazySubscript, the body is read the first time the subscript is used.
+ * Lines inside a body are only checked for the subscript delimiter end, they are not lexed.
+ *
+ * A DSLLazyParser keeps the state of the file being parsed, so it should only be used by one thread at a time.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLLazyParser
+{
+	private static final int SKIPPED_LINE = 0;
+	private static final int BODY_LINE = 1;
+	private static final int END_LINE = 2;
+
+	private final DSL dsl;
+	private final DSLLexer lexer;
+	private final byte subscriptEnd;
+	private final byte comment;
+	private final boolean asciiDelimiters;
+
+	//the line currently being read
+	private byte[] line = new byte[256];
+	private int lineLength;
+
+	//the subscript whose body is being skipped, where its body starts and if it holds anything besides comments
+	private Path path;
+	private long size;
+	private FileTime lastModified;
+	private String subscript;
+	private long bodyStart;
+	private boolean bodyUsed;
+
+	/**
+	 * Construct a new instance of the DSLLazyParser
+	 *
+	 * @param dsl any DSL
+	 */
+	public DSLLazyParser(DSL dsl)
+	{
+		this.dsl = dsl;
+		this.lexer = new DSLLexer(dsl);
+
+		char subscriptEnd = dsl.getSubscriptDelimiterEnd().charAt(0);
+		char comment = dsl.getCommentDelimiter().charAt(0);
+
+		//a UTF-8 multi-byte sequence never contains an ASCII byte, so ASCII delimiters can be found without decoding
+		this.asciiDelimiters = subscriptEnd < 0x80 && comment < 0x80;
+		this.subscriptEnd = (byte) subscriptEnd;
+		this.comment = (byte) comment;
+	}
+
+	/**
+	 * Parse any UTF-8 encoded Path, executing the top-level commands and registering every subscript as a DSLLazySubscript
+	 *
+	 * @param path any Path
+	 * @throws IOException if an I/O error occurs reading from the stream
+	 */
+	public void parse(Path path) throws IOException
+	{
+		this.path = path;
+		this.size = Files.size(path);
+		this.lastModified = Files.getLastModifiedTime(path);
+		this.subscript = null;
+		this.lineLength = 0;
+
+		byte[] buffer = new byte[64 * 1024];
+		long position = 0;
+		long lineStart = 0;
+		long lines = 0;
+		boolean carriageReturn = false;
+		Object event = DSLFlightRecorder.beginParse();
+
+		try (InputStream in = Files.newInputStream(path))
+		{
+			int read;
+			while ((read = in.read(buffer)) != -1)
+			{
+				for (int i = 0; i < read; i++, position++)
+				{
+					byte b = buffer[i];
+
+					//a \n directly after a \r belongs to the same line break
+					if (carriageReturn)
+					{
+						carriageReturn = false;
+
+						if (b == '\n')
+						{
+							lineStart = position + 1;
+							continue;
+						}
+					}
+
+					if (b == '\n' || b == '\r')
+					{
+						readLine(lineStart, position + 1);
+						lines++;
+						carriageReturn = b == '\r';
+						lineStart = position + 1;
+						lineLength = 0;
+					}
+					else
+					{
+						if (lineLength == line.length)
+							line = Arrays.copyOf(line, lineLength * 2);
+
+						line[lineLength++] = b;
+					}
+				}
+			}
+
+			//the last line may not end with a line break
+			if (position > lineStart)
+			{
+				readLine(lineStart, position);
+				lines++;
+			}
+
+			//a subscript that is never closed runs until the end of the file
+			if (subscript != null)
+				register(position);
+		}
+		finally
+		{
+			dsl.getRuntime().stopParse();
+
+			if (event != null)
+				DSLFlightRecorder.endParse(event, path.toString(), lines, false);
+		}
+	}
+
+	/**
+	 * Handles the line that has just been read
+	 *
+	 * @param lineStart the byte offset of the line
+	 * @param nextLineStart the byte offset after the line break
+	 */
+	private void readLine(long lineStart, long nextLineStart) throws IOException
+	{
+		DSLMetrics metrics = dsl.getMetrics();
+
+		//inside of a body only the end of the subscript matters
+		if (subscript != null)
+		{
+			int kind = classify();
+
+			if (kind == BODY_LINE)
+				bodyUsed = true;
+
+			if (kind != END_LINE)
+				return;
+
+			if (metrics != null)
+				metrics.lineProcessed();
+
+			register(lineStart);
+			return;
+		}
+
+		String text = new String(line, 0, lineLength, StandardCharsets.UTF_8);
+		DSLRuntime runtime = dsl.getRuntime();
+
+		if (runtime.getParser().getInsideSubscript() == null && lexer.scan(text) && !lexer.isComment() && lexer.isSubscriptStart())
+		{
+			String name = lexer.getSubscriptName();
+			List<DSLRuntimeCommand> existing = dsl.getSubscripts().get(name);
+
+			//subscripts that already have commands are extended by the runtime instead
+			if (!name.isEmpty() && (!dsl.isStrictMode() || existing != null)
+					&& (existing == null || !(existing instanceof DSLLazySubscript) && existing.isEmpty()))
+			{
+				if (metrics != null)
+					metrics.lineProcessed();
+
+				subscript = name;
+				bodyStart = nextLineStart;
+				bodyUsed = false;
+				return;
+			}
+		}
+
+		runtime.parseLine(text);
+	}
+
+	/**
+	 * Classifies a line inside of a body the same way the DSLParser would
+	 *
+	 * @return SKIPPED_LINE for blank lines and comments, END_LINE if the line closes the subscript, or else BODY_LINE
+	 */
+	private int classify()
+	{
+		if (!asciiDelimiters)
+		{
+			if (!lexer.scan(new String(line, 0, lineLength, StandardCharsets.UTF_8)) || lexer.isComment())
+				return SKIPPED_LINE;
+
+			return lexer.isSubscriptEnd() ? END_LINE : BODY_LINE;
+		}
+
+		int start = 0;
+		while (start < lineLength && (line[start] & 0xFF) <= ' ')
+			start++;
+
+		if (start == lineLength || line[start] == comment)
+			return SKIPPED_LINE;
+
+		for (int i = start; i < lineLength; i++)
+			if (line[i] == subscriptEnd)
+				return END_LINE;
+
+		return BODY_LINE;
+	}
+
+	/**
+	 * Registers the body that has been skipped, a body without any commands does not define the subscript
+	 */
+	private void register(long bodyEnd)
+	{
+		if (bodyUsed)
+			dsl.getSubscripts().put(subscript, new DSLLazySubscript(dsl, subscript, path, bodyStart, bodyEnd, size, lastModified));
+
+		subscript = null;
+	}
+}
@@ -0,0 +1,196 @@
+package com.konloch.dsl.runtime;
+
+import com.konloch.dsl.DSL;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+
+/**
+ * A subscript body that is only read from its file the first time it is used.
+ *
+ * The list records where the body is in the file, the commands are built and cached the first time the list is
+ * read or modified. The file must not change until then, a Runtime Exception is thrown if it has.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLLazySubscript extends DSLSubscriptList
+{
+	private final DSL dsl;
+	private final String name;
+	private final Path path;
+	private final long start;
+	private final long end;
+	private final long size;
+	private final FileTime lastModified;
+	private ArrayList<DSLRuntimeCommand> commands;
+
+	/**
+	 * Constructs a new DSLLazySubscript
+	 *
+	 * @param dsl the DSL the body will be parsed with
+	 * @param name any String as the subscript name
+	 * @param path the UTF-8 encoded Path the body is in
+	 * @param start the byte offset of the first line of the body, inclusive
+	 * @param end the byte offset after the last line of the body, exclusive
+	 * @param size the size of the file when it was parsed
+	 * @param lastModified the last modified time of the file when it was parsed
+	 */
+	public DSLLazySubscript(DSL dsl, String name, Path path, long start, long end, long size, FileTime lastModified)
+	{
+		this.dsl = dsl;
+		this.name = name;
+		this.path = path;
+		this.start = start;
+		this.end = end;
+		this.size = size;
+		this.lastModified = lastModified;
+	}
+
+	/**
+	 * Returns true if the body has already been read
+	 *
+	 * @return true if the commands have been built
+	 */
+	public synchronized boolean isMaterialized()
+	{
+		return commands != null;
+	}
+
+	/**
+	 * Reads the body and builds its commands if that has not happened yet
+	 *
+	 * @return the commands of the body
+	 */
+	public synchronized ArrayList<DSLRuntimeCommand> materialize()
+	{
+		if (commands != null)
+			return commands;
+
+		try
+		{
+			if (Files.size(path) != size || !Files.getLastModifiedTime(path).equals(lastModified))
+				throw new RuntimeException("Subscript " + name + " can't be read, " + path + " has changed since it was parsed");
+
+			ByteBuffer body = ByteBuffer.allocate((int) (end - start));
+			try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+			{
+				while (body.hasRemaining())
+					if (channel.read(body, start + body.position()) == -1)
+						break;
+			}
+
+			ArrayList<DSLRuntimeCommand> commands = new ArrayList<>();
+			DSLParser parser = new DSLParser(dsl, new DSLParseListener()
+			{
+				@Override
+				public void onCommand(DSLRuntimeCommand command)
+				{
+					//the body only holds subscript lines
+				}
+
+				@Override
+				public void onSubscriptCommand(String subscript, DSLRuntimeCommand command)
+				{
+					commands.add(command);
+				}
+			});
+
+			parser.startSubscript(name);
+
+			BufferedReader reader = new BufferedReader(new StringReader(new String(body.array(), 0, body.position(), StandardCharsets.UTF_8)));
+			String line;
+			while ((line = reader.readLine()) != null)
+				parser.parseLine(line);
+
+			this.commands = commands;
+			return commands;
+		}
+		catch (IOException e)
+		{
+			throw new RuntimeException("Subscript " + name + " can't be read from " + path, e);
+		}
+	}
+
+	@Override
+	public DSLRuntimeCommand get(int index)
+	{
+		return materialize().get(index);
+	}
+
+	@Override
+	public int size()
+	{
+		return materialize().size();
+	}
+
+	@Override
+	public DSLRuntimeCommand set(int index, DSLRuntimeCommand element)
+	{
+		modCount++;
+		return materialize().set(index, element);
+	}
+
+	@Override
+	public void add(int index, DSLRuntimeCommand element)
+	{
+		materialize().add(index, element);
+		modCount++;
+	}
+
+	@Override
+	public DSLRuntimeCommand remove(int index)
+	{
+		modCount++;
+		return materialize().remove(index);
+	}
+
+	/**
+	 * Returns the subscript name
+	 *
+	 * @return the subscript name as a String
+	 */
+	public String getName()
+	{
+		return name;
+	}
+
+	/**
+	 * Returns the file the body is in
+	 *
+	 * @return the Path of the file
+	 */
+	public Path getPath()
+	{
+		return path;
+	}
+
+	/**
+	 * Returns the byte offset of the first line of the body
+	 *
+	 * @return the start offset, inclusive
+	 */
+	public long getStart()
+	{
+		return start;
+	}
+
+	/**
+	 * Returns the byte offset after the last line of the body
+	 *
+	 * @return the end offset, exclusive
+	 */
+	public long getEnd()
+	{
+		return end;
+	}
+}
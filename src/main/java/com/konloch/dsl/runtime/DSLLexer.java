@@ -0,0 +1,338 @@
+package com.konloch.dsl.runtime;
+
+import com.konloch.dsl.DSL;
+import com.konloch.dsl.commands.DSLCommandType;
+
+/**
+ * The DSLLexer classifies a line and finds its token boundaries in a single pass over its characters.
+ *
+ * A lexer instance keeps the results of the last scanned line, so it should only be used by one thread at a time.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLLexer
+{
+	private final DSL dsl;
+	private final char setValueDelimiter;
+	private final char bracketDelimiterStart;
+	private final char bracketDelimiterEnd;
+	private final char subscriptDelimiterStart;
+	private final char subscriptDelimiterEnd;
+	private final char commentDelimiter;
+
+	//the last scanned line, bounded to its trimmed contents
+	private String line;
+	private int start;
+	private int end;
+
+	//the first occurrence of each delimiter, -1 if it was not found
+	private int setValueIndex;
+	private int bracketStartIndex;
+	private int bracketEndIndex;
+	private boolean bracketEnd;
+	private boolean subscriptEnd;
+
+	//the parameter separators found between the brackets
+	private int[] separators = new int[8];
+	private int separatorCount;
+
+	/**
+	 * Construct a new instance of the DSLLexer
+	 *
+	 * @param dsl any DSL
+	 */
+	public DSLLexer(DSL dsl)
+	{
+		this.dsl = dsl;
+		this.setValueDelimiter = dsl.getSetValueDelimiter().charAt(0);
+		this.bracketDelimiterStart = dsl.getBracketDelimiterStart().charAt(0);
+		this.bracketDelimiterEnd = dsl.getBracketDelimiterEnd().charAt(0);
+		this.subscriptDelimiterStart = dsl.getSubscriptDelimiterStart().charAt(0);
+		this.subscriptDelimiterEnd = dsl.getSubscriptDelimiterEnd().charAt(0);
+		this.commentDelimiter = dsl.getCommentDelimiter().charAt(0);
+	}
+
+	/**
+	 * Scans any String and records where each delimiter is.
+	 *
+	 * @param line any String
+	 * @return false if the line is null or only contains whitespace
+	 */
+	public boolean scan(String line)
+	{
+		if (line == null)
+			return false;
+
+		int start = 0;
+		int end = line.length();
+
+		while (start < end && line.charAt(start) <= ' ')
+			start++;
+
+		while (end > start && line.charAt(end - 1) <= ' ')
+			end--;
+
+		this.line = line;
+		this.start = start;
+		this.end = end;
+
+		if (start == end)
+			return false;
+
+		setValueIndex = -1;
+		bracketStartIndex = -1;
+		bracketEndIndex = -1;
+		bracketEnd = false;
+		subscriptEnd = false;
+		separatorCount = 0;
+
+		for (int i = start; i < end; i++)
+		{
+			char c = line.charAt(i);
+
+			if (c == setValueDelimiter && setValueIndex == -1)
+				setValueIndex = i;
+
+			if (c == bracketDelimiterStart && bracketStartIndex == -1)
+			{
+				bracketStartIndex = i;
+			}
+			else if (c == bracketDelimiterEnd)
+			{
+				bracketEnd = true;
+
+				if (bracketStartIndex != -1 && bracketEndIndex == -1)
+					bracketEndIndex = i;
+			}
+			else if (c == ',' && bracketStartIndex != -1 && bracketEndIndex == -1)
+			{
+				if (separatorCount == separators.length)
+				{
+					int[] grown = new int[separators.length * 2];
+					System.arraycopy(separators, 0, grown, 0, separatorCount);
+					separators = grown;
+				}
+
+				separators[separatorCount++] = i;
+			}
+
+			if (c == subscriptDelimiterEnd)
+				subscriptEnd = true;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Returns true if the scanned line starts with the comment delimiter
+	 *
+	 * @return true if the scanned line is a comment
+	 */
+	public boolean isComment()
+	{
+		return line.charAt(start) == commentDelimiter;
+	}
+
+	/**
+	 * Returns true if the scanned line opens a subscript
+	 *
+	 * @return true if the scanned line ends with the subscript delimiter start and is not a function call
+	 */
+	public boolean isSubscriptStart()
+	{
+		return bracketStartIndex == -1 && line.charAt(end - 1) == subscriptDelimiterStart;
+	}
+
+	/**
+	 * Returns true if the scanned line closes a subscript
+	 *
+	 * @return true if the scanned line contains the subscript delimiter end
+	 */
+	public boolean isSubscriptEnd()
+	{
+		return subscriptEnd;
+	}
+
+	/**
+	 * Returns the name of the subscript opened by the scanned line
+	 *
+	 * @return the trimmed subscript name, this may be empty
+	 */
+	public String getSubscriptName()
+	{
+		return substring(start, end - 1, null);
+	}
+
+	/**
+	 * Attempts to build a DSLRuntimeCommand from the scanned line.
+	 *
+	 * @return the DSLRuntimeCommand if it can be created, if not it will return null
+	 */
+	public DSLRuntimeCommand buildCommand()
+	{
+		return buildCommand(null);
+	}
+
+	/**
+	 * Attempts to build a DSLRuntimeCommand from the scanned line, taking the name and parameters from a DSLStringPool.
+	 *
+	 * @param pool the DSLStringPool to canonicalize the Strings with, or null to create new ones
+	 * @return the DSLRuntimeCommand if it can be created, if not it will return null
+	 */
+	public DSLRuntimeCommand buildCommand(DSLStringPool pool)
+	{
+		if (isVariable())
+			return new DSLRuntimeCommand(DSLCommandType.VARIABLE, substring(start, setValueIndex, pool), new String[]{substring(setValueIndex + 1, end, pool)}, dsl.getSymbols());
+
+		//look for the function bracket delimiters
+		if (bracketStartIndex != -1 && bracketEnd)
+		{
+			String name = substring(start, bracketStartIndex, pool);
+
+			//the parameters are only read if there are at least two characters after the bracket start
+			if (end - bracketStartIndex - 1 < 2)
+				return new DSLRuntimeCommand(DSLCommandType.VARIABLE, name, null, dsl.getSymbols());
+
+			int valuesEnd = bracketEndIndex == -1 ? end : bracketEndIndex;
+			String[] parameters = new String[separatorCount + 1];
+
+			//this allows the user to have spaces between the function separator.
+			//one downside to doing it this way, is users lose the ability to have trailing whitespace.
+			//this limitation is part of the specification along with the hardcoded `,` delimiter.
+			int from = bracketStartIndex + 1;
+			for (int i = 0; i < separatorCount; i++)
+			{
+				parameters[i] = substring(from, separators[i], pool);
+				from = separators[i] + 1;
+			}
+			parameters[separatorCount] = substring(from, valuesEnd, pool);
+
+			return new DSLRuntimeCommand(DSLCommandType.VARIABLE, name, parameters, dsl.getSymbols());
+		}
+
+		return null;
+	}
+
+	/**
+	 * Returns true if buildCommand would build a function call from the scanned line
+	 *
+	 * @return true if the scanned line is a function call
+	 */
+	public boolean isFunctionCall()
+	{
+		return bracketStartIndex != -1 && bracketEnd && !isVariable();
+	}
+
+	/**
+	 * Returns the start of the function name, only valid if the scanned line is a function call
+	 *
+	 * @return the start index of the trimmed function name, inclusive
+	 */
+	public int getFunctionNameStart()
+	{
+		return trimStart(start, bracketStartIndex);
+	}
+
+	/**
+	 * Returns the end of the function name, only valid if the scanned line is a function call
+	 *
+	 * @return the end index of the trimmed function name, exclusive
+	 */
+	public int getFunctionNameEnd()
+	{
+		return trimEnd(getFunctionNameStart(), bracketStartIndex);
+	}
+
+	/**
+	 * Points a DSLLineArguments view at the parameters of the scanned function call, without creating any Strings
+	 *
+	 * @param arguments the DSLLineArguments to fill
+	 */
+	public void fillArguments(DSLLineArguments arguments)
+	{
+		arguments.reset(line);
+
+		if (end - bracketStartIndex - 1 < 2)
+			return;
+
+		int valuesEnd = bracketEndIndex == -1 ? end : bracketEndIndex;
+		int from = bracketStartIndex + 1;
+		for (int i = 0; i < separatorCount; i++)
+		{
+			add(arguments, from, separators[i]);
+			from = separators[i] + 1;
+		}
+		add(arguments, from, valuesEnd);
+	}
+
+	/**
+	 * Returns the last scanned line
+	 *
+	 * @return the scanned line as a String
+	 */
+	public String getLine()
+	{
+		return line;
+	}
+
+	/**
+	 * Returns true if the scanned line is a valid variable set value
+	 */
+	private boolean isVariable()
+	{
+		if (setValueIndex == -1)
+			return false;
+
+		//verify the data is valid, then make sure the runtime command has a handler
+		//if it does, assume this is a variable
+		int nameStart = trimStart(start, setValueIndex);
+		int nameEnd = trimEnd(nameStart, setValueIndex);
+
+		if (nameStart == nameEnd || trimStart(setValueIndex + 1, end) == end)
+			return false;
+
+		return !dsl.isStrictMode() || dsl.getHandler(dsl.getSymbols().get(line, nameStart, nameEnd)) != null;
+	}
+
+	private int trimStart(int from, int to)
+	{
+		while (from < to && line.charAt(from) <= ' ')
+			from++;
+
+		return from;
+	}
+
+	private void add(DSLLineArguments arguments, int from, int to)
+	{
+		from = trimStart(from, to);
+		arguments.add(from, trimEnd(from, to));
+	}
+
+	private int trimEnd(int from, int to)
+	{
+		while (to > from && line.charAt(to - 1) <= ' ')
+			to--;
+
+		return to;
+	}
+
+	/**
+	 * Returns a trimmed substring of the scanned line
+	 *
+	 * @param from the start index, inclusive
+	 * @param to the end index, exclusive
+	 * @param pool the DSLStringPool to take the String from, or null
+	 * @return the trimmed String
+	 */
+	private String substring(int from, int to, DSLStringPool pool)
+	{
+		from = trimStart(from, to);
+		to = trimEnd(from, to);
+
+		if (pool != null)
+			return pool.intern(line, from, to);
+
+		return line.substring(from, to);
+	}
+}
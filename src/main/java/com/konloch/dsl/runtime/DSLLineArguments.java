@@ -0,0 +1,127 @@
+package com.konloch.dsl.runtime;
+
+import com.konloch.dsl.commands.DSLArguments;
+
+/**
+ * A reusable DSLArguments view over the parameters of the line the DSLLexer last scanned.
+ *
+ * The parameters are exposed as slices of the original line, so reading a line through this view creates no garbage.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLLineArguments extends DSLArguments
+{
+	private String line;
+	private int size;
+	private int[] starts = new int[8];
+	private int[] ends = new int[8];
+	private Slice[] slices = new Slice[0];
+	
+	/**
+	 * Points the view at a new line, the parameter bounds are added with add
+	 *
+	 * @param line the line the parameters are read from
+	 */
+	void reset(String line)
+	{
+		this.line = line;
+		this.size = 0;
+	}
+	
+	/**
+	 * Adds a parameter
+	 *
+	 * @param start the start index in the line, inclusive
+	 * @param end the end index in the line, exclusive
+	 */
+	void add(int start, int end)
+	{
+		if (size == starts.length)
+		{
+			int[] grownStarts = new int[size * 2];
+			int[] grownEnds = new int[size * 2];
+			System.arraycopy(starts, 0, grownStarts, 0, size);
+			System.arraycopy(ends, 0, grownEnds, 0, size);
+			starts = grownStarts;
+			ends = grownEnds;
+		}
+		
+		starts[size] = start;
+		ends[size] = end;
+		size++;
+	}
+	
+	@Override
+	public int size()
+	{
+		return size;
+	}
+	
+	@Override
+	public CharSequence get(int index)
+	{
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		
+		if (index >= slices.length)
+		{
+			Slice[] grown = new Slice[Math.max(size, slices.length * 2)];
+			System.arraycopy(slices, 0, grown, 0, slices.length);
+			for (int i = slices.length; i < grown.length; i++)
+				grown[i] = new Slice(this, i);
+			slices = grown;
+		}
+		
+		return slices[index];
+	}
+	
+	@Override
+	public String getString(int index)
+	{
+		get(index);
+		return line.substring(starts[index], ends[index]);
+	}
+	
+	/**
+	 * A CharSequence over one parameter of the current line
+	 */
+	private static class Slice implements CharSequence
+	{
+		private final DSLLineArguments arguments;
+		private final int index;
+		
+		private Slice(DSLLineArguments arguments, int index)
+		{
+			this.arguments = arguments;
+			this.index = index;
+		}
+		
+		@Override
+		public int length()
+		{
+			return arguments.ends[index] - arguments.starts[index];
+		}
+		
+		@Override
+		public char charAt(int i)
+		{
+			if (i < 0 || i >= length())
+				throw new IndexOutOfBoundsException("Index: " + i + ", Length: " + length());
+			
+			return arguments.line.charAt(arguments.starts[index] + i);
+		}
+		
+		@Override
+		public CharSequence subSequence(int start, int end)
+		{
+			return toString().subSequence(start, end);
+		}
+		
+		@Override
+		public String toString()
+		{
+			return arguments.line.substring(arguments.starts[index], arguments.ends[index]);
+		}
+	}
+}
@@ -0,0 +1,111 @@
+package com.konloch.dsl.runtime;
+
+import com.konloch.dsl.commands.FunctionRunnable;
+import com.konloch.dsl.commands.VariableRunnable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * The DSLMethodHandleCompiler turns the commands of a subscript into one composed MethodHandle.
+ *
+ * Function calls and variables with a constant value are bound straight to their runnable with the parameters
+ * inserted as constants, every other command is bound to its DSLCompiledCommand. The commands are then folded
+ * together as a balanced tree, so the depth of the handle only grows with the logarithm of the subscript length.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLMethodHandleCompiler
+{
+	private static final MethodHandle EXECUTE;
+	private static final MethodHandle FUNCTION_RUN;
+	private static final MethodHandle VARIABLE_RUN;
+	private static final MethodHandle GET_VARIABLE_VALUE;
+	private static final MethodHandle NOTHING;
+
+	static
+	{
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+		try
+		{
+			EXECUTE = lookup.findVirtual(DSLCompiledCommand.class, "execute", MethodType.methodType(void.class, DSLVariableScope.class));
+			FUNCTION_RUN = lookup.findVirtual(FunctionRunnable.class, "run", MethodType.methodType(void.class, String[].class));
+			VARIABLE_RUN = lookup.findVirtual(VariableRunnable.class, "run", MethodType.methodType(void.class, String.class));
+			GET_VARIABLE_VALUE = lookup.findVirtual(DSLVariableScope.class, "getVariableValue", MethodType.methodType(String.class, DSLRuntimeCommand.class));
+			NOTHING = lookup.findStatic(DSLMethodHandleCompiler.class, "nothing", MethodType.methodType(void.class, DSLVariableScope.class));
+		}
+		catch (ReflectiveOperationException e)
+		{
+			throw new RuntimeException("Unable to look up the method handles", e);
+		}
+	}
+
+	/**
+	 * Compiles the commands of a subscript into a single MethodHandle
+	 *
+	 * @param commands the DSLCompiledCommands of the subscript, in the order they run
+	 * @param variableDelimiter the variable delimiter, values without it are bound as constants
+	 * @return a MethodHandle of type (DSLVariableScope)void that runs every command
+	 */
+	public static MethodHandle compile(DSLCompiledCommand[] commands, char variableDelimiter)
+	{
+		MethodHandle[] handles = new MethodHandle[commands.length];
+
+		for (int i = 0; i < commands.length; i++)
+			handles[i] = bind(commands[i], variableDelimiter);
+
+		return chain(handles, 0, handles.length);
+	}
+
+	/**
+	 * Binds a single command, the resulting MethodHandle has the type (DSLVariableScope)void
+	 */
+	private static MethodHandle bind(DSLCompiledCommand command, char variableDelimiter)
+	{
+		if (command instanceof DSLCompiledFunction)
+		{
+			DSLCompiledFunction function = (DSLCompiledFunction) command;
+			MethodHandle run = FUNCTION_RUN.bindTo(function.getFunctionRunnable());
+			return MethodHandles.dropArguments(MethodHandles.insertArguments(run, 0, new Object[]{function.getParameters()}), 0, DSLVariableScope.class);
+		}
+
+		if (command instanceof DSLCompiledVariable)
+		{
+			DSLCompiledVariable variable = (DSLCompiledVariable) command;
+			MethodHandle run = VARIABLE_RUN.bindTo(variable.getVariableRunnable());
+			String[] parameters = command.getCommand().getParameters();
+			String value = parameters == null || parameters.length == 0 ? "" : parameters[0];
+
+			//a value without references always resolves to itself
+			if (value.indexOf(variableDelimiter) == -1)
+				return MethodHandles.dropArguments(MethodHandles.insertArguments(run, 0, value), 0, DSLVariableScope.class);
+
+			return MethodHandles.filterArguments(run, 0, MethodHandles.insertArguments(GET_VARIABLE_VALUE, 1, command.getCommand()));
+		}
+
+		return EXECUTE.bindTo(command);
+	}
+
+	/**
+	 * Folds a range of handles into one, the first half runs before the second half
+	 */
+	private static MethodHandle chain(MethodHandle[] handles, int from, int to)
+	{
+		if (from == to)
+			return NOTHING;
+
+		if (to - from == 1)
+			return handles[from];
+
+		int middle = (from + to) >>> 1;
+		return MethodHandles.foldArguments(chain(handles, middle, to), chain(handles, from, middle));
+	}
+
+	private static void nothing(DSLVariableScope scope)
+	{
+		//an empty subscript
+	}
+}
@@ -0,0 +1,76 @@
+package com.konloch.dsl.runtime;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * The subscript list used by DSLSubscriptStorage.OBJECTS, every command is kept as its DSLRuntimeCommand.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLObjectSubscript extends DSLSubscriptList
+{
+	private final ArrayList<DSLRuntimeCommand> commands;
+
+	/**
+	 * Constructs a new empty DSLObjectSubscript
+	 */
+	public DSLObjectSubscript()
+	{
+		this.commands = new ArrayList<>();
+	}
+
+	/**
+	 * Constructs a new DSLObjectSubscript holding a copy of the supplied commands
+	 *
+	 * @param commands the DSLRuntimeCommands to copy
+	 */
+	public DSLObjectSubscript(Collection<DSLRuntimeCommand> commands)
+	{
+		this.commands = new ArrayList<>(commands);
+	}
+
+	@Override
+	public DSLRuntimeCommand get(int index)
+	{
+		return commands.get(index);
+	}
+
+	@Override
+	public int size()
+	{
+		return commands.size();
+	}
+
+	@Override
+	public DSLRuntimeCommand set(int index, DSLRuntimeCommand command)
+	{
+		DSLRuntimeCommand previous = commands.set(index, command);
+		modCount++;
+		return previous;
+	}
+
+	@Override
+	public boolean add(DSLRuntimeCommand command)
+	{
+		commands.add(command);
+		modCount++;
+		return true;
+	}
+
+	@Override
+	public void add(int index, DSLRuntimeCommand command)
+	{
+		commands.add(index, command);
+		modCount++;
+	}
+
+	@Override
+	public DSLRuntimeCommand remove(int index)
+	{
+		DSLRuntimeCommand previous = commands.remove(index);
+		modCount++;
+		return previous;
+	}
+}
@@ -0,0 +1,72 @@
+package com.konloch.dsl.runtime;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * What a DSLOptimizer changed in every subscript it optimized.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLOptimizationReport
+{
+	private final Map<String, DSLOptimizationResult> results;
+
+	/**
+	 * Constructs a new DSLOptimizationReport
+	 *
+	 * @param results the DSLOptimizationResult of every optimized subscript, by name
+	 */
+	public DSLOptimizationReport(Map<String, DSLOptimizationResult> results)
+	{
+		this.results = Collections.unmodifiableMap(results);
+	}
+
+	/**
+	 * Returns the result of a subscript
+	 *
+	 * @param name any String as the subscript name
+	 * @return the DSLOptimizationResult, or null if the subscript was not optimized
+	 */
+	public DSLOptimizationResult get(String name)
+	{
+		return results.get(name);
+	}
+
+	/**
+	 * Returns the amount of commands every subscript lost together
+	 *
+	 * @return the amount of removed commands
+	 */
+	public int getRemoved()
+	{
+		int removed = 0;
+
+		for (DSLOptimizationResult result : results.values())
+			removed += result.getRemoved();
+
+		return removed;
+	}
+
+	/**
+	 * Returns the result of every optimized subscript
+	 *
+	 * @return the unmodifiable result map
+	 */
+	public Map<String, DSLOptimizationResult> getResults()
+	{
+		return results;
+	}
+
+	@Override
+	public String toString()
+	{
+		StringBuilder builder = new StringBuilder("Removed ").append(getRemoved()).append(" commands");
+
+		for (DSLOptimizationResult result : results.values())
+			builder.append(System.lineSeparator()).append(result);
+
+		return builder.toString();
+	}
+}
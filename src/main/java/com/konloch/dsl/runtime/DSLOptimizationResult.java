@@ -0,0 +1,100 @@
+package com.konloch.dsl.runtime;
+
+/**
+ * What a DSLOptimizer changed in one subscript.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLOptimizationResult
+{
+	private final String name;
+	private final int commandsBefore;
+	private final int commandsAfter;
+	private final int folded;
+	private final int duplicates;
+
+	/**
+	 * Constructs a new DSLOptimizationResult
+	 *
+	 * @param name the subscript name
+	 * @param commandsBefore the amount of commands before the subscript was optimized
+	 * @param commandsAfter the amount of commands after the subscript was optimized
+	 * @param folded the amount of variable values whose references were folded into a constant
+	 * @param duplicates the amount of repeated calls to idempotent handlers that were merged
+	 */
+	public DSLOptimizationResult(String name, int commandsBefore, int commandsAfter, int folded, int duplicates)
+	{
+		this.name = name;
+		this.commandsBefore = commandsBefore;
+		this.commandsAfter = commandsAfter;
+		this.folded = folded;
+		this.duplicates = duplicates;
+	}
+
+	/**
+	 * Returns the subscript name
+	 *
+	 * @return the subscript name as a String
+	 */
+	public String getName()
+	{
+		return name;
+	}
+
+	/**
+	 * Returns the amount of commands before the subscript was optimized
+	 *
+	 * @return the command count
+	 */
+	public int getCommandsBefore()
+	{
+		return commandsBefore;
+	}
+
+	/**
+	 * Returns the amount of commands after the subscript was optimized
+	 *
+	 * @return the command count
+	 */
+	public int getCommandsAfter()
+	{
+		return commandsAfter;
+	}
+
+	/**
+	 * Returns the amount of commands the subscript lost
+	 *
+	 * @return the amount of removed commands
+	 */
+	public int getRemoved()
+	{
+		return commandsBefore - commandsAfter;
+	}
+
+	/**
+	 * Returns the amount of variable values whose references were folded into a constant
+	 *
+	 * @return the amount of folded values
+	 */
+	public int getFolded()
+	{
+		return folded;
+	}
+
+	/**
+	 * Returns the amount of repeated calls to idempotent handlers that were merged
+	 *
+	 * @return the amount of merged duplicates
+	 */
+	public int getDuplicates()
+	{
+		return duplicates;
+	}
+
+	@Override
+	public String toString()
+	{
+		return name + ": " + commandsBefore + " -> " + commandsAfter + " commands, folded=" + folded + ", duplicates=" + duplicates;
+	}
+}
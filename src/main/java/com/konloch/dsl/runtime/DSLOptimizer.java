@@ -0,0 +1,241 @@
+package com.konloch.dsl.runtime;
+
+import com.konloch.dsl.DSL;
+import com.konloch.dsl.commands.DSLCommandType;
+import com.konloch.dsl.commands.DSLDefinedCommand;
+import com.konloch.dsl.commands.DSLTypedArguments;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The DSLOptimizer rewrites the subscript command lists of a DSL so they do less work every time they are run.
+ *
+ * Two passes are made over each subscript, in this order:
+ * - Variable values that only reference runtime variables are folded into the value those variables have when the
+ *   optimizer runs. A value is only folded if nothing is left to expand afterwards.
+ * - Consecutive identical calls to a handler marked with DSL.markIdempotent are merged into one.
+ *
+ * A variable line inside of a subscript only calls its handler, so no variable line is ever dropped unless it is a
+ * repeated call to an idempotent handler. Runtime variables that are referenced by a subscript should not be
+ * reassigned after it has been optimized, the folded value is not updated.
+ *
+ * Every subscript is rewritten before any of them is replaced, so if one of them fails none of them are changed.
+ * Lazily loaded subscripts that haven't been read yet are left alone by optimize(), optimize(String) reads one of them.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLOptimizer
+{
+	private final DSL dsl;
+	private final char variableDelimiter;
+
+	/**
+	 * Construct a new instance of the DSLOptimizer
+	 *
+	 * @param dsl any DSL
+	 */
+	public DSLOptimizer(DSL dsl)
+	{
+		this.dsl = dsl;
+		this.variableDelimiter = dsl.getVariableDelimiter();
+	}
+
+	/**
+	 * Optimizes every subscript of the DSL, except for lazily loaded subscripts that haven't been read yet
+	 *
+	 * @return the DSLOptimizationReport, in subscript name order
+	 */
+	public DSLOptimizationReport optimize()
+	{
+		ArrayList<String> names = new ArrayList<>();
+		for (Map.Entry<String, List<DSLRuntimeCommand>> subscript : dsl.getSubscripts().entrySet())
+		{
+			if (!(subscript.getValue() instanceof DSLLazySubscript) || ((DSLLazySubscript) subscript.getValue()).isMaterialized())
+				names.add(subscript.getKey());
+		}
+
+		Collections.sort(names);
+
+		LinkedHashMap<String, DSLOptimizationResult> results = new LinkedHashMap<>();
+		HashMap<String, List<DSLRuntimeCommand>> rewritten = new HashMap<>();
+		for (String name : names)
+			results.put(name, rewrite(name, rewritten));
+
+		dsl.getSubscripts().putAll(rewritten);
+		return new DSLOptimizationReport(results);
+	}
+
+	/**
+	 * Optimizes a single subscript. Throws a Runtime Exception if the Subscript doesn't exist.
+	 *
+	 * The subscript list is only replaced if a command was changed or removed.
+	 *
+	 * @param name any String as the subscript name
+	 * @return the DSLOptimizationResult for the subscript
+	 */
+	public DSLOptimizationResult optimize(String name)
+	{
+		HashMap<String, List<DSLRuntimeCommand>> rewritten = new HashMap<>();
+		DSLOptimizationResult result = rewrite(name, rewritten);
+
+		dsl.getSubscripts().putAll(rewritten);
+		return result;
+	}
+
+	/**
+	 * Optimizes a copy of a subscript, the copy is added to the rewritten map if a command was changed or removed
+	 */
+	private DSLOptimizationResult rewrite(String name, Map<String, List<DSLRuntimeCommand>> rewritten)
+	{
+		List<DSLRuntimeCommand> source = dsl.getSubscripts().get(name);
+
+		if (source == null)
+			throw new RuntimeException("Subscript " + name + " not found");
+
+		ArrayList<DSLRuntimeCommand> commands = new ArrayList<>(source);
+		int folded = fold(commands);
+		int duplicates = removeDuplicates(commands);
+
+		if (folded + duplicates > 0)
+			rewritten.put(name, dsl.getSubscriptStorage().copy(dsl.getSymbols(), commands));
+
+		return new DSLOptimizationResult(name, source.size(), commands.size(), folded, duplicates);
+	}
+
+	/**
+	 * Replaces commands handled as variables whose value only references defined runtime variables with constant commands
+	 */
+	private int fold(ArrayList<DSLRuntimeCommand> commands)
+	{
+		int folded = 0;
+
+		for (int i = 0; i < commands.size(); i++)
+		{
+			DSLRuntimeCommand command = commands.get(i);
+
+			if (command == null || command.getType() != DSLCommandType.VARIABLE)
+				continue;
+
+			DSLDefinedCommand definedCommand = dsl.getHandler(command.getSymbol(dsl.getSymbols()));
+
+			//function calls are lexed as variables too, only commands handled as variables have a value to fold
+			if (definedCommand == null || definedCommand.getType() != DSLCommandType.VARIABLE)
+				continue;
+
+			String value = fold(getValue(command));
+
+			if (value == null)
+				continue;
+
+			DSLRuntimeCommand constant = new DSLRuntimeCommand(DSLCommandType.VARIABLE, command.getName(), new String[]{value}, dsl.getSymbols());
+
+			//a constant value of a typed variable can be converted now instead of every time it runs
+			if (definedCommand.getTypedRunnable() != null)
+				constant = new DSLRuntimeCommand(constant, DSLTypedArguments.parse(definedCommand.getName(), definedCommand.getSignature(), constant.getParameters()));
+
+			commands.set(i, constant);
+			folded++;
+		}
+
+		return folded;
+	}
+
+	/**
+	 * Returns the expanded value of any String, or null if it has no references or can't be fully expanded yet
+	 */
+	private String fold(String template)
+	{
+		int start = template.indexOf(variableDelimiter);
+
+		if (start == -1)
+			return null;
+
+		DSLRuntime runtime = dsl.getRuntime();
+		StringBuilder builder = new StringBuilder(template.length() + 16);
+		int last = 0;
+
+		while (start != -1)
+		{
+			int end = template.indexOf(variableDelimiter, start + 1);
+
+			if (end == -1)
+				break;
+
+			DSLRuntimeCommand reference = runtime.getCommands().get(template.substring(start + 1, end));
+
+			if (reference == null)
+				return null;
+
+			builder.append(template, last, start).append(runtime.getVariableValue(reference));
+			last = end + 1;
+			start = template.indexOf(variableDelimiter, last);
+		}
+
+		builder.append(template, last, template.length());
+
+		//a delimiter left in the value would be expanded again when it runs
+		String value = builder.toString();
+		return value.indexOf(variableDelimiter) == -1 ? value : null;
+	}
+
+	/**
+	 * Merges consecutive identical calls to idempotent handlers, lines that are not valid commands are skipped over
+	 */
+	private int removeDuplicates(ArrayList<DSLRuntimeCommand> commands)
+	{
+		boolean[] duplicate = new boolean[commands.size()];
+		DSLRuntimeCommand previous = null;
+		int duplicates = 0;
+
+		for (int i = 0; i < commands.size(); i++)
+		{
+			DSLRuntimeCommand command = commands.get(i);
+
+			if (command == null)
+				continue;
+
+			if (previous != null && isSame(previous, command) && dsl.isIdempotent(command.getName()))
+			{
+				duplicate[i] = true;
+				duplicates++;
+				continue;
+			}
+
+			previous = command;
+		}
+
+		if (duplicates > 0)
+			removeMarked(commands, duplicate);
+
+		return duplicates;
+	}
+
+	private String getValue(DSLRuntimeCommand command)
+	{
+		String[] parameters = command.getParameters();
+		return parameters == null || parameters.length == 0 ? "" : parameters[0];
+	}
+
+	private static boolean isSame(DSLRuntimeCommand a, DSLRuntimeCommand b)
+	{
+		return a.getType() == b.getType() && a.getName().equals(b.getName()) && Arrays.equals(a.getParameters(), b.getParameters());
+	}
+
+	private static void removeMarked(ArrayList<DSLRuntimeCommand> commands, boolean[] marked)
+	{
+		int kept = 0;
+
+		for (int i = 0; i < commands.size(); i++)
+			if (!marked[i])
+				commands.set(kept++, commands.get(i));
+
+		commands.subList(kept, commands.size()).clear();
+	}
+}
@@ -0,0 +1,50 @@
+package com.konloch.dsl.runtime;
+
+import com.konloch.dsl.DSL;
+
+/**
+ * A DSLParseListener receives the commands read by a DSLParser.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public interface DSLParseListener
+{
+	/**
+	 * Called for every command read outside of a subscript
+	 *
+	 * @param command the DSLRuntimeCommand that was read
+	 */
+	void onCommand(DSLRuntimeCommand command);
+	
+	/**
+	 * Called for every line read inside of a subscript
+	 *
+	 * @param subscript the subscript name
+	 * @param command the DSLRuntimeCommand that was read, or null if the line is not a valid command
+	 */
+	void onSubscriptCommand(String subscript, DSLRuntimeCommand command);
+	
+	/**
+	 * Called before a command read outside of a subscript is built, so the listener can handle it straight from the lexer
+	 *
+	 * @param lexer the DSLLexer holding the scanned line
+	 * @return true if the line has been handled and no DSLRuntimeCommand should be built for it
+	 */
+	default boolean onLine(DSLLexer lexer)
+	{
+		return false;
+	}
+	
+	/**
+	 * Called in strict mode when a subscript is opened, only subscripts that have been declared can be read
+	 *
+	 * @param dsl the DSL being parsed
+	 * @param subscript the subscript name
+	 * @return true if the subscript has been declared
+	 */
+	default boolean isSubscriptDeclared(DSL dsl, String subscript)
+	{
+		return dsl.getSubscripts().containsKey(subscript);
+	}
+}
@@ -0,0 +1,133 @@
+package com.konloch.dsl.runtime;
+
+import com.konloch.dsl.DSL;
+import com.konloch.dsl.metrics.DSLFlightRecorder;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * A DSLParsedScript holds the commands read from a script without executing any of them.
+ *
+ * Reading only looks at the DSL, so scripts for the same DSL can be read on several threads at once
+ * as long as the DSL is not modified while they are being read.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLParsedScript implements DSLParseListener
+{
+	private final String source;
+	private final ArrayList<DSLRuntimeCommand> commands = new ArrayList<>();
+	private final LinkedHashMap<String, List<DSLRuntimeCommand>> subscripts = new LinkedHashMap<>();
+
+	/**
+	 * Constructs a new empty DSLParsedScript
+	 *
+	 * @param source any String describing where the script was read from
+	 */
+	public DSLParsedScript(String source)
+	{
+		this.source = source;
+	}
+
+	/**
+	 * Reads any UTF-8 encoded Path into a DSLParsedScript.
+	 *
+	 * @param dsl any DSL
+	 * @param path any Path
+	 * @return the DSLParsedScript
+	 * @throws IOException if an I/O error occurs reading from the stream
+	 */
+	public static DSLParsedScript read(DSL dsl, Path path) throws IOException
+	{
+		try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8))
+		{
+			return read(dsl, path.toString(), reader);
+		}
+	}
+
+	/**
+	 * Reads any Reader into a DSLParsedScript. The reader is not closed.
+	 *
+	 * @param dsl any DSL
+	 * @param source any String describing where the script is read from
+	 * @param reader any Reader
+	 * @return the DSLParsedScript
+	 * @throws IOException if an I/O error occurs reading from the stream
+	 */
+	public static DSLParsedScript read(DSL dsl, String source, Reader reader) throws IOException
+	{
+		DSLParsedScript script = new DSLParsedScript(source);
+		DSLParser parser = new DSLParser(dsl, script);
+		BufferedReader bufferedReader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+		Object event = DSLFlightRecorder.beginParse();
+		long lines = 0;
+
+		try
+		{
+			String line;
+			while ((line = bufferedReader.readLine()) != null)
+			{
+				parser.parseLine(line);
+				lines++;
+			}
+		}
+		finally
+		{
+			if (event != null)
+				DSLFlightRecorder.endParse(event, source, lines, false);
+		}
+
+		return script;
+	}
+
+	@Override
+	public void onCommand(DSLRuntimeCommand command)
+	{
+		commands.add(command);
+	}
+
+	@Override
+	public void onSubscriptCommand(String subscript, DSLRuntimeCommand command)
+	{
+		subscripts.computeIfAbsent(subscript, k -> new ArrayList<>()).add(command);
+	}
+
+	/**
+	 * Returns where the script was read from
+	 *
+	 * @return the source as a String
+	 */
+	public String getSource()
+	{
+		return source;
+	}
+
+	/**
+	 * Returns the commands read outside of the subscripts, in the order they were read
+	 *
+	 * @return the top-level DSLRuntimeCommands
+	 */
+	public ArrayList<DSLRuntimeCommand> getCommands()
+	{
+		return commands;
+	}
+
+	/**
+	 * Returns the subscripts defined by the script, in the order they were read
+	 *
+	 * @return the subscript map
+	 */
+	public LinkedHashMap<String, List<DSLRuntimeCommand>> getSubscripts()
+	{
+		return subscripts;
+	}
+}
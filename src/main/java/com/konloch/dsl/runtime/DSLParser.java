@@ -0,0 +1,185 @@
+package com.konloch.dsl.runtime;
+
+import com.konloch.dsl.DSL;
+import com.konloch.dsl.commands.DSLCommandType;
+import com.konloch.dsl.commands.DSLDefinedCommand;
+import com.konloch.dsl.commands.DSLTypedArguments;
+import com.konloch.dsl.metrics.DSLMetrics;
+
+/**
+ * The DSLParser tracks which subscript is being read and hands every command to a DSLParseListener.
+ *
+ * A listener may parse more lines with the same parser while it handles one, the lexer is not read again once a line
+ * has been handed to the listener.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLParser
+{
+	private final DSL dsl;
+	private final DSLLexer lexer;
+	private final DSLParseListener listener;
+	private String insideSubscript;
+	
+	/**
+	 * Construct a new instance of the DSLParser
+	 *
+	 * @param dsl any DSL
+	 * @param listener the DSLParseListener to hand the commands to
+	 */
+	public DSLParser(DSL dsl, DSLParseListener listener)
+	{
+		this.dsl = dsl;
+		this.lexer = new DSLLexer(dsl);
+		this.listener = listener;
+	}
+	
+	/**
+	 * Signal to the parser that the parsing has stopped externally.
+	 */
+	public void stopParse()
+	{
+		insideSubscript = null;
+	}
+	
+	/**
+	 * Continue parsing as if a subscript has just been opened, so the following lines are read as part of its body.
+	 *
+	 * @param name any String as the subscript name
+	 */
+	public void startSubscript(String name)
+	{
+		insideSubscript = name;
+	}
+	
+	/**
+	 * Attempts to parse any String, commands outside of a subscript and inside of a subscript are handed to the listener
+	 *
+	 * @param line any String
+	 */
+	public void parseLine(String line)
+	{
+		DSLMetrics metrics = dsl.getMetrics();
+		
+		if (metrics != null)
+			metrics.lineProcessed();
+		
+		if (!lexer.scan(line))
+			return;
+		
+		if (lexer.isComment())
+		{
+			if (metrics != null)
+				metrics.commentSkipped();
+			
+			return;
+		}
+		
+		//if not currently processing a subscript, parse normally
+		if(insideSubscript == null)
+		{
+			if (lexer.isSubscriptStart())
+			{
+				String functionName = lexer.getSubscriptName();
+				
+				if (!functionName.isEmpty() && (!dsl.isStrictMode() || listener.isSubscriptDeclared(dsl, functionName)))
+				{
+					insideSubscript = functionName;
+				}
+			}
+			else
+			{
+				//let the listener handle the line straight from the lexer if it can
+				if (listener.onLine(lexer))
+					return;
+				
+				//turn the line into a runtime command
+				DSLRuntimeCommand command = convert(dsl, lexer.buildCommand());
+				
+				if (metrics != null)
+					countUnknown(metrics, command);
+				
+				//TODO should alert unknown command was reached here
+				if(command == null)
+					return;
+				
+				listener.onCommand(command);
+			}
+		}
+		else
+		{
+			if (lexer.isSubscriptEnd())
+			{
+				insideSubscript = null;
+			}
+			else
+			{
+				//turn the line into a runtime command and add it to the script
+				DSLRuntimeCommand command = convert(dsl, lexer.buildCommand(dsl.getStringPool()));
+				
+				if (metrics != null)
+					countUnknown(metrics, command);
+				
+				listener.onSubscriptCommand(insideSubscript, command);
+			}
+		}
+	}
+	
+	/**
+	 * Converts the parameters of commands handled with a declared signature, so type errors are thrown while parsing
+	 *
+	 * @param dsl any DSL
+	 * @param command any DSLRuntimeCommand, or null
+	 * @return the DSLRuntimeCommand with its typed arguments, or the command itself if it has no signature
+	 */
+	static DSLRuntimeCommand convert(DSL dsl, DSLRuntimeCommand command)
+	{
+		if (command == null)
+			return null;
+		
+		DSLDefinedCommand handler = dsl.getHandler(command.getSymbol(dsl.getSymbols()));
+		
+		if (handler == null || handler.getSignature() == null)
+			return command;
+		
+		String[] parameters = command.getParameters();
+		
+		//variable values that reference other variables can only be converted once they are resolved
+		if (handler.getType() == DSLCommandType.VARIABLE)
+		{
+			if (parameters == null || parameters.length == 0 || parameters[0].indexOf(dsl.getVariableDelimiter()) != -1)
+				return command;
+			
+			parameters = new String[]{parameters[0]};
+		}
+		
+		return new DSLRuntimeCommand(command, DSLTypedArguments.parse(handler.getName(), handler.getSignature(), parameters));
+	}
+	
+	private void countUnknown(DSLMetrics metrics, DSLRuntimeCommand command)
+	{
+		if (command == null || dsl.getHandler(command.getSymbol(dsl.getSymbols())) == null)
+			metrics.unknownCommand();
+	}
+	
+	/**
+	 * Returns the subscript currently being read
+	 *
+	 * @return the subscript name, or null if the parser is not inside of a subscript
+	 */
+	public String getInsideSubscript()
+	{
+		return insideSubscript;
+	}
+	
+	/**
+	 * Returns the DSLLexer used by this parser
+	 *
+	 * @return the DSLLexer instance
+	 */
+	public DSLLexer getLexer()
+	{
+		return lexer;
+	}
+}
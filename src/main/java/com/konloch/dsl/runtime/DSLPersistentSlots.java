@@ -0,0 +1,221 @@
+package com.konloch.dsl.runtime;
+
+import java.util.function.ObjIntConsumer;
+
+/**
+ * An immutable array indexed by symbol, stored as a 32-way trie.
+ *
+ * Setting a slot copies only the nodes on the path to it and shares every other node with the original, so a copy
+ * with one slot changed costs a few small arrays no matter how many slots are set. Keeping an older instance around
+ * is a snapshot of it, holding it costs nothing more.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public final class DSLPersistentSlots<T>
+{
+	private static final int BITS = 5;
+	private static final int WIDTH = 1 << BITS;
+	private static final int MASK = WIDTH - 1;
+	private static final DSLPersistentSlots<Object> EMPTY = new DSLPersistentSlots<>(new Object[WIDTH], 0, 0);
+
+	private final Object[] root;
+	private final int shift;
+	private final int size;
+
+	private DSLPersistentSlots(Object[] root, int shift, int size)
+	{
+		this.root = root;
+		this.shift = shift;
+		this.size = size;
+	}
+
+	/**
+	 * Returns the instance without any slot set
+	 *
+	 * @return the empty DSLPersistentSlots
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> DSLPersistentSlots<T> empty()
+	{
+		return (DSLPersistentSlots<T>) EMPTY;
+	}
+
+	/**
+	 * Returns the value of a slot
+	 *
+	 * @param index any symbol
+	 * @return the value, or null if the slot is not set
+	 */
+	@SuppressWarnings("unchecked")
+	public T get(int index)
+	{
+		if (index < 0 || (index >>> shift) >= WIDTH)
+			return null;
+
+		Object[] node = root;
+
+		for (int level = shift; level > 0; level -= BITS)
+		{
+			node = (Object[]) node[(index >>> level) & MASK];
+
+			if (node == null)
+				return null;
+		}
+
+		return (T) node[index & MASK];
+	}
+
+	/**
+	 * Returns a copy with one slot changed, this instance is left as it is
+	 *
+	 * @param index any symbol
+	 * @param value the new value, or null to clear the slot
+	 * @return the changed copy, or this instance if the slot already holds the value
+	 */
+	public DSLPersistentSlots<T> with(int index, T value)
+	{
+		if (index < 0)
+			throw new RuntimeException("Invalid slot " + index);
+
+		T previous = get(index);
+
+		if (previous == value)
+			return this;
+
+		Object[] root = this.root;
+		int shift = this.shift;
+
+		//every new level puts the current trie in the first slot of a new root
+		while ((index >>> shift) >= WIDTH)
+		{
+			Object[] grown = new Object[WIDTH];
+			grown[0] = root;
+			root = grown;
+			shift += BITS;
+		}
+
+		int size = this.size + (previous == null ? 1 : 0) - (value == null ? 1 : 0);
+		return new DSLPersistentSlots<>(set(root, shift, index, value), shift, size);
+	}
+
+	/**
+	 * Returns a copy with several slots set to the same value, every node on the way is copied only once
+	 *
+	 * @param indexes the symbols of the slots, sorted in ascending order without duplicates
+	 * @param count the amount of indexes to use
+	 * @param value the new value, or null to clear the slots
+	 * @return the changed copy
+	 */
+	public DSLPersistentSlots<T> withAll(int[] indexes, int count, T value)
+	{
+		if (count == 0)
+			return this;
+
+		if (indexes[0] < 0)
+			throw new RuntimeException("Invalid slot " + indexes[0]);
+
+		Object[] root = this.root;
+		int shift = this.shift;
+
+		while ((indexes[count - 1] >>> shift) >= WIDTH)
+		{
+			Object[] grown = new Object[WIDTH];
+			grown[0] = root;
+			root = grown;
+			shift += BITS;
+		}
+
+		int size = this.size;
+		for (int i = 0; i < count; i++)
+		{
+			boolean set = get(indexes[i]) != null;
+
+			if (set && value == null)
+				size--;
+			else if (!set && value != null)
+				size++;
+		}
+
+		return new DSLPersistentSlots<>(setAll(root, shift, indexes, 0, count, value), shift, size);
+	}
+
+	/**
+	 * Returns the amount of slots that are set
+	 *
+	 * @return the amount of set slots
+	 */
+	public int size()
+	{
+		return size;
+	}
+
+	/**
+	 * Calls the consumer with every set slot, in the order of their index
+	 *
+	 * @param consumer the ObjIntConsumer receiving the value and the index of every set slot
+	 */
+	@SuppressWarnings("unchecked")
+	public void forEach(ObjIntConsumer<T> consumer)
+	{
+		forEach(root, shift, 0, (ObjIntConsumer<Object>) consumer);
+	}
+
+	private static Object[] set(Object[] node, int level, int index, Object value)
+	{
+		Object[] copy = node == null ? new Object[WIDTH] : node.clone();
+		int slot = (index >>> level) & MASK;
+
+		if (level == 0)
+			copy[slot] = value;
+		else
+			copy[slot] = set((Object[]) copy[slot], level - BITS, index, value);
+
+		return copy;
+	}
+
+	private static Object[] setAll(Object[] node, int level, int[] indexes, int from, int to, Object value)
+	{
+		Object[] copy = node == null ? new Object[WIDTH] : node.clone();
+
+		//the indexes are sorted, so the ones under the same child are next to each other
+		while (from < to)
+		{
+			int slot = (indexes[from] >>> level) & MASK;
+
+			if (level == 0)
+			{
+				copy[slot] = value;
+				from++;
+				continue;
+			}
+
+			int end = from + 1;
+			while (end < to && ((indexes[end] >>> level) & MASK) == slot)
+				end++;
+
+			copy[slot] = setAll((Object[]) copy[slot], level - BITS, indexes, from, end, value);
+			from = end;
+		}
+
+		return copy;
+	}
+
+	private static void forEach(Object[] node, int level, int base, ObjIntConsumer<Object> consumer)
+	{
+		for (int slot = 0; slot < WIDTH; slot++)
+		{
+			Object child = node[slot];
+
+			if (child == null)
+				continue;
+
+			int index = base | (slot << level);
+
+			if (level == 0)
+				consumer.accept(child, index);
+			else
+				forEach((Object[]) child, level - BITS, index, consumer);
+		}
+	}
+}
@@ -0,0 +1,205 @@
+package com.konloch.dsl.runtime;
+
+import com.konloch.dsl.DSL;
+import com.konloch.dsl.metrics.DSLFlightRecorder;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashSet;
+
+/**
+ * The DSLPipelinedParser reads and lexes a script on one thread while the calling thread executes it.
+ *
+ * A reader thread turns every line into a DSLRuntimeCommand and passes it through a DSLRingBuffer. The calling
+ * thread takes the commands out in their original order and executes them the same way DSL.parse would, so
+ * handlers still run on the calling thread. When the buffer is full the reader thread waits, so a slow handler
+ * holds back reading instead of letting the whole script pile up in memory.
+ *
+ * The handlers and, in strict mode, the declared subscripts are read by both threads, so they should not be
+ * changed by the handlers while a script is being parsed.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLPipelinedParser
+{
+	//marks the end of the script, nothing follows it
+	private static final Object END = new Object();
+
+	private final DSL dsl;
+	private final int capacity;
+
+	/**
+	 * Construct a new instance of the DSLPipelinedParser
+	 *
+	 * @param dsl any DSL
+	 * @param capacity the amount of commands that can be read ahead of the one being executed
+	 */
+	public DSLPipelinedParser(DSL dsl, int capacity)
+	{
+		this.dsl = dsl;
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Parse any Reader and execute / load the script. The reader is not closed.
+	 *
+	 * If a handler throws, reading stops after the current line and the exception is thrown once the reader
+	 * thread has finished, so the Reader is no longer in use when this returns.
+	 *
+	 * @param reader any Reader
+	 * @throws IOException if an I/O error occurs reading from the stream
+	 */
+	public void parse(Reader reader) throws IOException
+	{
+		parse(reader, "Reader");
+	}
+
+	/**
+	 * Parse any Reader and execute / load the script, see parse(Reader). The reader is not closed.
+	 *
+	 * @param reader any Reader
+	 * @param source any String describing where the script is read from
+	 * @throws IOException if an I/O error occurs reading from the stream
+	 */
+	public void parse(Reader reader, String source) throws IOException
+	{
+		BufferedReader bufferedReader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+		DSLRingBuffer<Object> buffer = new DSLRingBuffer<>(capacity);
+		Object event = DSLFlightRecorder.beginParse();
+		//written by the reader thread once it is done, read after it has been joined
+		long[] lines = new long[1];
+		Thread thread = new Thread(() -> read(bufferedReader, buffer, lines), "DSLPipelinedParser");
+		thread.setDaemon(true);
+		thread.start();
+
+		try
+		{
+			Object entry;
+			while ((entry = buffer.take()) != END)
+			{
+				if (entry instanceof DSLRuntimeCommand)
+					dsl.getRuntime().onCommand((DSLRuntimeCommand) entry);
+				else if (entry instanceof SubscriptCommand)
+					dsl.getRuntime().onSubscriptCommand(((SubscriptCommand) entry).subscript, ((SubscriptCommand) entry).command);
+				else
+					throw failure((Throwable) entry);
+			}
+		}
+		finally
+		{
+			buffer.close();
+			join(thread);
+
+			try
+			{
+				dsl.getRuntime().awaitPending();
+			}
+			finally
+			{
+				if (event != null)
+					DSLFlightRecorder.endParse(event, source, lines[0], false);
+			}
+		}
+	}
+
+	/**
+	 * Reads and lexes every line on the reader thread, the last entry is always END or the Throwable reading failed with
+	 */
+	private void read(BufferedReader reader, DSLRingBuffer<Object> buffer, long[] lines)
+	{
+		//strict mode is checked against the subscripts declared before parsing, the map is changed by the other thread
+		HashSet<String> declared = new HashSet<>(dsl.getSubscripts().keySet());
+
+		DSLParser parser = new DSLParser(dsl, new DSLParseListener()
+		{
+			@Override
+			public void onCommand(DSLRuntimeCommand command)
+			{
+				buffer.put(command);
+			}
+
+			@Override
+			public void onSubscriptCommand(String subscript, DSLRuntimeCommand command)
+			{
+				buffer.put(new SubscriptCommand(subscript, command));
+			}
+
+			@Override
+			public boolean isSubscriptDeclared(DSL dsl, String subscript)
+			{
+				return declared.contains(subscript);
+			}
+		});
+
+		long count = 0;
+
+		try
+		{
+			String line;
+			while (!buffer.isClosed() && (line = reader.readLine()) != null)
+			{
+				parser.parseLine(line);
+				count++;
+			}
+
+			lines[0] = count;
+			buffer.put(END);
+		}
+		catch (Throwable t)
+		{
+			buffer.put(t);
+		}
+	}
+
+	private static IOException failure(Throwable t)
+	{
+		if (t instanceof IOException)
+			return (IOException) t;
+
+		if (t instanceof RuntimeException)
+			throw (RuntimeException) t;
+
+		if (t instanceof Error)
+			throw (Error) t;
+
+		return new IOException(t);
+	}
+
+	private static void join(Thread thread)
+	{
+		boolean interrupted = false;
+
+		while (true)
+		{
+			try
+			{
+				thread.join();
+				break;
+			}
+			catch (InterruptedException e)
+			{
+				interrupted = true;
+			}
+		}
+
+		if (interrupted)
+			Thread.currentThread().interrupt();
+	}
+
+	/**
+	 * A command read inside of a subscript
+	 */
+	private static final class SubscriptCommand
+	{
+		private final String subscript;
+		private final DSLRuntimeCommand command;
+
+		private SubscriptCommand(String subscript, DSLRuntimeCommand command)
+		{
+			this.subscript = subscript;
+			this.command = command;
+		}
+	}
+}
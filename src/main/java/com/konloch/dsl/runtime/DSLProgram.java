@@ -0,0 +1,316 @@
+package com.konloch.dsl.runtime;
+
+import com.konloch.dsl.DSL;
+import com.konloch.dsl.commands.DSLDefinedCommand;
+import com.konloch.dsl.metrics.DSLMetrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A DSLProgram is an immutable compiled snapshot of a DSL.
+ *
+ * It holds the delimiters, the handlers and the compiled subscripts, and can be shared between threads.
+ * Variable state lives in a DSLContext, so each thread executes against its own context without any locking.
+ * The values of the runtime variables are resolved once when the program is compiled and shared by every context,
+ * a context only stores the variables it sets itself.
+ *
+ * Changes made to the DSL after it has been compiled are not seen by the DSLProgram. The exception are lazily loaded
+ * subscripts that haven't been read yet, those are read and compiled the first time the program asks for them, so they
+ * are bound to the handlers the DSL has at that time.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLProgram
+{
+	private final char variableDelimiter;
+	private final DSLSymbolTable symbols;
+	private final Map<String, DSLDefinedCommand> commands;
+	private final DSL dsl;
+	private final ConcurrentHashMap<String, DSLCompiledSubscript> subscripts;
+	//lazily loaded subscripts that were not read yet when the program was compiled, compiled on first use
+	private final Map<String, List<DSLRuntimeCommand>> lazySubscripts;
+	private final Map<String, DSLRuntimeCommand> variables;
+	private final DSLRuntimeCommand[] baseline;
+	private final String[] values;
+	private final int[][] dependents;
+	private final DSLMetrics metrics;
+
+	/**
+	 * Compiles a new DSLProgram from the current state of any DSL
+	 *
+	 * @param dsl any DSL
+	 */
+	public DSLProgram(DSL dsl)
+	{
+		this.variableDelimiter = dsl.getVariableDelimiter();
+		this.symbols = dsl.getSymbols();
+		this.commands = Collections.unmodifiableMap(new HashMap<>(dsl.getCommands()));
+		this.dsl = dsl;
+
+		ConcurrentHashMap<String, DSLCompiledSubscript> subscripts = new ConcurrentHashMap<>();
+		HashMap<String, List<DSLRuntimeCommand>> lazySubscripts = new HashMap<>();
+		for (Map.Entry<String, List<DSLRuntimeCommand>> subscript : dsl.getSubscripts().entrySet())
+		{
+			if (subscript.getValue() instanceof DSLLazySubscript && !((DSLLazySubscript) subscript.getValue()).isMaterialized())
+				lazySubscripts.put(subscript.getKey(), subscript.getValue());
+			else
+				subscripts.put(subscript.getKey(), dsl.compile(subscript.getKey()));
+		}
+
+		this.subscripts = subscripts;
+		this.lazySubscripts = Collections.unmodifiableMap(lazySubscripts);
+		this.variables = Collections.unmodifiableMap(new LinkedHashMap<>(dsl.getRuntime().getCommands()));
+		this.metrics = dsl.getMetrics();
+
+		//record which variables reference each name, references to names that are not set yet are interned too
+		HashMap<Integer, ArrayList<Integer>> references = new HashMap<>();
+		for (DSLRuntimeCommand variable : variables.values())
+		{
+			int symbol = variable.getSymbol(symbols);
+			String[] parameters = variable.getParameters();
+			String template = parameters == null || parameters.length == 0 ? "" : parameters[0];
+			int start = template.indexOf(variableDelimiter);
+
+			while (start != -1)
+			{
+				int end = template.indexOf(variableDelimiter, start + 1);
+
+				if (end == -1)
+					break;
+
+				references.computeIfAbsent(symbols.intern(template, start + 1, end), k -> new ArrayList<>()).add(symbol);
+				start = template.indexOf(variableDelimiter, end + 1);
+			}
+		}
+
+		int size = symbols.size();
+		this.baseline = new DSLRuntimeCommand[size];
+		this.values = new String[size];
+		this.dependents = new int[size][];
+
+		for (Map.Entry<Integer, ArrayList<Integer>> reference : references.entrySet())
+		{
+			ArrayList<Integer> dependentSymbols = reference.getValue();
+			int[] array = new int[dependentSymbols.size()];
+
+			for (int i = 0; i < array.length; i++)
+				array[i] = dependentSymbols.get(i);
+
+			dependents[reference.getKey()] = array;
+		}
+
+		//resolve every value once, values that can't be resolved are left to fail in the context that uses them
+		DSLCommandMap resolver = new DSLCommandMap(variableDelimiter, symbols);
+		resolver.putAll(variables);
+		for (DSLRuntimeCommand variable : variables.values())
+		{
+			int symbol = variable.getSymbol(symbols);
+			baseline[symbol] = variable;
+
+			try
+			{
+				values[symbol] = resolver.getResolver().getVariableValue(variable);
+			}
+			catch (RuntimeException e)
+			{
+				values[symbol] = null;
+			}
+		}
+	}
+	
+	/**
+	 * Constructs a DSLProgram that shares everything with another DSLProgram except for its subscripts
+	 */
+	private DSLProgram(DSLProgram program, ConcurrentHashMap<String, DSLCompiledSubscript> subscripts, Map<String, List<DSLRuntimeCommand>> lazySubscripts)
+	{
+		this.variableDelimiter = program.variableDelimiter;
+		this.symbols = program.symbols;
+		this.commands = program.commands;
+		this.dsl = program.dsl;
+		this.subscripts = subscripts;
+		this.lazySubscripts = lazySubscripts;
+		this.variables = program.variables;
+		this.baseline = program.baseline;
+		this.values = program.values;
+		this.dependents = program.dependents;
+		this.metrics = program.metrics;
+	}
+	
+	/**
+	 * Returns a new DSLProgram with some subscripts replaced or removed, everything else is shared with this program.
+	 *
+	 * This program is not changed, so threads running it can finish on it without being interrupted.
+	 *
+	 * @param replaced the DSLCompiledSubscripts to add or replace, by name
+	 * @param removed the names of the subscripts to remove
+	 * @return the new DSLProgram
+	 */
+	public DSLProgram withSubscripts(Map<String, DSLCompiledSubscript> replaced, Collection<String> removed)
+	{
+		ConcurrentHashMap<String, DSLCompiledSubscript> subscripts = new ConcurrentHashMap<>(this.subscripts);
+		HashMap<String, List<DSLRuntimeCommand>> lazySubscripts = new HashMap<>(this.lazySubscripts);
+		
+		for (String name : removed)
+		{
+			subscripts.remove(name);
+			lazySubscripts.remove(name);
+		}
+		
+		for (String name : replaced.keySet())
+			lazySubscripts.remove(name);
+		
+		subscripts.putAll(replaced);
+		return new DSLProgram(this, subscripts, Collections.unmodifiableMap(lazySubscripts));
+	}
+
+	/**
+	 * Creates a new DSLContext starting from the variables that were set when this program was compiled.
+	 *
+	 * Creating a context doesn't copy anything, it only stores the variables that are later set on it. The program
+	 * doesn't keep the contexts it creates, so a thread that wants to keep its variables between runs holds on to its own.
+	 *
+	 * @return a new DSLContext
+	 */
+	public DSLContext newContext()
+	{
+		return new DSLContext(this);
+	}
+
+	/**
+	 * Runs a subscript against a new DSLContext. Throws a Runtime Exception if the Subscript doesn't exist.
+	 *
+	 * @param name any String as the subscript name
+	 * @return the DSLContext the subscript ran against, holding the variables it set
+	 */
+	public DSLContext run(String name)
+	{
+		return newContext().run(name);
+	}
+
+	/**
+	 * Creates a DSLScheduler to run several subscripts of this program concurrently
+	 *
+	 * @return a new DSLScheduler
+	 */
+	public DSLScheduler schedule()
+	{
+		return new DSLScheduler(this);
+	}
+	
+	/**
+	 * Returns the compiled subscript associated with a String name. Throws a Runtime Exception if the Subscript doesn't exist.
+	 *
+	 * A lazily loaded subscript is read and compiled the first time it is asked for.
+	 *
+	 * @param name any String as the subscript name
+	 * @return the DSLCompiledSubscript
+	 */
+	public DSLCompiledSubscript getSubscript(String name)
+	{
+		DSLCompiledSubscript subscript = subscripts.get(name);
+
+		if(subscript == null)
+		{
+			List<DSLRuntimeCommand> lazySubscript = lazySubscripts.get(name);
+
+			if(lazySubscript == null)
+				throw new RuntimeException("Subscript " + name + " not found");
+
+			subscript = subscripts.computeIfAbsent(name, key -> new DSLCompiledSubscript(dsl, key, lazySubscript));
+		}
+
+		return subscript;
+	}
+
+	/**
+	 * Returns the variable delimiter
+	 *
+	 * @return the variable delimiter as a char
+	 */
+	public char getVariableDelimiter()
+	{
+		return variableDelimiter;
+	}
+
+	/**
+	 * Returns the DSLSymbolTable shared with the DSL this program was compiled from
+	 *
+	 * @return the DSLSymbolTable instance
+	 */
+	public DSLSymbolTable getSymbols()
+	{
+		return symbols;
+	}
+	
+	/**
+	 * Returns the DSLMetrics this program records to
+	 *
+	 * @return the DSLMetrics, or null if metrics are not being recorded
+	 */
+	public DSLMetrics getMetrics()
+	{
+		return metrics;
+	}
+
+	/**
+	 * Returns the handlers this program was compiled with
+	 *
+	 * @return the unmodifiable command map
+	 */
+	public Map<String, DSLDefinedCommand> getCommands()
+	{
+		return commands;
+	}
+
+	/**
+	 * Returns the compiled subscripts, lazily loaded subscripts are only included once they have been compiled
+	 *
+	 * @return the unmodifiable subscript map
+	 */
+	public Map<String, DSLCompiledSubscript> getSubscripts()
+	{
+		return Collections.unmodifiableMap(subscripts);
+	}
+
+	/**
+	 * Returns the runtime command that was stored under a symbol when this program was compiled
+	 */
+	DSLRuntimeCommand getVariable(int symbol)
+	{
+		return symbol >= 0 && symbol < baseline.length ? baseline[symbol] : null;
+	}
+
+	/**
+	 * Returns the resolved value of the runtime command stored under a symbol, or null if it could not be resolved
+	 */
+	String getValue(int symbol)
+	{
+		return symbol >= 0 && symbol < values.length ? values[symbol] : null;
+	}
+
+	/**
+	 * Returns the symbols of the runtime commands whose value references a symbol, or null if there are none
+	 */
+	int[] getDependents(int symbol)
+	{
+		return symbol >= 0 && symbol < dependents.length ? dependents[symbol] : null;
+	}
+
+	/**
+	 * Returns the runtime commands that were set when this program was compiled, every DSLContext starts from these.
+	 *
+	 * @return the unmodifiable runtime command map
+	 */
+	public Map<String, DSLRuntimeCommand> getVariables()
+	{
+		return variables;
+	}
+}
@@ -0,0 +1,195 @@
+package com.konloch.dsl.runtime;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A bounded lock-free ring buffer for exactly one producer thread and one consumer thread.
+ *
+ * The producer only writes the tail and the consumer only writes the head, so neither side ever locks. Each side
+ * keeps a cached copy of the other side's position and only reads the shared one when the cached copy says the
+ * buffer is full or empty. put waits while the buffer is full, which holds the producer back until the consumer
+ * catches up.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLRingBuffer<T>
+{
+	private static final int SPINS = 64;
+	private static final int YIELDS = 64;
+	private static final long PARK_NANOS = 20_000;
+
+	private final Object[] buffer;
+	private final int mask;
+	private final AtomicLong head = new AtomicLong();
+	private final AtomicLong tail = new AtomicLong();
+	private volatile boolean closed;
+
+	//only read and written by the producer
+	private long cachedHead;
+	//only read and written by the consumer
+	private long cachedTail;
+
+	/**
+	 * Constructs a new DSLRingBuffer
+	 *
+	 * @param capacity the amount of values the buffer can hold, rounded up to a power of two
+	 */
+	public DSLRingBuffer(int capacity)
+	{
+		if (capacity < 1 || capacity > 1 << 30)
+			throw new RuntimeException("Ring buffer capacity must be between 1 and " + (1 << 30) + " but was " + capacity);
+
+		int size = Integer.highestOneBit(capacity);
+
+		if (size < capacity)
+			size <<= 1;
+
+		this.buffer = new Object[size];
+		this.mask = size - 1;
+	}
+
+	/**
+	 * Adds a value if there is room for it, may only be called by the producer
+	 *
+	 * @param value any non-null value
+	 * @return true if the value was added, false if the buffer is full
+	 */
+	public boolean offer(T value)
+	{
+		long tail = this.tail.get();
+
+		if (tail - cachedHead >= buffer.length)
+		{
+			cachedHead = head.get();
+
+			if (tail - cachedHead >= buffer.length)
+				return false;
+		}
+
+		buffer[(int) tail & mask] = value;
+
+		//the ordered write publishes the value before the new tail
+		this.tail.lazySet(tail + 1);
+		return true;
+	}
+
+	/**
+	 * Adds a value, waiting while the buffer is full. May only be called by the producer.
+	 *
+	 * @param value any non-null value
+	 * @return true if the value was added, false if the buffer was closed before there was room for it
+	 */
+	public boolean put(T value)
+	{
+		for (int attempt = 0; !offer(value); attempt++)
+		{
+			if (closed)
+				return false;
+
+			idle(attempt);
+		}
+
+		return true;
+	}
+
+	/**
+	 * Removes the oldest value, may only be called by the consumer
+	 *
+	 * @return the oldest value, or null if the buffer is empty
+	 */
+	@SuppressWarnings("unchecked")
+	public T poll()
+	{
+		long head = this.head.get();
+
+		if (head >= cachedTail)
+		{
+			cachedTail = tail.get();
+
+			if (head >= cachedTail)
+				return null;
+		}
+
+		int index = (int) head & mask;
+		T value = (T) buffer[index];
+		buffer[index] = null;
+
+		//the ordered write frees the slot only after it has been read
+		this.head.lazySet(head + 1);
+		return value;
+	}
+
+	/**
+	 * Removes the oldest value, waiting while the buffer is empty. May only be called by the consumer.
+	 *
+	 * @return the oldest value, or null if the buffer was closed while it was empty
+	 */
+	public T take()
+	{
+		T value;
+
+		for (int attempt = 0; (value = poll()) == null; attempt++)
+		{
+			if (closed)
+				return poll();
+
+			idle(attempt);
+		}
+
+		return value;
+	}
+
+	/**
+	 * Closes the buffer, a producer or consumer waiting on it gives up instead of waiting forever
+	 */
+	public void close()
+	{
+		closed = true;
+	}
+
+	/**
+	 * Returns true if the buffer has been closed
+	 *
+	 * @return true if close has been called
+	 */
+	public boolean isClosed()
+	{
+		return closed;
+	}
+
+	/**
+	 * Returns the amount of values waiting in the buffer, only an estimate while both sides are running
+	 *
+	 * @return the amount of values
+	 */
+	public int size()
+	{
+		return (int) Math.max(0, tail.get() - head.get());
+	}
+
+	/**
+	 * Returns the amount of values the buffer can hold
+	 *
+	 * @return the capacity
+	 */
+	public int capacity()
+	{
+		return buffer.length;
+	}
+
+	/**
+	 * Spins first since the other side is usually only a moment away, then yields, then parks
+	 */
+	private static void idle(int attempt)
+	{
+		if (attempt < SPINS)
+			return;
+
+		if (attempt < SPINS + YIELDS)
+			Thread.yield();
+		else
+			LockSupport.parkNanos(PARK_NANOS);
+	}
+}
@@ -1,13 +1,19 @@
 package com.konloch.dsl.runtime;
 
 import com.konloch.dsl.DSL;
+import com.konloch.dsl.commands.ArgumentRunnable;
 import com.konloch.dsl.commands.DSLCommandType;
 import com.konloch.dsl.commands.DSLDefinedCommand;
-import com.konloch.util.FastStringUtils;
+import com.konloch.dsl.commands.DSLTypedArguments;
+import com.konloch.dsl.metrics.DSLFlightRecorder;
+import com.konloch.dsl.metrics.DSLMetrics;
 
-import java.util.ArrayList;
+import java.util.ArrayDeque;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 /**
  * The DSLRuntime parses and executes Strings based on the supplied DSL.
@@ -15,11 +21,20 @@ import java.util.LinkedHashMap;
  * @author Konloch
  * @since Jan, 17th, 2017
  */
-public class DSLRuntime
+public class DSLRuntime implements DSLVariableScope, DSLParseListener
 {
+	//how many independent calls can be handed off before the oldest one has to finish
+	private static final int MAX_PENDING = 4096;
+	
 	private final DSL dsl;
-	private final LinkedHashMap<String, DSLRuntimeCommand> commands = new LinkedHashMap<>();
-	private String insideSubscript;
+	private final DSLParser parser;
+	private final DSLCommandMap commands;
+	private final DSLLineArguments lineArguments = new DSLLineArguments();
+	//how many argument function calls made by onLine are running, a handler that parses more lines makes this more than one
+	private int lineDepth;
+	private final ArrayDeque<CompletableFuture<Void>> pending = new ArrayDeque<>();
+	//the first failure of a call that is no longer pending, later ones are added to it as suppressed
+	private Throwable pendingFailure;
 	
 	/**
 	 * Construct a new instance of the DSLRuntime
@@ -29,14 +44,17 @@ public class DSLRuntime
 	public DSLRuntime(DSL dsl)
 	{
 		this.dsl = dsl;
+		this.parser = new DSLParser(dsl, this);
+		this.commands = new DSLCommandMap(dsl.getVariableDelimiter(), dsl.getSymbols());
 	}
 	
 	/**
-	 * Signal to the runtime that the parsing has stopped externally.
+	 * Signal to the runtime that the parsing has stopped externally, this waits for every independent call that is still running.
 	 */
 	public void stopParse()
 	{
-		insideSubscript = null;
+		parser.stopParse();
+		awaitPending();
 	}
 	
 	/**
@@ -46,85 +64,130 @@ public class DSLRuntime
 	 */
 	public void parseLine(String line)
 	{
-		if (line == null)
-			return;
+		parser.parseLine(line);
+	}
+	
+	/**
+	 * Stores the parsed DSL command to be processed if needed, then executes it.
+	 *
+	 * Calls to independent handlers are handed to the executor of the DSL if it has one, any other command first
+	 * waits for those to finish.
+	 *
+	 * @param command any DSLRuntimeCommand read outside of a subscript
+	 */
+	@Override
+	public void onCommand(DSLRuntimeCommand command)
+	{
+		DSLDefinedCommand definedCommand = dsl.getHandler(command.getSymbol(dsl.getSymbols()));
 		
-		line = line.trim();
+		//store the parsed DSL command to be processed if needed, calls to argument functions are never stored
+		if(definedCommand == null || definedCommand.getArgumentRunnable() == null)
+			commands.put(command.getName(), command);
 		
-		if (line.isEmpty())
+		if(definedCommand == null)
 			return;
 		
-		if (line.startsWith(dsl.getCommentDelimiter()))
+		Executor executor = dsl.getExecutor();
+		
+		if(executor != null && dsl.isIndependent(definedCommand.getName()))
+		{
+			String[] parameters = command.getParameters();
+			submit(executor, definedCommand.getName(), parameters == null ? 0 : parameters.length, bind(definedCommand, command));
 			return;
+		}
+		
+		//commands that aren't independent run after everything before them
+		awaitPending();
+		
+		//execute the runtime command
+		execute(command);
+	}
+	
+	/**
+	 * Calls functions defined with an ArgumentRunnable straight from the scanned line, without building a
+	 * DSLRuntimeCommand or any parameter Strings. These calls are not stored in the command map.
+	 *
+	 * A handler may parse more lines while it runs, the calls it makes that way read their own arguments.
+	 *
+	 * @param lexer the DSLLexer holding the scanned line
+	 * @return true if the line was a call to a function defined with an ArgumentRunnable
+	 */
+	@Override
+	public boolean onLine(DSLLexer lexer)
+	{
+		if (!dsl.hasArgumentFunctions() || !lexer.isFunctionCall())
+			return false;
+		
+		DSLDefinedCommand command = dsl.getHandler(dsl.getSymbols().get(lexer.getLine(), lexer.getFunctionNameStart(), lexer.getFunctionNameEnd()));
 		
-		//if not currently processing a subscript, parse normally
-		if(insideSubscript == null)
+		if(command == null || command.getArgumentRunnable() == null)
+			return false;
+		
+		Executor executor = dsl.getExecutor();
+		
+		if(executor != null && dsl.isIndependent(command.getName()))
 		{
-			if (line.contains(dsl.getBracketDelimiterStart()))
-			{
-				//turn the line into a runtime command
-				DSLRuntimeCommand command = buildRuntimeCommand(line);
-				
-				//TODO should alert unknown command was reached here
-				if(command == null)
-					return;
-				
-				//store the parsed DSL command to be processed if needed
-				commands.put(command.getName(), command);
-				
-				//execute the runtime command
-				execute(command);
-			}
-			else if (line.endsWith(dsl.getSubscriptDelimiterStart()))
-			{
-				String functionName = line.substring(0, line.length()-1).trim();
-				
-				if (!functionName.isEmpty() && (!dsl.isStrictMode() || dsl.isStrictMode() && dsl.getSubscripts().containsKey(functionName)))
-				{
-					insideSubscript = functionName;
-				}
-			}
-			else
-			{
-				//turn the line into a runtime command
-				DSLRuntimeCommand command = buildRuntimeCommand(line);
-				
-				//TODO should alert unknown command was reached here
-				if(command == null)
-					return;
-				
-				//store the parsed DSL command to be processed if needed
-				commands.put(command.getName(), command);
-				
-				//execute the runtime command
-				execute(command);
-			}
+			//the line arguments are reused for every line, so a call that is handed off gets its own copy
+			ArgumentRunnable argumentRunnable = command.getArgumentRunnable();
+			DSLArrayArguments arguments = new DSLArrayArguments(lexer.buildCommand().getParameters());
+			submit(executor, command.getName(), arguments.size(), () -> argumentRunnable.run(arguments));
+			return true;
 		}
-		else
+		
+		awaitPending();
+		
+		//a handler that parses more lines is still using the shared arguments, so the nested calls get their own
+		DSLLineArguments arguments = lineDepth == 0 ? lineArguments : new DSLLineArguments();
+		lexer.fillArguments(arguments);
+		int size = arguments.size();
+		
+		DSLMetrics metrics = dsl.getMetrics();
+		Object event = DSLFlightRecorder.beginCommand();
+		
+		lineDepth++;
+		try
 		{
-			if (line.contains(dsl.getSubscriptDelimiterEnd()))
+			if(metrics == null)
 			{
-				insideSubscript = null;
+				command.getArgumentRunnable().run(arguments);
 			}
 			else
 			{
-				//get the subscript list or create one if it doesn't exist
-				ArrayList<DSLRuntimeCommand> sub;
-				if(dsl.getSubscripts().containsKey(insideSubscript))
-					sub = (ArrayList<DSLRuntimeCommand>) dsl.getSubscripts().get(insideSubscript);
-				else
-				{
-					sub = new ArrayList<>();
-					dsl.getSubscripts().put(insideSubscript, sub);
-				}
-				
-				//turn the line into a runtime command
-				DSLRuntimeCommand command = buildRuntimeCommand(line);
-				
-				//add the lines to the script
-				sub.add(command);
+				long start = System.nanoTime();
+				command.getArgumentRunnable().run(arguments);
+				metrics.recordCommand(command.getName(), System.nanoTime() - start);
 			}
 		}
+		finally
+		{
+			lineDepth--;
+			
+			if(event != null)
+				DSLFlightRecorder.endCommand(event, command.getName(), size);
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Adds the command to the subscript, creating the subscript if it doesn't exist
+	 *
+	 * @param subscript the subscript name
+	 * @param command the DSLRuntimeCommand that was read, or null if the line is not a valid command
+	 */
+	@Override
+	public void onSubscriptCommand(String subscript, DSLRuntimeCommand command)
+	{
+		//get the subscript list or create one if it doesn't exist
+		List<DSLRuntimeCommand> sub = dsl.getSubscripts().get(subscript);
+		if(sub == null)
+		{
+			sub = dsl.getSubscriptStorage().newList(dsl.getSymbols());
+			dsl.getSubscripts().put(subscript, sub);
+		}
+		
+		//add the lines to the script
+		sub.add(command);
 	}
 	
 	/**
@@ -134,7 +197,7 @@ public class DSLRuntime
 	 */
 	public void execute(DSLRuntimeCommand runtimeCommand)
 	{
-		DSLDefinedCommand command = dsl.getCommands().get(runtimeCommand.getName());
+		DSLDefinedCommand command = dsl.getHandler(runtimeCommand.getSymbol(dsl.getSymbols()));
 		
 		if(command == null)
 		{
@@ -143,6 +206,40 @@ public class DSLRuntime
 			return;
 		}
 		
+		DSLMetrics metrics = dsl.getMetrics();
+		Object event = DSLFlightRecorder.beginCommand();
+		
+		try
+		{
+			if(metrics == null)
+			{
+				dispatch(command, runtimeCommand);
+			}
+			else
+			{
+				long start = System.nanoTime();
+				dispatch(command, runtimeCommand);
+				metrics.recordCommand(runtimeCommand.getName(), System.nanoTime() - start);
+			}
+		}
+		finally
+		{
+			if(event != null)
+			{
+				String[] parameters = runtimeCommand.getParameters();
+				DSLFlightRecorder.endCommand(event, runtimeCommand.getName(), parameters == null ? 0 : parameters.length);
+			}
+		}
+	}
+	
+	private void dispatch(DSLDefinedCommand command, DSLRuntimeCommand runtimeCommand)
+	{
+		if(command.getTypedRunnable() != null)
+		{
+			command.getTypedRunnable().run(DSLCompiledTypedCommand.getArguments(command, runtimeCommand, this));
+			return;
+		}
+		
 		switch(command.getType())
 		{
 			case VARIABLE:
@@ -150,72 +247,180 @@ public class DSLRuntime
 				break;
 				
 			case FUNCTION:
-				command.getFunctionRunnable().run(runtimeCommand.getParameters());
+				ArgumentRunnable argumentRunnable = command.getArgumentRunnable();
+				
+				if(argumentRunnable != null)
+					argumentRunnable.run(new DSLArrayArguments(runtimeCommand.getParameters()));
+				else if(command.getBatchFunctionRunnable() != null)
+					command.getBatchFunctionRunnable().run(new String[][]{runtimeCommand.getParameters()});
+				else
+					command.getFunctionRunnable().run(runtimeCommand.getParameters());
 				break;
 		}
 	}
 	
 	/**
-	 * Attempts to build a DSLRuntimeCommand from any String.
+	 * Waits for every top-level call to an independent handler that has been handed off to finish.
 	 *
-	 * @param line any String
-	 * @return the DSLRuntimeCommand if it can be created, if not it will return null
+	 * If any of them failed, including calls that failed before this was called, the first failure is thrown once all of
+	 * them have finished, the others are added to it as suppressed.
 	 */
-	public DSLRuntimeCommand buildRuntimeCommand(String line)
+	public void awaitPending()
 	{
-		//does an unrestricted quick then first, then a deeper verification before it creates the variable
-		if (line.contains(dsl.getSetValueDelimiter()))
+		try
 		{
-			String[] split = FastStringUtils.split(line, dsl.getSetValueDelimiter(), 2);
-			String name = split[0].trim();
-			String value = split[1].trim();
+			while(!pending.isEmpty())
+				collect(pending.pollFirst());
+		}
+		finally
+		{
+			Throwable failure = pendingFailure;
+			pendingFailure = null;
+			
+			if(failure instanceof RuntimeException)
+				throw (RuntimeException) failure;
 			
-			//verify the data is valid, then make sure the runtime command has a handler
-			//if it does, assume this is a variable
-			//TODO if strict true, it should re-enable the runtime command handler check
-			if (!name.isEmpty() && !value.isEmpty() && (!dsl.isStrictMode() || dsl.isStrictMode() && dsl.getCommands().containsKey(name)))
-				return new DSLRuntimeCommand(DSLCommandType.VARIABLE, name, new String[]{value});
+			if(failure instanceof Error)
+				throw (Error) failure;
+			
+			if(failure != null)
+				throw new RuntimeException(failure);
+		}
+	}
+	
+	/**
+	 * Hands a call to the executor, waiting for the oldest pending call first if too many are pending
+	 */
+	private void submit(Executor executor, String name, int parameters, Runnable call)
+	{
+		//finished calls are dropped, failures are kept so awaitPending reports them all together
+		while(!pending.isEmpty() && pending.peekFirst().isDone())
+			collect(pending.pollFirst());
+		
+		if(pending.size() >= MAX_PENDING)
+			collect(pending.pollFirst());
+		
+		DSLMetrics metrics = dsl.getMetrics();
+		
+		if(metrics == null && !DSLFlightRecorder.isCommandEnabled())
+		{
+			pending.add(CompletableFuture.runAsync(call, executor));
+			return;
 		}
 		
-		//look for the function bracket delimiters
-		if (line.contains(dsl.getBracketDelimiterStart()) && line.contains(dsl.getBracketDelimiterEnd()))
+		//the call is timed on the thread that runs it
+		pending.add(CompletableFuture.runAsync(() ->
 		{
-			String[] parameters = FastStringUtils.split(line, dsl.getBracketDelimiterStart(), 2);
-			String name = parameters[0].trim();
-			String values = null;
-			
-			if (parameters[1].length() >= 2)
-			{
-				values = FastStringUtils.split(parameters[1], dsl.getBracketDelimiterEnd())[0].trim();
-			}
+			Object event = DSLFlightRecorder.beginCommand();
 			
-			if (values != null)
+			try
 			{
-				if (values.contains(","))
-				{
-					parameters = FastStringUtils.split(values, ",");
-					
-					//this allows the user to have spaces between the function separator.
-					//one downside to doing it this way, is users lose the ability to have trailing whitespace.
-					//this limitation is part of the specification along with the hardcoded `,` delimiter.
-					//these should be looked at being changed at a later date if needed.
-					for(int i = 0; i < parameters.length; i++)
-						parameters[i] = parameters[i].trim();
-				}
-				else
-				{
-					parameters = new String[]{values};
-				}
+				long start = metrics == null ? 0 : System.nanoTime();
+				call.run();
 				
-				return new DSLRuntimeCommand(DSLCommandType.VARIABLE, name, parameters);
+				if(metrics != null)
+					metrics.recordCommand(name, System.nanoTime() - start);
 			}
-			else
+			finally
 			{
-				return new DSLRuntimeCommand(DSLCommandType.VARIABLE, name, null);
+				if(event != null)
+					DSLFlightRecorder.endCommand(event, name, parameters);
 			}
+		}, executor));
+	}
+	
+	/**
+	 * Binds a command to its handler with its value or parameters resolved now, the variable resolver is only used by the parsing thread
+	 */
+	private Runnable bind(DSLDefinedCommand command, DSLRuntimeCommand runtimeCommand)
+	{
+		if(command.getTypedRunnable() != null)
+		{
+			DSLTypedArguments arguments = DSLCompiledTypedCommand.getArguments(command, runtimeCommand, this);
+			return () -> command.getTypedRunnable().run(arguments);
+		}
+		
+		if(command.getType() == DSLCommandType.VARIABLE)
+		{
+			String value = runtimeCommand.getVariableValue(this);
+			return () -> command.getVariableRunnable().run(value);
+		}
+		
+		String[] parameters = runtimeCommand.getParameters();
+		
+		if(command.getArgumentRunnable() != null)
+			return () -> command.getArgumentRunnable().run(new DSLArrayArguments(parameters));
+		
+		if(command.getBatchFunctionRunnable() != null)
+			return () -> command.getBatchFunctionRunnable().run(new String[][]{parameters});
+		
+		return () -> command.getFunctionRunnable().run(parameters);
+	}
+	
+	/**
+	 * Waits for a call to finish, its failure is recorded instead of thrown
+	 */
+	private void collect(CompletableFuture<Void> call)
+	{
+		try
+		{
+			call.join();
+		}
+		catch (Throwable t)
+		{
+			Throwable failure = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+			
+			if(pendingFailure == null)
+				pendingFailure = failure;
+			else if(pendingFailure != failure)
+				pendingFailure.addSuppressed(failure);
+		}
+	}
+	
+	/**
+	 * Attempts to build a DSLRuntimeCommand from any String.
+	 *
+	 * A new lexer is used for every call, so this can be called from a handler during a parse or from any thread.
+	 *
+	 * @param line any String
+	 * @return the DSLRuntimeCommand if it can be created, if not it will return null
+	 */
+	public DSLRuntimeCommand buildRuntimeCommand(String line)
+	{
+		DSLLexer lexer = new DSLLexer(dsl);
+		
+		if (!lexer.scan(line))
+			return null;
+		
+		return lexer.buildCommand();
+	}
+	
+	/**
+	 * Returns the fully expanded value of any variable DSLRuntimeCommand.
+	 *
+	 * Values stored in the command map are cached until they, or a variable they reference, are reassigned.
+	 *
+	 * @param runtimeCommand any DSLRuntimeCommand
+	 * @return the fully expanded String value
+	 */
+	@Override
+	public String getVariableValue(DSLRuntimeCommand runtimeCommand)
+	{
+		Object event = DSLFlightRecorder.beginVariable();
+		String value = null;
+		
+		try
+		{
+			value = commands.getResolver().getVariableValue(runtimeCommand);
+		}
+		finally
+		{
+			//a value that failed to resolve is reported as empty
+			if(event != null)
+				DSLFlightRecorder.endVariable(event, runtimeCommand.getName(), value == null ? 0 : value.length());
 		}
 		
-		return null;
+		return value;
 	}
 	
 	/**
@@ -228,6 +433,50 @@ public class DSLRuntime
 		return commands;
 	}
 	
+	/**
+	 * Marks the current runtime variables so they can be rolled back with restore, nothing is copied.
+	 *
+	 * From the first snapshot on, every change to the command map is recorded in an undo journal. A baseline can be
+	 * taken once and restored after every request, each restore only costs the variables that request changed.
+	 *
+	 * @return the DSLRuntimeSnapshot
+	 */
+	public DSLRuntimeSnapshot snapshot()
+	{
+		return commands.snapshot();
+	}
+	
+	/**
+	 * Rolls the runtime variables back to a snapshot. Throws a Runtime Exception if the snapshot is no longer valid.
+	 *
+	 * The snapshot can be restored again later, snapshots taken after it are invalidated.
+	 *
+	 * @param snapshot any DSLRuntimeSnapshot taken from this runtime
+	 */
+	public void restore(DSLRuntimeSnapshot snapshot)
+	{
+		awaitPending();
+		commands.restore(snapshot);
+	}
+	
+	/**
+	 * Stops recording changes to the runtime variables and invalidates every snapshot taken so far
+	 */
+	public void clearSnapshots()
+	{
+		commands.clearSnapshots();
+	}
+	
+	/**
+	 * Returns the DSLParser the runtime reads lines with.
+	 *
+	 * @return the DSLParser instance
+	 */
+	public DSLParser getParser()
+	{
+		return parser;
+	}
+	
 	/**
 	 * Returns the DSL linked with this DSLRuntime instance.
 	 *
@@ -1,19 +1,29 @@
 package com.konloch.dsl.runtime;
 
 import com.konloch.dsl.commands.DSLCommandType;
-import com.konloch.stringvars.StringVars;
+import com.konloch.dsl.commands.DSLTypedArguments;
+
+import java.io.Serializable;
 
 /**
  * A DSLCommand represents a variable or a function.
  *
+ * A serialized command keeps its name and parameters only, it is interned again and its parameters are converted
+ * again the first time it is used.
+ *
  * @author Konloch
  * @since Jan, 17th, 2017
  */
-public class DSLRuntimeCommand
+public class DSLRuntimeCommand implements Serializable
 {
+	private static final long serialVersionUID = 1L;
+	
 	private final DSLCommandType DSLCommandType;
 	private final String name;
 	private final String[] parameters;
+	private final transient DSLSymbolTable symbols;
+	private final int symbol;
+	private final transient DSLTypedArguments typedArguments;
 	
 	/**
 	 * Constructs a new DSLRuntimeCommand
@@ -27,6 +37,43 @@ public class DSLRuntimeCommand
 		this.DSLCommandType = DSLCommandType;
 		this.name = name;
 		this.parameters = parameters;
+		this.symbols = null;
+		this.symbol = -1;
+		this.typedArguments = null;
+	}
+	
+	/**
+	 * Constructs a new DSLRuntimeCommand with its name interned into a DSLSymbolTable
+	 *
+	 * @param DSLCommandType the DSLCommandType type
+	 * @param name any String as the name
+	 * @param parameters any String Array as the parameters
+	 * @param symbols the DSLSymbolTable to intern the name into
+	 */
+	public DSLRuntimeCommand(DSLCommandType DSLCommandType, String name, String[] parameters, DSLSymbolTable symbols)
+	{
+		this.DSLCommandType = DSLCommandType;
+		this.name = name;
+		this.parameters = parameters;
+		this.symbols = symbols;
+		this.symbol = symbols.intern(name);
+		this.typedArguments = null;
+	}
+	
+	/**
+	 * Constructs a copy of a DSLRuntimeCommand with its parameters converted to a declared signature
+	 *
+	 * @param command any DSLRuntimeCommand
+	 * @param typedArguments the converted parameters
+	 */
+	public DSLRuntimeCommand(DSLRuntimeCommand command, DSLTypedArguments typedArguments)
+	{
+		this.DSLCommandType = command.DSLCommandType;
+		this.name = command.name;
+		this.parameters = command.parameters;
+		this.symbols = command.symbols;
+		this.symbol = command.symbol;
+		this.typedArguments = typedArguments;
 	}
 	
 	/**
@@ -60,14 +107,53 @@ public class DSLRuntimeCommand
 	}
 	
 	/**
-	 * Preforms a recursive search if the variable value contains a variable delimiter / variable name
+	 * Return the parameters converted by the parser to the declared signature of the handler
+	 *
+	 * @return the DSLTypedArguments, or null if they were not converted
+	 */
+	public DSLTypedArguments getTypedArguments()
+	{
+		return typedArguments;
+	}
+	
+	/**
+	 * Return the symbol of the name in any DSLSymbolTable, the name is only looked up if it was not interned into that table.
+	 *
+	 * @param symbols any DSLSymbolTable
+	 * @return the symbol of the defined name
+	 */
+	public int getSymbol(DSLSymbolTable symbols)
+	{
+		if (this.symbols == symbols)
+			return symbol;
+		
+		return symbols.intern(name);
+	}
+	
+	/**
+	 * Returns the symbol of the name in any DSLSymbolTable without interning it
+	 *
+	 * @param symbols any DSLSymbolTable
+	 * @return the symbol of the defined name, or -1 if the table doesn't know it
+	 */
+	int findSymbol(DSLSymbolTable symbols)
+	{
+		if (this.symbols == symbols)
+			return symbol;
+		
+		return symbols.get(name);
+	}
+	
+	/**
+	 * Preforms a recursive search if the variable value contains a variable delimiter / variable name.
+	 *
+	 * Resolved values are cached by the runtime, unknown variables are left as they were written.
 	 *
 	 * @param runtime the DSLRuntime instance
 	 * @return the fully extracted String variable
 	 */
 	public String getVariableValue(DSLRuntime runtime)
 	{
-		return StringVars.getVariableValue(runtime.getDSL().getVariableDelimiter(),
-				()-> getParameters()[0], (key)-> runtime.getCommands().get(key).getVariableValue(runtime));
+		return runtime.getVariableValue(this);
 	}
 }
@@ -0,0 +1,24 @@
+package com.konloch.dsl.runtime;
+
+/**
+ * A point in the variable state of a DSLRuntime that it can be rolled back to, see DSLRuntime.snapshot
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public final class DSLRuntimeSnapshot
+{
+	final DSLCommandMap commands;
+	final int generation;
+	final int position;
+	//the last journal entry when the snapshot was taken, the journal must still hold it for the snapshot to be valid
+	final Object last;
+
+	DSLRuntimeSnapshot(DSLCommandMap commands, int generation, int position, Object last)
+	{
+		this.commands = commands;
+		this.generation = generation;
+		this.position = position;
+		this.last = last;
+	}
+}
@@ -0,0 +1,91 @@
+package com.konloch.dsl.runtime;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The outcome of every subscript run by a DSLScheduler.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLScheduleResult
+{
+	private final Map<String, DSLSubscriptResult> results;
+	private final long durationNanos;
+	
+	/**
+	 * Constructs a new DSLScheduleResult
+	 *
+	 * @param results the DSLSubscriptResult of every scheduled subscript, by name
+	 * @param durationNanos the time the whole schedule took in nanoseconds
+	 */
+	public DSLScheduleResult(Map<String, DSLSubscriptResult> results, long durationNanos)
+	{
+		this.results = Collections.unmodifiableMap(results);
+		this.durationNanos = durationNanos;
+	}
+	
+	/**
+	 * Returns true if every subscript completed
+	 *
+	 * @return true if no subscript failed or was skipped
+	 */
+	public boolean isSuccessful()
+	{
+		for (DSLSubscriptResult result : results.values())
+			if (result.getStatus() != DSLSubscriptStatus.COMPLETED)
+				return false;
+		
+		return true;
+	}
+	
+	/**
+	 * Returns the result of a subscript
+	 *
+	 * @param name any String as the subscript name
+	 * @return the DSLSubscriptResult, or null if the subscript was not scheduled
+	 */
+	public DSLSubscriptResult get(String name)
+	{
+		return results.get(name);
+	}
+	
+	/**
+	 * Returns the subscripts that failed, in the order they were scheduled
+	 *
+	 * @return the failed DSLSubscriptResults
+	 */
+	public List<DSLSubscriptResult> getFailures()
+	{
+		ArrayList<DSLSubscriptResult> failures = new ArrayList<>();
+		
+		for (DSLSubscriptResult result : results.values())
+			if (result.getStatus() == DSLSubscriptStatus.FAILED)
+				failures.add(result);
+		
+		return failures;
+	}
+	
+	/**
+	 * Returns the result of every subscript, in the order they were scheduled
+	 *
+	 * @return the unmodifiable result map
+	 */
+	public Map<String, DSLSubscriptResult> getResults()
+	{
+		return results;
+	}
+	
+	/**
+	 * Returns the time the whole schedule took
+	 *
+	 * @return the duration in nanoseconds
+	 */
+	public long getDurationNanos()
+	{
+		return durationNanos;
+	}
+}
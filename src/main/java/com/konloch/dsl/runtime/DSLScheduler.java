@@ -0,0 +1,194 @@
+package com.konloch.dsl.runtime;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * The DSLScheduler runs a set of subscripts of a DSLProgram concurrently, respecting the dependencies declared between them.
+ *
+ * A subscript starts once every subscript it depends on has completed. If a subscript fails, the subscripts that
+ * depend on it are skipped, every other subscript still runs. A subscript the executor refuses to run is reported
+ * as failed the same way. Each subscript runs in its own new DSLContext, so variables set by one subscript are not
+ * seen by the others.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLScheduler
+{
+	private final DSLProgram program;
+	private final LinkedHashMap<String, LinkedHashSet<String>> dependencies = new LinkedHashMap<>();
+
+	/**
+	 * Constructs a new DSLScheduler
+	 *
+	 * @param program the DSLProgram to run the subscripts of
+	 */
+	public DSLScheduler(DSLProgram program)
+	{
+		this.program = program;
+	}
+
+	/**
+	 * Schedule a subscript. Throws a Runtime Exception if the Subscript doesn't exist.
+	 *
+	 * @param name any String as the subscript name
+	 * @param dependsOn the names of the subscripts that have to complete before this one starts
+	 * @return this instance for method chaining
+	 */
+	public DSLScheduler add(String name, String... dependsOn)
+	{
+		program.getSubscript(name);
+		dependencies.computeIfAbsent(name, k -> new LinkedHashSet<>()).addAll(Arrays.asList(dependsOn));
+		return this;
+	}
+
+	/**
+	 * Runs the scheduled subscripts on the common fork-join pool
+	 *
+	 * @return a CompletableFuture that completes with the DSLScheduleResult once every subscript has finished
+	 */
+	public CompletableFuture<DSLScheduleResult> run()
+	{
+		return run(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Runs the scheduled subscripts on any Executor.
+	 *
+	 * Throws a Runtime Exception before anything runs if a dependency has not been scheduled, or if the dependencies form a cycle.
+	 *
+	 * @param executor the Executor to run the subscripts on
+	 * @return a CompletableFuture that completes with the DSLScheduleResult once every subscript has finished
+	 */
+	public CompletableFuture<DSLScheduleResult> run(Executor executor)
+	{
+		List<String> order = order();
+		long start = System.nanoTime();
+
+		LinkedHashMap<String, CompletableFuture<DSLSubscriptResult>> futures = new LinkedHashMap<>();
+		for (String name : order)
+		{
+			LinkedHashSet<String> dependsOn = dependencies.get(name);
+
+			if (dependsOn.isEmpty())
+			{
+				futures.put(name, submit(name, start, executor));
+				continue;
+			}
+
+			ArrayList<CompletableFuture<DSLSubscriptResult>> required = new ArrayList<>(dependsOn.size());
+			for (String dependency : dependsOn)
+				required.add(futures.get(dependency));
+
+			//whether to skip is decided on the thread that completed the last dependency, only a subscript that runs is submitted
+			futures.put(name, CompletableFuture.allOf(required.toArray(new CompletableFuture<?>[0])).thenCompose(v ->
+			{
+				//dependencies never complete exceptionally, their failures and rejections are part of their results
+				for (CompletableFuture<DSLSubscriptResult> dependency : required)
+					if (dependency.join().getStatus() != DSLSubscriptStatus.COMPLETED)
+						return CompletableFuture.completedFuture(new DSLSubscriptResult(name, DSLSubscriptStatus.SKIPPED, 0, 0, null));
+
+				return submit(name, start, executor);
+			}));
+		}
+
+		return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])).thenApply(v ->
+		{
+			long duration = System.nanoTime() - start;
+
+			//report the results in the order the subscripts were scheduled
+			LinkedHashMap<String, DSLSubscriptResult> results = new LinkedHashMap<>();
+			for (String name : dependencies.keySet())
+				results.put(name, futures.get(name).join());
+
+			return new DSLScheduleResult(results, duration);
+		});
+	}
+
+	/**
+	 * Returns the scheduled subscripts and their dependencies
+	 *
+	 * @return the unmodifiable dependency map
+	 */
+	public Map<String, LinkedHashSet<String>> getDependencies()
+	{
+		return Collections.unmodifiableMap(dependencies);
+	}
+
+	/**
+	 * Hands a subscript to the executor, a subscript the executor rejects is reported as failed with the rejection
+	 */
+	private CompletableFuture<DSLSubscriptResult> submit(String name, long scheduleStart, Executor executor)
+	{
+		try
+		{
+			return CompletableFuture.supplyAsync(() -> runSubscript(name, scheduleStart), executor);
+		}
+		catch (RejectedExecutionException e)
+		{
+			return CompletableFuture.completedFuture(new DSLSubscriptResult(name, DSLSubscriptStatus.FAILED, System.nanoTime() - scheduleStart, 0, e));
+		}
+	}
+
+	private DSLSubscriptResult runSubscript(String name, long scheduleStart)
+	{
+		long start = System.nanoTime();
+
+		try
+		{
+			program.newContext().run(name);
+			return new DSLSubscriptResult(name, DSLSubscriptStatus.COMPLETED, start - scheduleStart, System.nanoTime() - start, null);
+		}
+		catch (Throwable t)
+		{
+			return new DSLSubscriptResult(name, DSLSubscriptStatus.FAILED, start - scheduleStart, System.nanoTime() - start, t);
+		}
+	}
+
+	/**
+	 * Returns the scheduled subscripts ordered so every subscript comes after its dependencies
+	 */
+	private List<String> order()
+	{
+		ArrayList<String> order = new ArrayList<>(dependencies.size());
+		HashSet<String> visited = new HashSet<>();
+		LinkedHashSet<String> visiting = new LinkedHashSet<>();
+
+		for (String name : dependencies.keySet())
+			visit(name, order, visited, visiting);
+
+		return order;
+	}
+
+	private void visit(String name, List<String> order, HashSet<String> visited, LinkedHashSet<String> visiting)
+	{
+		if (visited.contains(name))
+			return;
+
+		if (!visiting.add(name))
+			throw new RuntimeException("Subscript dependency cycle detected: " + String.join(" -> ", visiting) + " -> " + name);
+
+		for (String dependency : dependencies.get(name))
+		{
+			if (!dependencies.containsKey(dependency))
+				throw new RuntimeException("Subscript " + name + " depends on " + dependency + " which has not been scheduled");
+
+			visit(dependency, order, visited, visiting);
+		}
+
+		visiting.remove(name);
+		visited.add(name);
+		order.add(name);
+	}
+}
@@ -0,0 +1,355 @@
+package com.konloch.dsl.runtime;
+
+import com.konloch.dsl.DSL;
+import com.konloch.dsl.commands.DSLCommandType;
+import com.konloch.dsl.metrics.DSLFlightRecorder;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * The DSLScriptCache stores a DSLParsedScript in a compact binary file so unchanged scripts don't need to be lexed again.
+ *
+ * The cache file records a SHA-256 hash of the source and of the DSL configuration the script was parsed with.
+ * If either has changed the source is parsed again and the cache file is replaced atomically.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLScriptCache
+{
+	private static final int MAGIC = 0x44534C43; //DSLC
+	private static final int VERSION = 1;
+	private static final DSLCommandType[] TYPES = DSLCommandType.values();
+
+	/**
+	 * Reads any UTF-8 encoded Path into a DSLParsedScript, using the cache file if it is still valid.
+	 *
+	 * @param dsl any DSL
+	 * @param source the script Path
+	 * @param cache the cache file Path
+	 * @return the DSLParsedScript
+	 * @throws IOException if an I/O error occurs reading the source or writing the cache
+	 */
+	public static DSLParsedScript read(DSL dsl, Path source, Path cache) throws IOException
+	{
+		byte[] configHash = configHash(dsl);
+
+		if (Files.isRegularFile(cache))
+		{
+			//a stale cache is not reported, parsing the source reports its own event
+			Object event = DSLFlightRecorder.beginParse();
+			DSLParsedScript script = readCache(dsl, source, cache, hash(source), configHash);
+
+			if (script != null)
+			{
+				try
+				{
+					convert(dsl, script);
+				}
+				finally
+				{
+					if (event != null)
+						DSLFlightRecorder.endParse(event, source.toString(), 0, true);
+				}
+
+				return script;
+			}
+		}
+
+		//parse the source and hash the exact bytes that were parsed
+		MessageDigest digest = sha256();
+		DSLParsedScript script;
+		try (InputStream in = new DigestInputStream(Files.newInputStream(source), digest))
+		{
+			script = DSLParsedScript.read(dsl, source.toString(), new InputStreamReader(in, StandardCharsets.UTF_8));
+		}
+
+		writeCache(script, cache, digest.digest(), configHash);
+		return script;
+	}
+
+	/**
+	 * Writes a DSLParsedScript to a cache file by writing a temporary file next to it and moving it into place.
+	 *
+	 * @param script any DSLParsedScript
+	 * @param cache the cache file Path
+	 * @param sourceHash the SHA-256 hash of the source the script was parsed from
+	 * @param configHash the SHA-256 hash of the DSL configuration the script was parsed with
+	 * @throws IOException if an I/O error occurs writing the cache
+	 */
+	public static void writeCache(DSLParsedScript script, Path cache, byte[] sourceHash, byte[] configHash) throws IOException
+	{
+		Path directory = cache.toAbsolutePath().getParent();
+		Path temp = Files.createTempFile(directory, cache.getFileName().toString(), ".tmp");
+
+		try
+		{
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp))))
+			{
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.write(sourceHash);
+				out.write(configHash);
+
+				out.writeInt(script.getCommands().size());
+				for (DSLRuntimeCommand command : script.getCommands())
+					writeCommand(out, command);
+
+				out.writeInt(script.getSubscripts().size());
+				for (Map.Entry<String, List<DSLRuntimeCommand>> subscript : script.getSubscripts().entrySet())
+				{
+					writeString(out, subscript.getKey());
+					out.writeInt(subscript.getValue().size());
+
+					for (DSLRuntimeCommand command : subscript.getValue())
+						writeCommand(out, command);
+				}
+			}
+
+			try
+			{
+				Files.move(temp, cache, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			}
+			catch (AtomicMoveNotSupportedException e)
+			{
+				Files.move(temp, cache, StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		finally
+		{
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	/**
+	 * Reads a cache file if it matches the supplied hashes.
+	 *
+	 * Typed arguments are not stored in the cache, the commands are returned as the lexer built them.
+	 * Every length and count in the file is checked against the size of the file before anything is allocated for it.
+	 *
+	 * @param dsl any DSL, the command names are interned into its DSLSymbolTable
+	 * @param source the script Path
+	 * @param cache the cache file Path
+	 * @param sourceHash the SHA-256 hash of the current source
+	 * @param configHash the SHA-256 hash of the current DSL configuration
+	 * @return the DSLParsedScript, or null if the cache file is stale or unreadable
+	 */
+	public static DSLParsedScript readCache(DSL dsl, Path source, Path cache, byte[] sourceHash, byte[] configHash)
+	{
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(cache))))
+		{
+			DSLSymbolTable symbols = dsl.getSymbols();
+			long limit = Files.size(cache);
+
+			if (in.readInt() != MAGIC || in.readInt() != VERSION)
+				return null;
+
+			byte[] hash = new byte[32];
+			in.readFully(hash);
+			if (!Arrays.equals(hash, sourceHash))
+				return null;
+
+			in.readFully(hash);
+			if (!Arrays.equals(hash, configHash))
+				return null;
+
+			DSLParsedScript script = new DSLParsedScript(source.toString());
+
+			int commandCount = checkCount(in.readInt(), limit);
+			for (int i = 0; i < commandCount; i++)
+				script.onCommand(readCommand(in, symbols, limit));
+
+			int subscriptCount = checkCount(in.readInt(), limit);
+			for (int i = 0; i < subscriptCount; i++)
+			{
+				String name = readString(in, limit);
+				int count = checkCount(in.readInt(), limit);
+				ArrayList<DSLRuntimeCommand> commands = new ArrayList<>(count);
+
+				for (int j = 0; j < count; j++)
+					commands.add(readCommand(in, symbols, limit));
+
+				script.getSubscripts().put(name, commands);
+			}
+
+			return script;
+		}
+		catch (IOException | RuntimeException e)
+		{
+			//a damaged cache is treated the same as a stale one
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the SHA-256 hash of everything that changes how a DSL parses a script: the delimiters, the strict mode
+	 * flag and, in strict mode, the defined command and subscript names.
+	 *
+	 * @param dsl any DSL
+	 * @return the SHA-256 hash
+	 */
+	public static byte[] configHash(DSL dsl)
+	{
+		MessageDigest digest = sha256();
+		StringBuilder config = new StringBuilder();
+		config.append(VERSION)
+				.append(dsl.getSetValueDelimiter())
+				.append(dsl.getVariableDelimiter())
+				.append(dsl.getBracketDelimiterStart())
+				.append(dsl.getBracketDelimiterEnd())
+				.append(dsl.getSubscriptDelimiterStart())
+				.append(dsl.getSubscriptDelimiterEnd())
+				.append(dsl.getCommentDelimiter())
+				.append(dsl.isStrictMode());
+
+		if (dsl.isStrictMode())
+		{
+			for (String name : new TreeSet<>(dsl.getCommands().keySet()))
+				config.append('\0').append(name);
+
+			config.append('\1');
+
+			for (String name : new TreeSet<>(dsl.getSubscripts().keySet()))
+				config.append('\0').append(name);
+		}
+
+		return digest.digest(config.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Returns the SHA-256 hash of any file
+	 *
+	 * @param path any Path
+	 * @return the SHA-256 hash
+	 * @throws IOException if an I/O error occurs reading from the stream
+	 */
+	public static byte[] hash(Path path) throws IOException
+	{
+		MessageDigest digest = sha256();
+		byte[] buffer = new byte[64 * 1024];
+
+		try (InputStream in = Files.newInputStream(path))
+		{
+			int read;
+			while ((read = in.read(buffer)) != -1)
+				digest.update(buffer, 0, read);
+		}
+
+		return digest.digest();
+	}
+
+	/**
+	 * Converts the commands of a script read from the cache against the signatures the DSL has now, the same way the
+	 * parser does. A call that doesn't match its signature is thrown here, as it would be when parsing the source.
+	 */
+	private static DSLParsedScript convert(DSL dsl, DSLParsedScript script)
+	{
+		script.getCommands().replaceAll(command -> DSLParser.convert(dsl, command));
+
+		for (List<DSLRuntimeCommand> commands : script.getSubscripts().values())
+			commands.replaceAll(command -> DSLParser.convert(dsl, command));
+
+		return script;
+	}
+
+	private static void writeCommand(DataOutputStream out, DSLRuntimeCommand command) throws IOException
+	{
+		if (command == null)
+		{
+			out.writeByte(-1);
+			return;
+		}
+
+		out.writeByte(command.getType().ordinal());
+		writeString(out, command.getName());
+
+		String[] parameters = command.getParameters();
+		if (parameters == null)
+		{
+			out.writeInt(-1);
+			return;
+		}
+
+		out.writeInt(parameters.length);
+		for (String parameter : parameters)
+			writeString(out, parameter);
+	}
+
+	private static DSLRuntimeCommand readCommand(DataInputStream in, DSLSymbolTable symbols, long limit) throws IOException
+	{
+		int type = in.readByte();
+
+		if (type == -1)
+			return null;
+
+		String name = readString(in, limit);
+		int count = in.readInt();
+		String[] parameters = null;
+
+		if (count != -1)
+		{
+			parameters = new String[checkCount(count, limit)];
+			for (int i = 0; i < parameters.length; i++)
+				parameters[i] = readString(in, limit);
+		}
+
+		return new DSLRuntimeCommand(TYPES[type], name, parameters, symbols);
+	}
+
+	private static void writeString(DataOutputStream out, String value) throws IOException
+	{
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(DataInputStream in, long limit) throws IOException
+	{
+		byte[] bytes = new byte[checkCount(in.readInt(), limit)];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Returns a length or count read from a cache file, a damaged one can't be larger than the file it was read from
+	 */
+	private static int checkCount(int count, long limit) throws IOException
+	{
+		if (count < 0 || count > limit)
+			throw new IOException("Damaged cache file, " + count + " is out of range");
+
+		return count;
+	}
+
+	private static MessageDigest sha256()
+	{
+		try
+		{
+			return MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException e)
+		{
+			//every Java platform is required to support SHA-256
+			throw new RuntimeException(e);
+		}
+	}
+}
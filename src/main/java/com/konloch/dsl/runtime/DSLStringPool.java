@@ -0,0 +1,326 @@
+package com.konloch.dsl.runtime;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+/**
+ * A DSLStringPool canonicalizes the names and parameter values of subscript commands while they are parsed.
+ *
+ * Generated scripts repeat the same names and literals many times, every repeat found in the pool is returned as the
+ * String already stored instead of a new copy. Lookups hash a region of the line, so a hit creates no String at all.
+ *
+ * The pool only holds its Strings weakly, a value is dropped once no subscript uses it anymore. Collected values are
+ * only removed when a segment has to grow, so a lookup that hits never does any cleanup.
+ *
+ * The pool is split into segments by hash, each with its own lock, so several parsing threads can share a pool without
+ * waiting on each other unless they look up values in the same segment.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLStringPool
+{
+	//a power of two, the top bits of the hash pick the segment
+	private static final int SEGMENTS = 16;
+	private static final int SEGMENT_SHIFT = 28;
+
+	private final Segment[] segments = new Segment[SEGMENTS];
+
+	/**
+	 * Constructs a new empty DSLStringPool
+	 */
+	public DSLStringPool()
+	{
+		for (int i = 0; i < SEGMENTS; i++)
+			segments[i] = new Segment();
+	}
+
+	/**
+	 * Returns the pooled copy of any String, adding it to the pool if it isn't in it yet
+	 *
+	 * @param value any String
+	 * @return the pooled String
+	 */
+	public String intern(String value)
+	{
+		return intern(value, 0, value.length());
+	}
+
+	/**
+	 * Returns the pooled copy of a region of any String, adding it to the pool if it isn't in it yet
+	 *
+	 * @param text any String
+	 * @param start the start index of the value, inclusive
+	 * @param end the end index of the value, exclusive
+	 * @return the pooled String
+	 */
+	public String intern(String text, int start, int end)
+	{
+		//the same hash String.hashCode would produce for the region
+		int hash = 0;
+		for (int i = start; i < end; i++)
+			hash = 31 * hash + text.charAt(i);
+
+		int spread = spread(hash);
+		return segments[spread >>> SEGMENT_SHIFT].intern(text, start, end, hash, spread);
+	}
+
+	/**
+	 * Returns the amount of Strings currently in the pool, collected Strings are removed first
+	 *
+	 * @return the amount of pooled Strings
+	 */
+	public int size()
+	{
+		int size = 0;
+
+		for (Segment segment : segments)
+		{
+			synchronized (segment)
+			{
+				segment.expunge();
+				size += segment.size;
+			}
+		}
+
+		return size;
+	}
+
+	/**
+	 * Returns the amount of times a String has been looked up
+	 *
+	 * @return the amount of lookups
+	 */
+	public long getLookups()
+	{
+		long lookups = 0;
+
+		for (Segment segment : segments)
+		{
+			synchronized (segment)
+			{
+				lookups += segment.lookups;
+			}
+		}
+
+		return lookups;
+	}
+
+	/**
+	 * Returns the amount of lookups that were answered with a String already in the pool
+	 *
+	 * @return the amount of hits
+	 */
+	public long getHits()
+	{
+		long hits = 0;
+
+		for (Segment segment : segments)
+		{
+			synchronized (segment)
+			{
+				hits += segment.hits;
+			}
+		}
+
+		return hits;
+	}
+
+	/**
+	 * Returns the share of lookups that were answered from the pool
+	 *
+	 * @return the hit rate between 0 and 1
+	 */
+	public double getHitRate()
+	{
+		long lookups = getLookups();
+		return lookups == 0 ? 0 : (double) getHits() / lookups;
+	}
+
+	/**
+	 * Returns an estimate of the heap the hits saved, counting a String and its char array for every hit
+	 *
+	 * @return the estimated amount of bytes saved
+	 */
+	public long getBytesSaved()
+	{
+		long bytesSaved = 0;
+
+		for (Segment segment : segments)
+		{
+			synchronized (segment)
+			{
+				bytesSaved += segment.bytesSaved;
+			}
+		}
+
+		return bytesSaved;
+	}
+
+	/**
+	 * Removes every String and resets the statistics, one segment at a time
+	 */
+	public void clear()
+	{
+		for (Segment segment : segments)
+		{
+			synchronized (segment)
+			{
+				segment.clear();
+			}
+		}
+	}
+
+	@Override
+	public String toString()
+	{
+		long lookups = getLookups();
+		long hits = getHits();
+
+		return "String pool: " + size() + " strings, " + lookups + " lookups, " + hits + " hits ("
+				+ String.format("%.1f", lookups == 0 ? 0 : hits * 100.0 / lookups) + "%), ~" + getBytesSaved() + " bytes saved";
+	}
+
+	private static int spread(int hash)
+	{
+		return hash ^ (hash >>> 16);
+	}
+
+	/**
+	 * The size of a String and its char array with compressed references, both aligned to 8 bytes
+	 */
+	private static long estimateSize(int length)
+	{
+		return 24 + ((16 + length * 2L + 7) & ~7L);
+	}
+
+	/**
+	 * A part of the pool with its own table, reference queue and statistics, guarded by its own lock
+	 */
+	private static final class Segment
+	{
+		private ReferenceQueue<String> queue = new ReferenceQueue<>();
+		private Entry[] table = new Entry[16];
+		private int size;
+		private long lookups;
+		private long hits;
+		private long bytesSaved;
+
+		private synchronized String intern(String text, int start, int end, int hash, int spread)
+		{
+			int length = end - start;
+			lookups++;
+
+			if (length == 0)
+			{
+				hits++;
+				return "";
+			}
+
+			int slot = spread & (table.length - 1);
+
+			for (Entry entry = table[slot]; entry != null; entry = entry.next)
+			{
+				String pooled;
+
+				if (entry.hash == hash && (pooled = entry.get()) != null && pooled.length() == length && pooled.regionMatches(0, text, start, length))
+				{
+					hits++;
+					bytesSaved += estimateSize(length);
+					return pooled;
+				}
+			}
+
+			String value = start == 0 && end == text.length() ? text : text.substring(start, end);
+			table[slot] = new Entry(value, hash, table[slot], queue);
+
+			//collected entries still count towards the size, so they are removed before deciding to grow
+			if (++size > table.length * 3 / 4)
+			{
+				expunge();
+
+				if (size > table.length * 3 / 4)
+					resize();
+			}
+
+			return value;
+		}
+
+		private void clear()
+		{
+			//entries of the old table are collected into the old queue, where they are never looked at again
+			queue = new ReferenceQueue<>();
+			table = new Entry[16];
+			size = 0;
+			lookups = 0;
+			hits = 0;
+			bytesSaved = 0;
+		}
+
+		/**
+		 * Removes the entries whose String has been collected
+		 */
+		private void expunge()
+		{
+			Reference<? extends String> reference;
+
+			while ((reference = queue.poll()) != null)
+			{
+				Entry collected = (Entry) reference;
+				int slot = spread(collected.hash) & (table.length - 1);
+				Entry previous = null;
+
+				for (Entry entry = table[slot]; entry != null; previous = entry, entry = entry.next)
+				{
+					if (entry != collected)
+						continue;
+
+					if (previous == null)
+						table[slot] = entry.next;
+					else
+						previous.next = entry.next;
+
+					size--;
+					break;
+				}
+			}
+		}
+
+		private void resize()
+		{
+			Entry[] grown = new Entry[table.length * 2];
+			int mask = grown.length - 1;
+
+			for (Entry entry : table)
+			{
+				while (entry != null)
+				{
+					Entry next = entry.next;
+					int slot = spread(entry.hash) & mask;
+					entry.next = grown[slot];
+					grown[slot] = entry;
+					entry = next;
+				}
+			}
+
+			table = grown;
+		}
+	}
+
+	/**
+	 * A weakly held String in a bucket of the table
+	 */
+	private static final class Entry extends WeakReference<String>
+	{
+		private final int hash;
+		private Entry next;
+
+		private Entry(String value, int hash, Entry next, ReferenceQueue<String> queue)
+		{
+			super(value, queue);
+			this.hash = hash;
+			this.next = next;
+		}
+	}
+}
@@ -0,0 +1,26 @@
+package com.konloch.dsl.runtime;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * A DSLSubscriptList is a subscript command list that counts every change made to it.
+ *
+ * Commands replaced with set are counted as well, so a DSLCompiledSubscript can tell it was compiled from an older
+ * version of the list even when the size hasn't changed.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public abstract class DSLSubscriptList extends AbstractList<DSLRuntimeCommand> implements RandomAccess
+{
+	/**
+	 * Returns how many times the list has been changed, every add, set and remove increases it
+	 *
+	 * @return the modification count
+	 */
+	public int getModificationCount()
+	{
+		return modCount;
+	}
+}
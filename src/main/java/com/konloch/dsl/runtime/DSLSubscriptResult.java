@@ -0,0 +1,90 @@
+package com.konloch.dsl.runtime;
+
+/**
+ * The outcome of one subscript run by a DSLScheduler.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLSubscriptResult
+{
+	private final String name;
+	private final DSLSubscriptStatus status;
+	private final long startNanos;
+	private final long durationNanos;
+	private final Throwable failure;
+	
+	/**
+	 * Constructs a new DSLSubscriptResult
+	 *
+	 * @param name the subscript name
+	 * @param status the DSLSubscriptStatus
+	 * @param startNanos when the subscript started, in nanoseconds after the schedule started
+	 * @param durationNanos the time the subscript ran for in nanoseconds
+	 * @param failure the Throwable the subscript failed with, or null
+	 */
+	public DSLSubscriptResult(String name, DSLSubscriptStatus status, long startNanos, long durationNanos, Throwable failure)
+	{
+		this.name = name;
+		this.status = status;
+		this.startNanos = startNanos;
+		this.durationNanos = durationNanos;
+		this.failure = failure;
+	}
+	
+	/**
+	 * Returns the subscript name
+	 *
+	 * @return the subscript name as a String
+	 */
+	public String getName()
+	{
+		return name;
+	}
+	
+	/**
+	 * Returns whether the subscript completed, failed, or was skipped because a dependency did not complete
+	 *
+	 * @return the DSLSubscriptStatus
+	 */
+	public DSLSubscriptStatus getStatus()
+	{
+		return status;
+	}
+	
+	/**
+	 * Returns when the subscript started, relative to the start of the schedule
+	 *
+	 * @return the start offset in nanoseconds, 0 if the subscript was skipped
+	 */
+	public long getStartNanos()
+	{
+		return startNanos;
+	}
+	
+	/**
+	 * Returns the time the subscript ran for
+	 *
+	 * @return the duration in nanoseconds, 0 if the subscript was skipped
+	 */
+	public long getDurationNanos()
+	{
+		return durationNanos;
+	}
+	
+	/**
+	 * Returns what the subscript failed with
+	 *
+	 * @return the Throwable, or null if the subscript did not fail
+	 */
+	public Throwable getFailure()
+	{
+		return failure;
+	}
+	
+	@Override
+	public String toString()
+	{
+		return name + ": " + status + ", start=" + startNanos + "ns, duration=" + durationNanos + "ns" + (failure == null ? "" : ", failure=" + failure);
+	}
+}
@@ -0,0 +1,10 @@
+package com.konloch.dsl.runtime;
+
+/**
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public enum DSLSubscriptStatus
+{
+	COMPLETED, FAILED, SKIPPED,
+}
@@ -0,0 +1,47 @@
+package com.konloch.dsl.runtime;
+
+import java.util.List;
+
+/**
+ * How the commands of a subscript are stored, see DSL.setSubscriptStorage
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public enum DSLSubscriptStorage
+{
+	OBJECTS, COMPACT, COMPACT_OFF_HEAP,
+	;
+
+	/**
+	 * Creates a new empty subscript list
+	 *
+	 * @param symbols the DSLSymbolTable of the DSL
+	 * @return the new subscript list
+	 */
+	public List<DSLRuntimeCommand> newList(DSLSymbolTable symbols)
+	{
+		if (this == OBJECTS)
+			return new DSLObjectSubscript();
+
+		return new DSLCompactSubscript(symbols, this == COMPACT_OFF_HEAP);
+	}
+
+	/**
+	 * Copies a subscript list into this storage, a list that is already stored this way is returned as it is
+	 *
+	 * @param symbols the DSLSymbolTable of the DSL
+	 * @param commands the DSLRuntimeCommand list for the subscript
+	 * @return the subscript list in this storage
+	 */
+	public List<DSLRuntimeCommand> copy(DSLSymbolTable symbols, List<DSLRuntimeCommand> commands)
+	{
+		if (this == OBJECTS)
+			return commands instanceof DSLObjectSubscript ? commands : new DSLObjectSubscript(commands);
+
+		if (commands instanceof DSLCompactSubscript && ((DSLCompactSubscript) commands).isOffHeap() == (this == COMPACT_OFF_HEAP))
+			return commands;
+
+		return DSLCompactSubscript.of(symbols, commands, this == COMPACT_OFF_HEAP);
+	}
+}
@@ -0,0 +1,210 @@
+package com.konloch.dsl.runtime;
+
+import java.util.Arrays;
+
+/**
+ * The DSLSymbolTable interns command and variable names into dense integer symbols.
+ *
+ * Symbols start at 0 and are never removed or reused, so handlers and variable values can be stored in flat arrays
+ * indexed by symbol. Names can be looked up from a region of a line without creating a String for them.
+ *
+ * Lookups don't lock and interning a new name is synchronized, so a table can be shared by several parsing threads.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLSymbolTable
+{
+	private volatile Symbol[] table = new Symbol[64];
+	private volatile String[] names = new String[32];
+	private volatile int size;
+
+	/**
+	 * Returns the symbol of any String, creating it if it doesn't exist yet
+	 *
+	 * @param name any String as the name
+	 * @return the symbol
+	 */
+	public int intern(String name)
+	{
+		int symbol = get(name);
+
+		if (symbol != -1)
+			return symbol;
+
+		synchronized (this)
+		{
+			return add(name);
+		}
+	}
+
+	/**
+	 * Returns the symbol of a region of any String, creating it if it doesn't exist yet
+	 *
+	 * @param text any String
+	 * @param start the start index of the name, inclusive
+	 * @param end the end index of the name, exclusive
+	 * @return the symbol
+	 */
+	public int intern(String text, int start, int end)
+	{
+		int symbol = get(text, start, end);
+
+		if (symbol != -1)
+			return symbol;
+
+		synchronized (this)
+		{
+			return add(text.substring(start, end));
+		}
+	}
+
+	/**
+	 * Returns the symbol of any String
+	 *
+	 * @param name any String as the name
+	 * @return the symbol, or -1 if the name has not been interned
+	 */
+	public int get(String name)
+	{
+		Symbol[] table = this.table;
+		int mask = table.length - 1;
+		int slot = spread(name.hashCode()) & mask;
+		Symbol symbol;
+
+		while ((symbol = table[slot]) != null)
+		{
+			if (symbol.name.equals(name))
+				return symbol.id;
+
+			slot = (slot + 1) & mask;
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Returns the symbol of a region of any String
+	 *
+	 * @param text any String
+	 * @param start the start index of the name, inclusive
+	 * @param end the end index of the name, exclusive
+	 * @return the symbol, or -1 if the name has not been interned
+	 */
+	public int get(String text, int start, int end)
+	{
+		//the same hash String.hashCode would produce for the region
+		int length = end - start;
+		int hash = 0;
+		for (int i = start; i < end; i++)
+			hash = 31 * hash + text.charAt(i);
+
+		Symbol[] table = this.table;
+		int mask = table.length - 1;
+		int slot = spread(hash) & mask;
+		Symbol symbol;
+
+		while ((symbol = table[slot]) != null)
+		{
+			if (symbol.name.length() == length && symbol.name.regionMatches(0, text, start, length))
+				return symbol.id;
+
+			slot = (slot + 1) & mask;
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Returns the name of a symbol
+	 *
+	 * @param symbol any symbol created by this table
+	 * @return the name as a String
+	 */
+	public String getName(int symbol)
+	{
+		if (symbol < 0 || symbol >= size)
+			throw new RuntimeException("Unknown symbol " + symbol);
+
+		return names[symbol];
+	}
+
+	/**
+	 * Returns the amount of symbols, every symbol is lower than this
+	 *
+	 * @return the amount of symbols
+	 */
+	public int size()
+	{
+		return size;
+	}
+
+	private int add(String name)
+	{
+		//another thread may have added the name while this one was waiting
+		int symbol = get(name);
+
+		if (symbol != -1)
+			return symbol;
+
+		symbol = size;
+
+		if (symbol == names.length)
+			names = Arrays.copyOf(names, symbol * 2);
+
+		names[symbol] = name;
+
+		Symbol entry = new Symbol(name, symbol);
+
+		if ((symbol + 1) * 2 > table.length)
+		{
+			Symbol[] grown = new Symbol[table.length * 2];
+
+			for (Symbol existing : table)
+				if (existing != null)
+					insert(grown, existing);
+
+			insert(grown, entry);
+			table = grown;
+		}
+		else
+		{
+			insert(table, entry);
+		}
+
+		//publishing the size last makes the name visible to getName
+		size = symbol + 1;
+		return symbol;
+	}
+
+	private static void insert(Symbol[] table, Symbol symbol)
+	{
+		int mask = table.length - 1;
+		int slot = spread(symbol.name.hashCode()) & mask;
+
+		while (table[slot] != null)
+			slot = (slot + 1) & mask;
+
+		table[slot] = symbol;
+	}
+
+	private static int spread(int hash)
+	{
+		return hash ^ (hash >>> 16);
+	}
+
+	/**
+	 * An immutable name / symbol pair, the final fields make it safe to read without locking
+	 */
+	private static final class Symbol
+	{
+		private final String name;
+		private final int id;
+
+		private Symbol(String name, int id)
+		{
+			this.name = name;
+			this.id = id;
+		}
+	}
+}
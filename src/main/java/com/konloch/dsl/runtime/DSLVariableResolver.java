@@ -0,0 +1,236 @@
+package com.konloch.dsl.runtime;
+
+import java.util.Arrays;
+
+/**
+ * The DSLVariableResolver expands variable references inside of variable values and caches the result per variable.
+ *
+ * While a value is resolved, every variable it references is recorded, so when a variable is reassigned only the
+ * values that depend on it are invalidated. Variables are tracked by the symbol of their name, references are
+ * looked up straight from the value without creating a String for the name.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLVariableResolver
+{
+	private final char variableDelimiter;
+	private final DSLCommandMap commands;
+	private final DSLSymbolTable symbols;
+	private String[] resolved = new String[16];
+	private int[][] dependents = new int[16][];
+	private int[] dependentCounts = new int[16];
+	private boolean[] resolving = new boolean[16];
+	private int[] resolvingStack = new int[16];
+	private int resolvingDepth;
+
+	/**
+	 * Construct a new instance of the DSLVariableResolver
+	 *
+	 * @param variableDelimiter the variable delimiter
+	 * @param commands the commands variables are resolved from
+	 */
+	public DSLVariableResolver(char variableDelimiter, DSLCommandMap commands)
+	{
+		this.variableDelimiter = variableDelimiter;
+		this.commands = commands;
+		this.symbols = commands.getSymbols();
+	}
+
+	/**
+	 * Returns the fully expanded value of any DSLRuntimeCommand.
+	 *
+	 * The value is cached if the command is the one currently stored under its name.
+	 *
+	 * @param command any DSLRuntimeCommand
+	 * @return the fully expanded String value
+	 */
+	public String getVariableValue(DSLRuntimeCommand command)
+	{
+		int symbol = command.getSymbol(symbols);
+
+		if (commands.get(symbol) == command)
+			return resolve(symbol, command);
+
+		return expand(command, -1);
+	}
+
+	/**
+	 * Drops the cached value of a variable along with every cached value that referenced it.
+	 *
+	 * @param name any String as the variable name
+	 */
+	public void invalidate(String name)
+	{
+		int symbol = symbols.get(name);
+
+		if (symbol != -1)
+			invalidate(symbol);
+	}
+
+	/**
+	 * Drops the cached value of a variable along with every cached value that referenced it.
+	 *
+	 * @param symbol the symbol of the variable name
+	 */
+	public void invalidate(int symbol)
+	{
+		if (symbol >= resolved.length)
+			return;
+
+		resolved[symbol] = null;
+
+		int[] dependentSymbols = dependents[symbol];
+		int count = dependentCounts[symbol];
+
+		if (dependentSymbols == null)
+			return;
+
+		dependents[symbol] = null;
+		dependentCounts[symbol] = 0;
+
+		for (int i = 0; i < count; i++)
+			invalidate(dependentSymbols[i]);
+	}
+
+	/**
+	 * Drops every cached value.
+	 */
+	public void clear()
+	{
+		Arrays.fill(resolved, null);
+		Arrays.fill(dependents, null);
+		Arrays.fill(dependentCounts, 0);
+	}
+
+	private String resolve(int symbol, DSLRuntimeCommand command)
+	{
+		ensureCapacity(symbol);
+
+		String value = resolved[symbol];
+
+		if (value != null)
+			return value;
+
+		if (resolving[symbol])
+			throw new RuntimeException("Variable reference cycle detected: " + describeCycle(symbol));
+
+		resolving[symbol] = true;
+		if (resolvingDepth == resolvingStack.length)
+			resolvingStack = Arrays.copyOf(resolvingStack, resolvingDepth * 2);
+		resolvingStack[resolvingDepth++] = symbol;
+
+		try
+		{
+			value = expand(command, symbol);
+		}
+		finally
+		{
+			resolving[symbol] = false;
+			resolvingDepth--;
+		}
+
+		resolved[symbol] = value;
+		return value;
+	}
+
+	private String expand(DSLRuntimeCommand command, int dependent)
+	{
+		String[] parameters = command.getParameters();
+		String template = parameters == null || parameters.length == 0 ? "" : parameters[0];
+		int start = template.indexOf(variableDelimiter);
+
+		if (start == -1)
+			return template;
+
+		StringBuilder builder = new StringBuilder(template.length() + 16);
+		int last = 0;
+
+		while (start != -1)
+		{
+			int end = template.indexOf(variableDelimiter, start + 1);
+
+			if (end == -1)
+				break;
+
+			int key;
+
+			//record the reference even if the variable does not exist yet, defining it later invalidates this value
+			if (dependent != -1)
+			{
+				key = symbols.intern(template, start + 1, end);
+				addDependent(key, dependent);
+			}
+			else
+			{
+				key = symbols.get(template, start + 1, end);
+			}
+
+			DSLRuntimeCommand reference = commands.get(key);
+
+			builder.append(template, last, start);
+
+			if (reference == null)
+				builder.append(template, start, end + 1);
+			else
+				builder.append(resolve(key, reference));
+
+			last = end + 1;
+			start = template.indexOf(variableDelimiter, last);
+		}
+
+		builder.append(template, last, template.length());
+		return builder.toString();
+	}
+
+	private void addDependent(int symbol, int dependent)
+	{
+		ensureCapacity(symbol);
+
+		int[] dependentSymbols = dependents[symbol];
+		int count = dependentCounts[symbol];
+
+		if (dependentSymbols == null)
+		{
+			dependentSymbols = new int[4];
+			dependents[symbol] = dependentSymbols;
+		}
+		else
+		{
+			for (int i = 0; i < count; i++)
+				if (dependentSymbols[i] == dependent)
+					return;
+
+			if (count == dependentSymbols.length)
+			{
+				dependentSymbols = Arrays.copyOf(dependentSymbols, count * 2);
+				dependents[symbol] = dependentSymbols;
+			}
+		}
+
+		dependentSymbols[count] = dependent;
+		dependentCounts[symbol] = count + 1;
+	}
+
+	private void ensureCapacity(int symbol)
+	{
+		if (symbol < resolved.length)
+			return;
+
+		int capacity = Math.max(resolved.length * 2, symbol + 1);
+		resolved = Arrays.copyOf(resolved, capacity);
+		dependents = Arrays.copyOf(dependents, capacity);
+		dependentCounts = Arrays.copyOf(dependentCounts, capacity);
+		resolving = Arrays.copyOf(resolving, capacity);
+	}
+
+	private String describeCycle(int symbol)
+	{
+		StringBuilder cycle = new StringBuilder();
+
+		for (int i = 0; i < resolvingDepth; i++)
+			cycle.append(symbols.getName(resolvingStack[i])).append(" -> ");
+
+		return cycle.append(symbols.getName(symbol)).toString();
+	}
+}
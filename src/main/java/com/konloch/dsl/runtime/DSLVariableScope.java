@@ -0,0 +1,18 @@
+package com.konloch.dsl.runtime;
+
+/**
+ * A DSLVariableScope holds the variable state compiled commands are executed against.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public interface DSLVariableScope
+{
+	/**
+	 * Returns the fully expanded value of any variable DSLRuntimeCommand
+	 *
+	 * @param runtimeCommand any DSLRuntimeCommand
+	 * @return the fully expanded String value
+	 */
+	String getVariableValue(DSLRuntimeCommand runtimeCommand);
+}
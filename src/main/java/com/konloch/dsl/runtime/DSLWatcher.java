@@ -0,0 +1,287 @@
+package com.konloch.dsl.runtime;
+
+import com.konloch.dsl.DSL;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * The DSLWatcher reloads the subscripts of script files when they change on disk.
+ *
+ * Only the changed file is read again. Its subscripts are compared with the ones currently loaded, and only the
+ * subscripts that were added, changed or removed are compiled again. The result is published as a new DSLProgram,
+ * so threads that are running the previous DSLProgram finish on it without blocking. Top-level commands are only
+ * executed when the files are first loaded, they are not executed again on reload, and runtime variables are kept.
+ *
+ * A watched file that is deleted is treated as an empty file, its subscripts are removed until it is created again.
+ * Editors that save by deleting and creating the file again are reloaded the same way as any other save.
+ *
+ * While a DSLWatcher is running the DSL is modified on the watcher thread, so scripts should be run through
+ * getProgram() instead of through the DSL itself.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLWatcher implements Closeable
+{
+	private final DSL dsl;
+	private final LinkedHashMap<Path, Set<String>> files = new LinkedHashMap<>();
+	private final WatchService watchService;
+	private final Thread thread;
+	private volatile DSLProgram program;
+	private final Consumer<Exception> errorHandler;
+
+	/**
+	 * Loads a collection of UTF-8 encoded Paths into any DSL the same way as DSL.load, then registers them to be watched.
+	 *
+	 * @param dsl any DSL
+	 * @param paths the Paths to load and watch, in the order they should be loaded
+	 * @param errorHandler the Exception Consumer that receives every exception thrown while reloading on the watcher thread
+	 * @throws IOException if an I/O error occurs reading any of the files or registering the watch service
+	 */
+	public DSLWatcher(DSL dsl, Collection<Path> paths, Consumer<Exception> errorHandler) throws IOException
+	{
+		this.dsl = dsl;
+		this.errorHandler = errorHandler;
+
+		if (errorHandler == null)
+			throw new RuntimeException("An error handler is required to report failed reloads");
+
+		if (paths.isEmpty())
+			throw new RuntimeException("No files to watch");
+
+		List<DSLParsedScript> scripts = new ArrayList<>(paths.size());
+		for (Path path : paths)
+		{
+			Path file = path.toAbsolutePath().normalize();
+			DSLParsedScript script = DSLParsedScript.read(dsl, file);
+			scripts.add(script);
+			files.put(file, new HashSet<>(script.getSubscripts().keySet()));
+		}
+
+		dsl.load(scripts);
+		this.program = dsl.compile();
+
+		this.watchService = files.keySet().iterator().next().getFileSystem().newWatchService();
+
+		LinkedHashSet<Path> directories = new LinkedHashSet<>();
+		for (Path file : files.keySet())
+			directories.add(file.getParent());
+
+		for (Path directory : directories)
+			directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+					StandardWatchEventKinds.ENTRY_DELETE);
+
+		this.thread = new Thread(this::watch, "DSLWatcher");
+		this.thread.setDaemon(true);
+	}
+
+	/**
+	 * Starts watching the files on a daemon thread
+	 *
+	 * @return this instance for method chaining
+	 */
+	public DSLWatcher start()
+	{
+		thread.start();
+		return this;
+	}
+
+	/**
+	 * Stops watching the files
+	 *
+	 * @throws IOException if an I/O error occurs closing the watch service
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		watchService.close();
+		thread.interrupt();
+	}
+
+	/**
+	 * Reads a watched file again and swaps in the subscripts that changed. A file that no longer exists is read as empty.
+	 *
+	 * Nothing is changed if the file now defines a subscript that is already defined somewhere else, or if any of its
+	 * subscripts fails to compile. In that case a Runtime Exception is thrown.
+	 *
+	 * @param path any watched Path
+	 * @return true if any subscript was added, changed or removed
+	 * @throws IOException if an I/O error occurs reading the file
+	 */
+	public synchronized boolean reload(Path path) throws IOException
+	{
+		Path file = path.toAbsolutePath().normalize();
+		Set<String> owned = files.get(file);
+
+		if (owned == null)
+			throw new RuntimeException("File " + path + " is not being watched");
+
+		//a deleted file defines no subscripts, if it is created again the next reload adds them back
+		DSLParsedScript script = Files.exists(file) ? DSLParsedScript.read(dsl, file) : new DSLParsedScript(file.toString());
+		Map<String, List<DSLRuntimeCommand>> subscripts = dsl.getSubscripts();
+
+		//look for conflicts before anything is changed
+		StringBuilder conflicts = new StringBuilder();
+		for (String name : script.getSubscripts().keySet())
+			if (!owned.contains(name) && subscripts.containsKey(name) && !subscripts.get(name).isEmpty())
+				conflicts.append(System.lineSeparator()).append("Subscript ").append(name).append(" from ").append(file).append(" is already defined");
+
+		if (conflicts.length() > 0)
+			throw new RuntimeException("Unable to reload " + file + ":" + conflicts);
+
+		//build and compile everything first, so a subscript that fails to compile leaves the DSL and the program as they were
+		HashMap<String, List<DSLRuntimeCommand>> lists = new HashMap<>();
+		HashMap<String, DSLCompiledSubscript> replaced = new HashMap<>();
+		for (Map.Entry<String, List<DSLRuntimeCommand>> subscript : script.getSubscripts().entrySet())
+		{
+			String name = subscript.getKey();
+			List<DSLRuntimeCommand> current = subscripts.get(name);
+
+			if (current != null && isSame(current, subscript.getValue()))
+				continue;
+
+			List<DSLRuntimeCommand> list = dsl.getSubscriptStorage().copy(dsl.getSymbols(), subscript.getValue());
+			lists.put(name, list);
+			replaced.put(name, new DSLCompiledSubscript(dsl, name, list));
+		}
+
+		//drop the subscripts the file no longer defines, in strict mode they stay declared but empty
+		ArrayList<String> removed = new ArrayList<>();
+		for (String name : owned)
+		{
+			if (script.getSubscripts().containsKey(name))
+				continue;
+
+			if (dsl.isStrictMode())
+			{
+				List<DSLRuntimeCommand> list = dsl.getSubscriptStorage().newList(dsl.getSymbols());
+				lists.put(name, list);
+				replaced.put(name, new DSLCompiledSubscript(dsl, name, list));
+			}
+			else
+			{
+				removed.add(name);
+			}
+		}
+
+		subscripts.putAll(lists);
+		for (String name : removed)
+			dsl.removeSub(name);
+
+		files.put(file, new HashSet<>(script.getSubscripts().keySet()));
+
+		if (replaced.isEmpty() && removed.isEmpty())
+			return false;
+
+		program = program.withSubscripts(replaced, removed);
+		return true;
+	}
+
+	/**
+	 * Returns the latest DSLProgram, it is replaced every time a reload changes a subscript
+	 *
+	 * @return the current DSLProgram
+	 */
+	public DSLProgram getProgram()
+	{
+		return program;
+	}
+
+	/**
+	 * Returns the watched files
+	 *
+	 * @return the absolute Paths of the watched files
+	 */
+	public Set<Path> getFiles()
+	{
+		return files.keySet();
+	}
+
+	private void watch()
+	{
+		try
+		{
+			while (true)
+			{
+				WatchKey key = watchService.take();
+				Path directory = (Path) key.watchable();
+
+				//an editor may report several events for one save, reload each file once
+				LinkedHashSet<Path> changed = new LinkedHashSet<>();
+				for (WatchEvent<?> event : key.pollEvents())
+				{
+					if (event.kind() == StandardWatchEventKinds.OVERFLOW)
+					{
+						changed.addAll(files.keySet());
+						continue;
+					}
+
+					Path file = directory.resolve((Path) event.context());
+
+					if (files.containsKey(file))
+						changed.add(file);
+				}
+
+				key.reset();
+
+				for (Path file : changed)
+				{
+					try
+					{
+						reload(file);
+					}
+					catch (IOException | RuntimeException e)
+					{
+						errorHandler.accept(e);
+					}
+				}
+			}
+		}
+		catch (InterruptedException | ClosedWatchServiceException e)
+		{
+			//the watcher has been closed
+		}
+	}
+
+	private static boolean isSame(List<DSLRuntimeCommand> a, List<DSLRuntimeCommand> b)
+	{
+		if (a.size() != b.size())
+			return false;
+
+		for (int i = 0; i < a.size(); i++)
+		{
+			DSLRuntimeCommand commandA = a.get(i);
+			DSLRuntimeCommand commandB = b.get(i);
+
+			if (commandA == commandB)
+				continue;
+
+			if (commandA == null || commandB == null
+					|| commandA.getType() != commandB.getType()
+					|| !commandA.getName().equals(commandB.getName())
+					|| !Arrays.equals(commandA.getParameters(), commandB.getParameters()))
+				return false;
+		}
+
+		return true;
+	}
+}
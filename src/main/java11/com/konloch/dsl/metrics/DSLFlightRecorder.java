@@ -0,0 +1,290 @@
+package com.konloch.dsl.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Emits Java Flight Recorder events for parsing, subscript runs, command dispatches and variable resolutions.
+ *
+ * This is the Java 11 version from META-INF/versions/11 of the multi-release jar. While an event type is not enabled
+ * its begin method only checks the cached EventType, and events are only committed if they took longer than their threshold.
+ *
+ * Each event type is enabled and given a threshold separately through the JFR settings, using the event names below.
+ * An event is started with one of the begin methods and handed back to the matching end method once the work is done.
+ * The begin methods return null when the event type is not enabled, so nothing is allocated or timed.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLFlightRecorder
+{
+	/**
+	 * A script read through DSL.parse, parseLazy, parsePipelined, parseAll or a script cache, enabled by default without a threshold
+	 */
+	public static final String PARSE_EVENT = "com.konloch.dsl.Parse";
+
+	/**
+	 * A subscript run through DSL.run or DSLContext.run, enabled by default with a threshold of 1 ms
+	 */
+	public static final String SUBSCRIPT_EVENT = "com.konloch.dsl.Subscript";
+
+	/**
+	 * A command dispatched at the top level, from a subscript or on the executor of the DSL, disabled by default
+	 */
+	public static final String COMMAND_EVENT = "com.konloch.dsl.Command";
+
+	/**
+	 * A variable value resolved through getVariableValue, disabled by default
+	 */
+	public static final String VARIABLE_EVENT = "com.konloch.dsl.Variable";
+
+	//looked up once, checking them costs nothing while no recording enables the event type
+	private static final EventType PARSE_TYPE = EventType.getEventType(ParseEvent.class);
+	private static final EventType SUBSCRIPT_TYPE = EventType.getEventType(SubscriptEvent.class);
+	private static final EventType COMMAND_TYPE = EventType.getEventType(CommandEvent.class);
+	private static final EventType VARIABLE_TYPE = EventType.getEventType(VariableEvent.class);
+
+	/**
+	 * Returns true if events are recorded when JFR is recording
+	 *
+	 * @return true, this Java version supports JFR events
+	 */
+	public static boolean isAvailable()
+	{
+		return true;
+	}
+
+	/**
+	 * Returns true if command events are being recorded, so a run can skip timing every command otherwise
+	 *
+	 * @return true if the command event type is enabled in a running recording
+	 */
+	public static boolean isCommandEnabled()
+	{
+		return COMMAND_TYPE.isEnabled();
+	}
+
+	/**
+	 * Starts timing a parse
+	 *
+	 * @return the event to end, or null if the event type is not enabled
+	 */
+	public static Object beginParse()
+	{
+		if (!PARSE_TYPE.isEnabled())
+			return null;
+
+		ParseEvent event = new ParseEvent();
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * Ends a parse and commits it if it passes the threshold
+	 *
+	 * @param event the event returned by beginParse
+	 * @param source any String describing where the script was read from
+	 * @param lines the amount of lines that were read, none if the script was loaded from a cache
+	 * @param cached true if the script was loaded from a cache instead of its source
+	 */
+	public static void endParse(Object event, String source, long lines, boolean cached)
+	{
+		if (event == null)
+			return;
+
+		ParseEvent parse = (ParseEvent) event;
+		parse.end();
+
+		if (!parse.shouldCommit())
+			return;
+
+		parse.source = source;
+		parse.lines = lines;
+		parse.cached = cached;
+		parse.commit();
+	}
+
+	/**
+	 * Starts timing a subscript run
+	 *
+	 * @return the event to end, or null if the event type is not enabled
+	 */
+	public static Object beginSubscript()
+	{
+		if (!SUBSCRIPT_TYPE.isEnabled())
+			return null;
+
+		SubscriptEvent event = new SubscriptEvent();
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * Ends a subscript run and commits it if it passes the threshold
+	 *
+	 * @param event the event returned by beginSubscript
+	 * @param name any String as the subscript name
+	 * @param commands the amount of commands in the subscript
+	 */
+	public static void endSubscript(Object event, String name, int commands)
+	{
+		if (event == null)
+			return;
+
+		SubscriptEvent subscript = (SubscriptEvent) event;
+		subscript.end();
+
+		if (!subscript.shouldCommit())
+			return;
+
+		subscript.name = name;
+		subscript.commands = commands;
+		subscript.commit();
+	}
+
+	/**
+	 * Starts timing a command dispatch
+	 *
+	 * @return the event to end, or null if the event type is not enabled
+	 */
+	public static Object beginCommand()
+	{
+		if (!COMMAND_TYPE.isEnabled())
+			return null;
+
+		CommandEvent event = new CommandEvent();
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * Ends a command dispatch and commits it if it passes the threshold
+	 *
+	 * @param event the event returned by beginCommand
+	 * @param name any String as the command name
+	 * @param parameters the amount of parameters the command was called with
+	 */
+	public static void endCommand(Object event, String name, int parameters)
+	{
+		if (event == null)
+			return;
+
+		CommandEvent command = (CommandEvent) event;
+		command.end();
+
+		if (!command.shouldCommit())
+			return;
+
+		command.name = name;
+		command.parameters = parameters;
+		command.commit();
+	}
+
+	/**
+	 * Starts timing a variable resolution
+	 *
+	 * @return the event to end, or null if the event type is not enabled
+	 */
+	public static Object beginVariable()
+	{
+		if (!VARIABLE_TYPE.isEnabled())
+			return null;
+
+		VariableEvent event = new VariableEvent();
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * Ends a variable resolution and commits it if it passes the threshold
+	 *
+	 * @param event the event returned by beginVariable
+	 * @param name any String as the variable name
+	 * @param length the length of the resolved value
+	 */
+	public static void endVariable(Object event, String name, int length)
+	{
+		if (event == null)
+			return;
+
+		VariableEvent variable = (VariableEvent) event;
+		variable.end();
+
+		if (!variable.shouldCommit())
+			return;
+
+		variable.name = name;
+		variable.length = length;
+		variable.commit();
+	}
+
+	@Name(PARSE_EVENT)
+	@Label("DSL Parse")
+	@Category("DSLBuilder")
+	@Description("A script read through DSL.parse, parseLazy, parsePipelined, parseAll or a script cache")
+	@Threshold("0 ms")
+	static final class ParseEvent extends Event
+	{
+		@Label("Source")
+		String source;
+
+		@Label("Lines")
+		long lines;
+
+		@Label("Cached")
+		boolean cached;
+	}
+
+	@Name(SUBSCRIPT_EVENT)
+	@Label("DSL Subscript")
+	@Category("DSLBuilder")
+	@Description("A subscript run through DSL.run or DSLContext.run")
+	@Threshold("1 ms")
+	static final class SubscriptEvent extends Event
+	{
+		@Label("Name")
+		String name;
+
+		@Label("Commands")
+		int commands;
+	}
+
+	@Name(COMMAND_EVENT)
+	@Label("DSL Command")
+	@Category("DSLBuilder")
+	@Description("A command dispatched at the top level, from a subscript or on the executor of the DSL")
+	@Enabled(false)
+	@StackTrace(false)
+	@Threshold("0 ms")
+	static final class CommandEvent extends Event
+	{
+		@Label("Name")
+		String name;
+
+		@Label("Parameters")
+		int parameters;
+	}
+
+	@Name(VARIABLE_EVENT)
+	@Label("DSL Variable")
+	@Category("DSLBuilder")
+	@Description("A variable value resolved through getVariableValue")
+	@Enabled(false)
+	@StackTrace(false)
+	@Threshold("0 ms")
+	static final class VariableEvent extends Event
+	{
+		@Label("Name")
+		String name;
+
+		@Label("Value Length")
+		int length;
+	}
+}
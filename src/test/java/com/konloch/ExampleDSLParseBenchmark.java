@@ -0,0 +1,184 @@
+package com.konloch;
+
+import com.konloch.dsl.DSL;
+import com.konloch.dsl.commands.DSLCommandType;
+import com.konloch.dsl.runtime.DSLLexer;
+import com.konloch.dsl.runtime.DSLRuntimeCommand;
+import com.konloch.util.FastStringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compares the parse throughput of the single pass DSLLexer against the previous String based line parser.
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class ExampleDSLParseBenchmark
+{
+	private static final int LINES = 200_000;
+	private static final int WARMUP_ROUNDS = 10;
+	private static final int ROUNDS = 10;
+
+	public static void main(String[] args)
+	{
+		ExampleDSL dsl = new ExampleDSL();
+		List<String> corpus = buildCorpus();
+		DSLLexer lexer = new DSLLexer(dsl);
+
+		//make sure both parsers agree before timing them
+		for(String line : corpus)
+		{
+			DSLRuntimeCommand expected = legacyParse(dsl, line);
+			DSLRuntimeCommand actual = lexerParse(lexer, line);
+
+			if(!sameCommand(expected, actual))
+				throw new RuntimeException("Parsers disagree on `" + line + "`");
+		}
+
+		long sink = 0;
+		for(int i = 0; i < WARMUP_ROUNDS; i++)
+		{
+			sink += runLegacy(dsl, corpus);
+			sink += runLexer(lexer, corpus);
+		}
+
+		long legacyTime = 0;
+		long lexerTime = 0;
+		for(int i = 0; i < ROUNDS; i++)
+		{
+			long start = System.nanoTime();
+			sink += runLegacy(dsl, corpus);
+			legacyTime += System.nanoTime() - start;
+
+			start = System.nanoTime();
+			sink += runLexer(lexer, corpus);
+			lexerTime += System.nanoTime() - start;
+		}
+
+		System.out.println("Legacy parser: " + linesPerSecond(legacyTime) + " lines/sec");
+		System.out.println("DSLLexer:      " + linesPerSecond(lexerTime) + " lines/sec");
+		System.out.println("Speedup:       " + String.format("%.2fx", (double) legacyTime / lexerTime));
+		System.out.println("(" + sink + ")");
+	}
+
+	private static List<String> buildCorpus()
+	{
+		String[] templates = {
+				"  variable = value number %d",
+				"variableExample=Testing %%variable%% %d",
+				"functionA(parameter %d)",
+				"functionB(first %d, second, third , fourth)",
+				"# comment line %d",
+				"exampleSubscript%d {",
+				"   }",
+				"functionC()",
+				"",
+		};
+
+		ArrayList<String> corpus = new ArrayList<>(LINES);
+		for(int i = 0; i < LINES; i++)
+			corpus.add(String.format(templates[i % templates.length], i));
+
+		return corpus;
+	}
+
+	private static long runLegacy(DSL dsl, List<String> corpus)
+	{
+		long count = 0;
+		for(String line : corpus)
+			if(legacyParse(dsl, line) != null)
+				count++;
+
+		return count;
+	}
+
+	private static long runLexer(DSLLexer lexer, List<String> corpus)
+	{
+		long count = 0;
+		for(String line : corpus)
+			if(lexerParse(lexer, line) != null)
+				count++;
+
+		return count;
+	}
+
+	private static DSLRuntimeCommand lexerParse(DSLLexer lexer, String line)
+	{
+		if (!lexer.scan(line) || lexer.isComment() || lexer.isSubscriptStart() || lexer.isSubscriptEnd())
+			return null;
+
+		return lexer.buildCommand();
+	}
+
+	/**
+	 * The line classification and command building as it was done before the DSLLexer
+	 */
+	private static DSLRuntimeCommand legacyParse(DSL dsl, String line)
+	{
+		line = line.trim();
+
+		if (line.isEmpty() || line.startsWith(dsl.getCommentDelimiter()))
+			return null;
+
+		if (!line.contains(dsl.getBracketDelimiterStart()) && line.endsWith(dsl.getSubscriptDelimiterStart()))
+			return null;
+
+		if (line.contains(dsl.getSubscriptDelimiterEnd()))
+			return null;
+
+		if (line.contains(dsl.getSetValueDelimiter()))
+		{
+			String[] split = FastStringUtils.split(line, dsl.getSetValueDelimiter(), 2);
+			String name = split[0].trim();
+			String value = split[1].trim();
+
+			if (!name.isEmpty() && !value.isEmpty() && (!dsl.isStrictMode() || dsl.getCommands().containsKey(name)))
+				return new DSLRuntimeCommand(DSLCommandType.VARIABLE, name, new String[]{value});
+		}
+
+		if (line.contains(dsl.getBracketDelimiterStart()) && line.contains(dsl.getBracketDelimiterEnd()))
+		{
+			String[] parameters = FastStringUtils.split(line, dsl.getBracketDelimiterStart(), 2);
+			String name = parameters[0].trim();
+			String values = null;
+
+			if (parameters[1].length() >= 2)
+				values = FastStringUtils.split(parameters[1], dsl.getBracketDelimiterEnd())[0].trim();
+
+			if (values == null)
+				return new DSLRuntimeCommand(DSLCommandType.VARIABLE, name, null);
+
+			if (values.contains(","))
+			{
+				parameters = FastStringUtils.split(values, ",");
+
+				for(int i = 0; i < parameters.length; i++)
+					parameters[i] = parameters[i].trim();
+			}
+			else
+			{
+				parameters = new String[]{values};
+			}
+
+			return new DSLRuntimeCommand(DSLCommandType.VARIABLE, name, parameters);
+		}
+
+		return null;
+	}
+
+	private static boolean sameCommand(DSLRuntimeCommand a, DSLRuntimeCommand b)
+	{
+		if(a == null || b == null)
+			return a == b;
+
+		return a.getType() == b.getType() && a.getName().equals(b.getName()) && Arrays.equals(a.getParameters(), b.getParameters());
+	}
+
+	private static long linesPerSecond(long nanos)
+	{
+		return (long) ((double) LINES * ROUNDS / nanos * 1_000_000_000L);
+	}
+}
@@ -0,0 +1,225 @@
+package com.konloch.dsl.runtime;
+
+import com.konloch.dsl.DSL;
+import com.konloch.dsl.commands.DSLCommandType;
+import com.konloch.util.FastStringUtils;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that the DSLLexer reads every line the same way as the String based line parser it replaced
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLLexerTest
+{
+	private static final String[] EXAMPLES = {
+			"",
+			"   ",
+			"# a comment",
+			"   #indented comment",
+			"variable=value",
+			"variable = value with spaces ",
+			"variable=Testing %variableExample%",
+			"variable=a=b",
+			"=value",
+			"variable=",
+			"functionA(Calling on this function)",
+			"functionB(Parameter Test A, Parameter Test B)",
+			"functionB( a , , b )",
+			"functionA()",
+			"functionA(",
+			"functionA)",
+			"functionA(x",
+			"functionA (x) trailing",
+			"functionA(a=b)",
+			"value=functionA(x)",
+			"exampleA {",
+			"exampleA{",
+			"{",
+			"}",
+			"  }",
+			"functionA(x) {",
+			"functionA(x) }",
+			"variable=%a%%b%",
+	};
+
+	private static final char[] ALPHABET = {'a', 'b', ' ', '\t', '=', '%', '(', ')', '{', '}', '#', ','};
+
+	@Test
+	public void readsExampleLinesLikeTheStringParser()
+	{
+		DSL dsl = newDSL(false);
+		DSLLexer lexer = new DSLLexer(dsl);
+
+		for (String line : EXAMPLES)
+			assertSameCommand(dsl, lexer, line);
+	}
+
+	@Test
+	public void readsExampleLinesLikeTheStringParserInStrictMode()
+	{
+		DSL dsl = newDSL(true);
+		DSLLexer lexer = new DSLLexer(dsl);
+
+		for (String line : EXAMPLES)
+			assertSameCommand(dsl, lexer, line);
+	}
+
+	@Test
+	public void readsRandomLinesLikeTheStringParser()
+	{
+		DSL dsl = newDSL(false);
+		DSLLexer lexer = new DSLLexer(dsl);
+		Random random = new Random(17);
+
+		for (int i = 0; i < 100_000; i++)
+			assertSameCommand(dsl, lexer, randomLine(random));
+	}
+
+	@Test
+	public void readsRandomLinesLikeTheStringParserInStrictMode()
+	{
+		DSL dsl = newDSL(true);
+		DSLLexer lexer = new DSLLexer(dsl);
+		Random random = new Random(2017);
+
+		for (int i = 0; i < 100_000; i++)
+			assertSameCommand(dsl, lexer, randomLine(random));
+	}
+
+	@Test
+	public void fillsTheSameArgumentsAsTheBuiltCommand()
+	{
+		DSL dsl = newDSL(false);
+		DSLLexer lexer = new DSLLexer(dsl);
+		DSLLineArguments arguments = new DSLLineArguments();
+
+		for (String line : EXAMPLES)
+		{
+			DSLRuntimeCommand command = lexerParse(lexer, line);
+
+			if (command == null || !lexer.isFunctionCall())
+				continue;
+
+			String[] parameters = command.getParameters();
+			lexer.fillArguments(arguments);
+
+			assertEquals(line, parameters == null ? 0 : parameters.length, arguments.size());
+			for (int i = 0; i < arguments.size(); i++)
+				assertEquals(line, parameters[i], arguments.getString(i));
+		}
+	}
+
+	private static DSL newDSL(boolean strictMode)
+	{
+		DSL dsl = new DSL('=', '%', '(', ')', '{', '}', '#', strictMode);
+		dsl.addVar("a", value -> {});
+		dsl.addVar("variable", value -> {});
+		dsl.addFunc("b", parameters -> {});
+		dsl.addFunc("functionA", parameters -> {});
+		return dsl;
+	}
+
+	private static String randomLine(Random random)
+	{
+		char[] line = new char[random.nextInt(12)];
+
+		for (int i = 0; i < line.length; i++)
+			line[i] = ALPHABET[random.nextInt(ALPHABET.length)];
+
+		return new String(line);
+	}
+
+	private static void assertSameCommand(DSL dsl, DSLLexer lexer, String line)
+	{
+		DSLRuntimeCommand expected = stringParse(dsl, line);
+		DSLRuntimeCommand actual = lexerParse(lexer, line);
+
+		if (expected == null || actual == null)
+		{
+			assertTrue("'" + line + "' expected " + describe(expected) + " but was " + describe(actual), expected == actual);
+			return;
+		}
+
+		assertEquals("'" + line + "'", expected.getType(), actual.getType());
+		assertEquals("'" + line + "'", expected.getName(), actual.getName());
+		assertTrue("'" + line + "' expected " + describe(expected) + " but was " + describe(actual),
+				Arrays.equals(expected.getParameters(), actual.getParameters()));
+	}
+
+	private static String describe(DSLRuntimeCommand command)
+	{
+		return command == null ? "null" : command.getType() + " " + command.getName() + " " + Arrays.toString(command.getParameters());
+	}
+
+	private static DSLRuntimeCommand lexerParse(DSLLexer lexer, String line)
+	{
+		if (!lexer.scan(line) || lexer.isComment() || lexer.isSubscriptStart() || lexer.isSubscriptEnd())
+			return null;
+
+		return lexer.buildCommand();
+	}
+
+	/**
+	 * The line classification and buildRuntimeCommand as they were before the DSLLexer
+	 */
+	private static DSLRuntimeCommand stringParse(DSL dsl, String line)
+	{
+		line = line.trim();
+
+		if (line.isEmpty() || line.startsWith(dsl.getCommentDelimiter()))
+			return null;
+
+		if (!line.contains(dsl.getBracketDelimiterStart()) && line.endsWith(dsl.getSubscriptDelimiterStart()))
+			return null;
+
+		if (line.contains(dsl.getSubscriptDelimiterEnd()))
+			return null;
+
+		if (line.contains(dsl.getSetValueDelimiter()))
+		{
+			String[] split = FastStringUtils.split(line, dsl.getSetValueDelimiter(), 2);
+			String name = split[0].trim();
+			String value = split[1].trim();
+
+			if (!name.isEmpty() && !value.isEmpty() && (!dsl.isStrictMode() || dsl.getCommands().containsKey(name)))
+				return new DSLRuntimeCommand(DSLCommandType.VARIABLE, name, new String[]{value});
+		}
+
+		if (line.contains(dsl.getBracketDelimiterStart()) && line.contains(dsl.getBracketDelimiterEnd()))
+		{
+			String[] parameters = FastStringUtils.split(line, dsl.getBracketDelimiterStart(), 2);
+			String name = parameters[0].trim();
+			String values = null;
+
+			if (parameters[1].length() >= 2)
+				values = FastStringUtils.split(parameters[1], dsl.getBracketDelimiterEnd())[0].trim();
+
+			if (values == null)
+				return new DSLRuntimeCommand(DSLCommandType.VARIABLE, name, null);
+
+			if (values.contains(","))
+			{
+				parameters = FastStringUtils.split(values, ",");
+
+				for (int i = 0; i < parameters.length; i++)
+					parameters[i] = parameters[i].trim();
+			}
+			else
+			{
+				parameters = new String[]{values};
+			}
+
+			return new DSLRuntimeCommand(DSLCommandType.VARIABLE, name, parameters);
+		}
+
+		return null;
+	}
+}
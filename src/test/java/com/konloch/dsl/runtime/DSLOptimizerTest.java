@@ -0,0 +1,144 @@
+package com.konloch.dsl.runtime;
+
+import com.konloch.dsl.DSL;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Checks that the DSLOptimizer only removes work that has no side effects
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLOptimizerTest
+{
+	private final List<String> calls = new ArrayList<>();
+
+	@Test
+	public void keepsEveryVariableAssignment()
+	{
+		DSL dsl = newDSL();
+		dsl.parse(lines("y = 7", "sub {", "x = %y%", "x = %y%", "}"));
+		calls.clear();
+
+		DSLOptimizationResult result = new DSLOptimizer(dsl).optimize("sub");
+
+		//assignments call their handler every time, only their value is folded
+		assertEquals(2, result.getFolded());
+		assertEquals(0, result.getDuplicates());
+		assertEquals(2, result.getCommandsAfter());
+		assertEquals("7", dsl.getSubscripts().get("sub").get(0).getParameters()[0]);
+
+		dsl.run("sub");
+		assertEquals(Arrays.asList("x=7", "x=7"), calls);
+	}
+
+	@Test
+	public void leavesFunctionParametersAsTheyWereWritten()
+	{
+		DSL dsl = newDSL();
+		dsl.parse(lines("y = 7", "sub {", "emit(%y%)", "}"));
+
+		DSLOptimizationResult result = new DSLOptimizer(dsl).optimize("sub");
+
+		//functions are handed their parameters without expanding variables, folding them would change what they receive
+		assertEquals(0, result.getFolded());
+		assertEquals("%y%", dsl.getSubscripts().get("sub").get(0).getParameters()[0]);
+
+		dsl.run("sub");
+		assertEquals(Arrays.asList("emit(%y%)"), calls);
+	}
+
+	@Test
+	public void mergesOnlyIdempotentDuplicates()
+	{
+		DSL dsl = newDSL();
+		dsl.markIdempotent("log");
+		dsl.parse(lines("sub {", "log(a)", "log(a)", "emit(a)", "emit(a)", "log(a)", "}"));
+
+		DSLOptimizationResult result = new DSLOptimizer(dsl).optimize("sub");
+
+		assertEquals(5, result.getCommandsBefore());
+		assertEquals(4, result.getCommandsAfter());
+		assertEquals(1, result.getDuplicates());
+
+		dsl.run("sub");
+		assertEquals(Arrays.asList("log(a)", "emit(a)", "emit(a)", "log(a)"), calls);
+	}
+
+	@Test
+	public void keepsTheListOfAnUnchangedSubscript()
+	{
+		DSL dsl = newDSL();
+		dsl.parse(lines("sub {", "emit(a)", "}"));
+		List<DSLRuntimeCommand> list = dsl.getSubscripts().get("sub");
+
+		DSLOptimizationResult result = new DSLOptimizer(dsl).optimize("sub");
+
+		assertEquals(0, result.getRemoved());
+		assertSame(list, dsl.getSubscripts().get("sub"));
+	}
+
+	@Test
+	public void skipsLazySubscriptsThatHaveNotBeenRead() throws IOException
+	{
+		Path path = Files.createTempFile("dsl-optimizer", ".dsl");
+
+		try
+		{
+			Files.write(path, Arrays.asList("lazy {", "log(a)", "log(a)", "}"), StandardCharsets.UTF_8);
+
+			DSL dsl = newDSL();
+			dsl.markIdempotent("log");
+			dsl.parseLazy(path);
+
+			DSLOptimizationReport report = dsl.optimize();
+			DSLLazySubscript lazy = (DSLLazySubscript) dsl.getSubscripts().get("lazy");
+
+			assertNull(report.get("lazy"));
+			assertFalse(lazy.isMaterialized());
+
+			//once it has been read it is optimized like any other subscript
+			lazy.materialize();
+			assertEquals(1, dsl.optimize().get("lazy").getDuplicates());
+			assertEquals(1, dsl.getSubscripts().get("lazy").size());
+		}
+		finally
+		{
+			Files.deleteIfExists(path);
+		}
+	}
+
+	@Test(expected = RuntimeException.class)
+	public void rejectsAnUnknownSubscript()
+	{
+		new DSLOptimizer(newDSL()).optimize("missing");
+	}
+
+	private DSL newDSL()
+	{
+		DSL dsl = new DSL('=', '%', '(', ')', '{', '}', '#');
+		dsl.addVar("x", value -> calls.add("x=" + value));
+		dsl.addVar("y", value -> {});
+		dsl.addFunc("emit", parameters -> calls.add("emit(" + parameters[0] + ")"));
+		dsl.addFunc("log", parameters -> calls.add("log(" + parameters[0] + ")"));
+		return dsl;
+	}
+
+	private static ArrayList<String> lines(String... lines)
+	{
+		return new ArrayList<>(Arrays.asList(lines));
+	}
+}
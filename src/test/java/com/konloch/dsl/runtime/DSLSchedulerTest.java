@@ -0,0 +1,183 @@
+package com.konloch.dsl.runtime;
+
+import com.konloch.dsl.DSL;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks that the DSLScheduler skips the dependents of a subscript that failed or was never run
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLSchedulerTest
+{
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	@Test
+	public void runsEverySubscriptAfterItsDependencies() throws Exception
+	{
+		DSLScheduleResult result = newProgram().schedule()
+				.add("a")
+				.add("b", "a")
+				.add("c", "a", "b")
+				.run().get(10, TimeUnit.SECONDS);
+
+		assertTrue(result.isSuccessful());
+		assertEquals(Arrays.asList("a", "b", "c"), new ArrayList<>(result.getResults().keySet()));
+	}
+
+	@Test
+	public void skipsTheDependentsOfAFailedSubscript() throws Exception
+	{
+		DSLScheduleResult result = newProgram().schedule()
+				.add("a")
+				.add("failing")
+				.add("b", "failing")
+				.add("c", "b")
+				.add("d", "a")
+				.run().get(10, TimeUnit.SECONDS);
+
+		assertFalse(result.isSuccessful());
+		assertEquals(DSLSubscriptStatus.COMPLETED, result.get("a").getStatus());
+		assertEquals(DSLSubscriptStatus.FAILED, result.get("failing").getStatus());
+		assertEquals("failing", result.get("failing").getFailure().getMessage());
+		assertEquals(DSLSubscriptStatus.SKIPPED, result.get("b").getStatus());
+		assertEquals(DSLSubscriptStatus.SKIPPED, result.get("c").getStatus());
+		assertEquals(DSLSubscriptStatus.COMPLETED, result.get("d").getStatus());
+		assertNull(result.get("b").getFailure());
+		assertEquals(1, result.getFailures().size());
+	}
+
+	@Test
+	public void failsTheSubscriptsAShutDownExecutorRejects() throws Exception
+	{
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		executor.shutdown();
+
+		DSLScheduleResult result = newProgram().schedule()
+				.add("a")
+				.add("b", "a")
+				.run(executor).get(10, TimeUnit.SECONDS);
+
+		assertEquals(DSLSubscriptStatus.FAILED, result.get("a").getStatus());
+		assertTrue(result.get("a").getFailure() instanceof RejectedExecutionException);
+		assertEquals(DSLSubscriptStatus.SKIPPED, result.get("b").getStatus());
+	}
+
+	@Test
+	public void failsOnlyTheSubscriptsABusyExecutorRejects() throws Exception
+	{
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new SynchronousQueue<>());
+
+		try
+		{
+			//the only thread is still running the first subscript when the second one is submitted
+			CompletableFuture<DSLScheduleResult> future = newProgram().schedule()
+					.add("blocking")
+					.add("a")
+					.add("b", "a")
+					.run(executor);
+
+			release.countDown();
+			DSLScheduleResult result = future.get(10, TimeUnit.SECONDS);
+
+			assertEquals(DSLSubscriptStatus.COMPLETED, result.get("blocking").getStatus());
+			assertEquals(DSLSubscriptStatus.FAILED, result.get("a").getStatus());
+			assertTrue(result.get("a").getFailure() instanceof RejectedExecutionException);
+			assertEquals(DSLSubscriptStatus.SKIPPED, result.get("b").getStatus());
+		}
+		finally
+		{
+			release.countDown();
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void rejectsADependencyCycle()
+	{
+		DSLScheduler scheduler = newProgram().schedule()
+				.add("a", "b")
+				.add("b", "a");
+
+		try
+		{
+			scheduler.run();
+			fail("The cycle was scheduled");
+		}
+		catch (RuntimeException e)
+		{
+			assertTrue(e.getMessage(), e.getMessage().startsWith("Subscript dependency cycle detected"));
+		}
+	}
+
+	@Test
+	public void rejectsAnUnscheduledDependency()
+	{
+		DSLScheduler scheduler = newProgram().schedule().add("b", "a");
+
+		try
+		{
+			scheduler.run();
+			fail("The unscheduled dependency was ignored");
+		}
+		catch (RuntimeException e)
+		{
+			assertEquals("Subscript b depends on a which has not been scheduled", e.getMessage());
+		}
+	}
+
+	@Test(expected = RuntimeException.class)
+	public void rejectsAnUnknownSubscript()
+	{
+		newProgram().schedule().add("missing");
+	}
+
+	private DSLProgram newProgram()
+	{
+		DSL dsl = new DSL('=', '%', '(', ')', '{', '}', '#');
+		dsl.addFunc("ok", parameters -> {});
+		dsl.addFunc("fail", parameters ->
+		{
+			throw new RuntimeException(parameters[0]);
+		});
+		dsl.addFunc("block", parameters ->
+		{
+			try
+			{
+				release.await();
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+			}
+		});
+
+		dsl.parse(new ArrayList<>(Arrays.asList(
+				"a {", "ok(a)", "}",
+				"b {", "ok(b)", "}",
+				"c {", "ok(c)", "}",
+				"d {", "ok(d)", "}",
+				"failing {", "fail(failing)", "}",
+				"blocking {", "block(x)", "}")));
+
+		return dsl.compile();
+	}
+}
@@ -0,0 +1,183 @@
+package com.konloch.dsl.runtime;
+
+import com.konloch.dsl.DSL;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that the DSLScriptCache returns the parsed script, and that a stale or damaged cache file is never trusted
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLScriptCacheTest
+{
+	private static final String SCRIPT = "variable=value\n"
+			+ "functionA(x, y)\n"
+			+ "exampleA {\n"
+			+ "  functionA(z)\n"
+			+ "}\n";
+
+	//the cache starts with the magic, the version and two SHA-256 hashes
+	private static final int COMMAND_COUNT = 72;
+	private static final int FIRST_NAME_LENGTH = COMMAND_COUNT + 4 + 1;
+	private static final int FIRST_PARAMETER_COUNT = FIRST_NAME_LENGTH + 4 + "variable".length();
+
+	private Path directory;
+	private Path source;
+	private Path cache;
+
+	@Before
+	public void setUp() throws IOException
+	{
+		directory = Files.createTempDirectory("dsl-cache");
+		source = directory.resolve("script.dsl");
+		cache = directory.resolve("script.dsl.cache");
+		Files.write(source, SCRIPT.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@After
+	public void tearDown() throws IOException
+	{
+		Files.deleteIfExists(cache);
+		Files.deleteIfExists(source);
+		Files.deleteIfExists(directory);
+	}
+
+	@Test
+	public void readsTheSameScriptFromTheCache() throws IOException
+	{
+		DSL dsl = newDSL();
+		DSLParsedScript parsed = DSLScriptCache.read(dsl, source, cache);
+
+		assertTrue(Files.isRegularFile(cache));
+		assertNotNull(readCache(dsl));
+		assertSameScript(parsed, DSLScriptCache.read(dsl, source, cache));
+	}
+
+	@Test
+	public void ignoresTheCacheOfAChangedSource() throws IOException
+	{
+		DSL dsl = newDSL();
+		DSLScriptCache.read(dsl, source, cache);
+		Files.write(source, "variable=changed\n".getBytes(StandardCharsets.UTF_8));
+
+		assertNull(readCache(dsl));
+
+		DSLParsedScript script = DSLScriptCache.read(dsl, source, cache);
+		assertEquals(1, script.getCommands().size());
+		assertEquals("changed", script.getCommands().get(0).getParameters()[0]);
+	}
+
+	@Test
+	public void rejectsACommandCountLargerThanTheFile() throws IOException
+	{
+		assertDamaged(COMMAND_COUNT, Integer.MAX_VALUE);
+	}
+
+	@Test
+	public void rejectsANegativeCommandCount() throws IOException
+	{
+		assertDamaged(COMMAND_COUNT, -2);
+	}
+
+	@Test
+	public void rejectsANameLengthLargerThanTheFile() throws IOException
+	{
+		assertDamaged(FIRST_NAME_LENGTH, Integer.MAX_VALUE);
+	}
+
+	@Test
+	public void rejectsAParameterCountLargerThanTheFile() throws IOException
+	{
+		assertDamaged(FIRST_PARAMETER_COUNT, Integer.MAX_VALUE);
+	}
+
+	@Test
+	public void rejectsAWrongMagic() throws IOException
+	{
+		assertDamaged(0, 0);
+	}
+
+	@Test
+	public void rejectsATruncatedFile() throws IOException
+	{
+		DSL dsl = newDSL();
+		DSLParsedScript parsed = DSLScriptCache.read(dsl, source, cache);
+
+		try (RandomAccessFile file = new RandomAccessFile(cache.toFile(), "rw"))
+		{
+			file.setLength(file.length() - 6);
+		}
+
+		assertNull(readCache(dsl));
+		assertSameScript(parsed, DSLScriptCache.read(dsl, source, cache));
+	}
+
+	private void assertDamaged(int offset, int value) throws IOException
+	{
+		DSL dsl = newDSL();
+		DSLParsedScript parsed = DSLScriptCache.read(dsl, source, cache);
+
+		try (RandomAccessFile file = new RandomAccessFile(cache.toFile(), "rw"))
+		{
+			file.seek(offset);
+			file.writeInt(value);
+		}
+
+		assertNull(readCache(dsl));
+
+		//the source is parsed again and the damaged cache is replaced
+		assertSameScript(parsed, DSLScriptCache.read(dsl, source, cache));
+		assertNotNull(readCache(dsl));
+	}
+
+	private DSLParsedScript readCache(DSL dsl) throws IOException
+	{
+		return DSLScriptCache.readCache(dsl, source, cache, DSLScriptCache.hash(source), DSLScriptCache.configHash(dsl));
+	}
+
+	private static DSL newDSL()
+	{
+		DSL dsl = new DSL('=', '%', '(', ')', '{', '}', '#');
+		dsl.addVar("variable", value -> {});
+		dsl.addFunc("functionA", parameters -> {});
+		return dsl;
+	}
+
+	private static void assertSameScript(DSLParsedScript expected, DSLParsedScript actual)
+	{
+		assertSameCommands(expected.getCommands(), actual.getCommands());
+		assertEquals(expected.getSubscripts().keySet(), actual.getSubscripts().keySet());
+
+		for (Map.Entry<String, List<DSLRuntimeCommand>> subscript : expected.getSubscripts().entrySet())
+			assertSameCommands(subscript.getValue(), actual.getSubscripts().get(subscript.getKey()));
+	}
+
+	private static void assertSameCommands(List<DSLRuntimeCommand> expected, List<DSLRuntimeCommand> actual)
+	{
+		assertEquals(expected.size(), actual.size());
+
+		for (int i = 0; i < expected.size(); i++)
+		{
+			assertEquals(expected.get(i).getType(), actual.get(i).getType());
+			assertEquals(expected.get(i).getName(), actual.get(i).getName());
+			assertTrue(Arrays.equals(expected.get(i).getParameters(), actual.get(i).getParameters()));
+		}
+	}
+}
@@ -0,0 +1,158 @@
+package com.konloch.dsl.runtime;
+
+import com.konloch.dsl.DSL;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks that a DSLWatcher reload swaps in changed subscripts, and leaves everything as it was when it can't
+ *
+ * @author Konloch
+ * @since 10/17/2026
+ */
+public class DSLWatcherTest
+{
+	private final List<String> calls = new ArrayList<>();
+	private Path directory;
+	private Path first;
+	private Path second;
+	private DSL dsl;
+	private DSLWatcher watcher;
+
+	@Before
+	public void setUp() throws IOException
+	{
+		directory = Files.createTempDirectory("dsl-watcher");
+		first = directory.resolve("first.dsl");
+		second = directory.resolve("second.dsl");
+		write(first, "one {", "  call(one)", "}");
+		write(second, "two {", "  call(two)", "}");
+
+		dsl = new DSL('=', '%', '(', ')', '{', '}', '#');
+		dsl.addFunc("call", parameters -> calls.add(parameters[0]));
+		watcher = new DSLWatcher(dsl, Arrays.asList(first, second), e -> fail(e.toString()));
+	}
+
+	@After
+	public void tearDown() throws IOException
+	{
+		watcher.close();
+		Files.deleteIfExists(first);
+		Files.deleteIfExists(second);
+		Files.deleteIfExists(directory);
+	}
+
+	@Test
+	public void reloadsAChangedSubscript() throws IOException
+	{
+		DSLProgram program = watcher.getProgram();
+		DSLCompiledSubscript one = program.getSubscript("one");
+		write(second, "two {", "  call(changed)", "}");
+
+		assertTrue(watcher.reload(second));
+		assertNotSame(program, watcher.getProgram());
+		assertSame(one, watcher.getProgram().getSubscript("one"));
+
+		watcher.getProgram().run("two");
+		program.run("two");
+		assertEquals(Arrays.asList("changed", "two"), calls);
+	}
+
+	@Test
+	public void ignoresAnUnchangedFile() throws IOException
+	{
+		DSLProgram program = watcher.getProgram();
+
+		assertFalse(watcher.reload(second));
+		assertSame(program, watcher.getProgram());
+	}
+
+	@Test
+	public void rejectsASubscriptDefinedInAnotherFile() throws IOException
+	{
+		DSLProgram program = watcher.getProgram();
+		List<DSLRuntimeCommand> one = dsl.getSubscripts().get("one");
+		write(second, "one {", "  call(conflict)", "}", "two {", "  call(changed)", "}");
+
+		try
+		{
+			watcher.reload(second);
+			fail("The conflicting subscript was loaded");
+		}
+		catch (RuntimeException e)
+		{
+			assertTrue(e.getMessage(), e.getMessage().contains("Subscript one from " + second.toAbsolutePath().normalize() + " is already defined"));
+		}
+
+		//neither the DSL nor the program saw any part of the file
+		assertSame(program, watcher.getProgram());
+		assertSame(one, dsl.getSubscripts().get("one"));
+
+		watcher.getProgram().run("one");
+		watcher.getProgram().run("two");
+		assertEquals(Arrays.asList("one", "two"), calls);
+	}
+
+	@Test
+	public void reloadsAfterAConflictIsResolved() throws IOException
+	{
+		write(second, "one {", "  call(conflict)", "}");
+
+		try
+		{
+			watcher.reload(second);
+			fail("The conflicting subscript was loaded");
+		}
+		catch (RuntimeException e)
+		{
+			//expected
+		}
+
+		write(second, "three {", "  call(three)", "}");
+
+		assertTrue(watcher.reload(second));
+		assertFalse(watcher.getProgram().getSubscripts().containsKey("two"));
+
+		watcher.getProgram().run("three");
+		assertEquals(Collections.singletonList("three"), calls);
+	}
+
+	@Test
+	public void unloadsTheSubscriptsOfADeletedFile() throws IOException
+	{
+		Files.delete(second);
+
+		assertTrue(watcher.reload(second));
+		assertFalse(watcher.getProgram().getSubscripts().containsKey("two"));
+		assertFalse(dsl.getSubscripts().containsKey("two"));
+		assertTrue(watcher.getProgram().getSubscripts().containsKey("one"));
+	}
+
+	@Test(expected = RuntimeException.class)
+	public void requiresAnErrorHandler() throws IOException
+	{
+		new DSLWatcher(dsl, Collections.singletonList(first), null);
+	}
+
+	private static void write(Path path, String... lines) throws IOException
+	{
+		Files.write(path, Arrays.asList(lines), StandardCharsets.UTF_8);
+	}
+}